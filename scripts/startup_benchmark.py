@@ -0,0 +1,113 @@
+"""
+Startup benchmark for the order service: time to first successful GET /health and memory right
+after startup, for the plain jar (baseline) and the fast-startup build (Spring AOT + AppCDS).
+Build both first with `mvn -Pfast-startup package -DskipTests` in services/order-service-java;
+the profile leaves the plain jar in target/ and the extracted jar plus CDS archive in
+target/fast-startup. Postgres must be reachable (docker-compose up postgres, or DB_URL).
+
+Modes:
+  baseline   java -jar target/order-service-1.0.0-exec.jar
+  aot        extracted jar with -Dspring.aot.enabled=true
+  cds        extracted jar with the AppCDS archive
+  optimized  extracted jar with both
+
+Heap is jvm.memory.used{area=heap} read from the actuator right after /health succeeds;
+RSS comes from /proc (Linux only). Each mode runs --runs times and the median is printed.
+
+Examples:
+  python scripts/startup_benchmark.py
+  python scripts/startup_benchmark.py --modes baseline,aot,cds,optimized --runs 5 --jvm-arg=-Xmx512m
+"""
+import argparse
+import json
+import os
+import re
+import statistics
+import subprocess
+import time
+import urllib.request
+
+JAR = "order-service-1.0.0-exec.jar"
+STARTED = re.compile(r"Started \w+ in ([\d.]+) seconds")
+
+
+def command(mode: str, target: str, jvm_args: list, port: int) -> list:
+    if mode == "baseline":
+        mode_args, jar = [], os.path.join(target, JAR)
+    else:
+        fast = os.path.join(target, "fast-startup")
+        mode_args = []
+        if mode in ("aot", "optimized"):
+            mode_args.append("-Dspring.aot.enabled=true")
+        if mode in ("cds", "optimized"):
+            mode_args.append(f"-XX:SharedArchiveFile={os.path.join(fast, 'application.jsa')}")
+        jar = os.path.join(fast, JAR)
+    java = os.path.join(os.environ["JAVA_HOME"], "bin", "java") if "JAVA_HOME" in os.environ else "java"
+    return [java, *jvm_args, *mode_args, "-jar", jar, f"--server.port={port}"]
+
+
+def get(url: str, timeout: float = 1.0):
+    with urllib.request.urlopen(url, timeout=timeout) as resp:
+        return resp.status, resp.read()
+
+
+def rss_mb(pid: int) -> float:
+    try:
+        with open(f"/proc/{pid}/status") as status:
+            for line in status:
+                if line.startswith("VmRSS:"):
+                    return int(line.split()[1]) / 1024
+    except OSError:
+        pass
+    return float("nan")
+
+
+def run_once(mode: str, args) -> dict:
+    base_url = f"http://localhost:{args.port}"
+    log_path = os.path.join(args.target, f"startup-{mode}.log")
+    with open(log_path, "w") as log:
+        start = time.perf_counter()
+        proc = subprocess.Popen(command(mode, args.target, args.jvm_arg, args.port), stdout=log, stderr=subprocess.STDOUT)
+        try:
+            deadline = start + args.timeout
+            ready = None
+            while time.perf_counter() < deadline and proc.poll() is None:
+                try:
+                    if get(f"{base_url}/health", timeout=0.5)[0] == 200:
+                        ready = time.perf_counter() - start
+                        break
+                except OSError:
+                    pass
+                time.sleep(0.02)
+            if ready is None:
+                raise RuntimeError(f"{mode}: no healthy response within {args.timeout}s, see {log_path}")
+            _, body = get(f"{base_url}/actuator/metrics/jvm.memory.used?tag=area:heap")
+            heap = json.loads(body)["measurements"][0]["value"] / (1024 * 1024)
+            rss = rss_mb(proc.pid)
+        finally:
+            proc.terminate()
+            proc.wait(timeout=60)
+    with open(log_path) as log:
+        match = STARTED.search(log.read())
+    return {"ready": ready, "started": float(match.group(1)) if match else float("nan"), "heap": heap, "rss": rss}
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--modes", default="baseline,optimized")
+    parser.add_argument("--runs", type=int, default=3)
+    parser.add_argument("--port", type=int, default=8082)
+    parser.add_argument("--target", default=os.path.join(os.path.dirname(__file__), "..", "services", "order-service-java", "target"))
+    parser.add_argument("--timeout", type=float, default=180.0, help="seconds to wait for /health per run")
+    parser.add_argument("--jvm-arg", action="append", default=[], help="extra JVM option, repeatable")
+    args = parser.parse_args()
+
+    print(f"{'mode':<10} {'ready s':>9} {'started s':>10} {'heap MB':>9} {'rss MB':>8}  (median of {args.runs})")
+    for mode in args.modes.split(","):
+        results = [run_once(mode, args) for _ in range(args.runs)]
+        median = {key: statistics.median(r[key] for r in results) for key in results[0]}
+        print(f"{mode:<10} {median['ready']:>9.2f} {median['started']:>10.2f} {median['heap']:>9.1f} {median['rss']:>8.1f}")
+
+
+if __name__ == "__main__":
+    main()
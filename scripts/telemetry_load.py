@@ -0,0 +1,129 @@
+"""
+Local load generator comparing telemetry ingest throughput over HTTP/JSON and the NIO device listener.
+HTTP mode POSTs TelemetryRequestDTO bodies to /api/orders/{id}/telemetry over keep-alive connections.
+TCP/UDP modes send 34-byte TelemetryFrameCodec frames to the listener
+(order.telemetry.listener.enabled=true, tcp 9090 / udp 9091 by default).
+Server-side throughput for TCP/UDP is read from the ecostream.telemetry.listener.frames metric,
+so frames still queued or dropped are not counted.
+
+Examples:
+  python scripts/telemetry_load.py --mode http --points 20000 --workers 16
+  python scripts/telemetry_load.py --mode tcp --points 200000 --workers 16
+  python scripts/telemetry_load.py --mode udp --points 200000 --workers 4 --frames-per-datagram 32
+"""
+import argparse
+import http.client
+import json
+import socket
+import struct
+import threading
+import time
+import urllib.request
+import uuid
+
+FRAME = struct.Struct(">bb qq dd")
+MAGIC = -20  # 0xEC as a signed byte
+VERSION = 1
+
+
+def encode_frame(order_id: uuid.UUID, lat: float, lon: float) -> bytes:
+    msb = int.from_bytes(order_id.bytes[:8], "big", signed=True)
+    lsb = int.from_bytes(order_id.bytes[8:], "big", signed=True)
+    return FRAME.pack(MAGIC, VERSION, msb, lsb, lat, lon)
+
+
+def accepted_frames(base_url: str) -> float:
+    url = f"{base_url}/actuator/metrics/ecostream.telemetry.listener.frames?tag=result:accepted"
+    try:
+        with urllib.request.urlopen(url) as resp:
+            return json.loads(resp.read().decode())["measurements"][0]["value"]
+    except Exception:
+        return 0.0
+
+
+def http_worker(host: str, port: int, order_id: str, points: int, ok: list) -> None:
+    conn = http.client.HTTPConnection(host, port)
+    path = f"/api/orders/{order_id}/telemetry"
+    headers = {"Content-Type": "application/json"}
+    count = 0
+    for i in range(points):
+        body = json.dumps({"currentLatitude": 49.0 + i * 1e-5, "currentLongitude": -123.0})
+        conn.request("POST", path, body=body, headers=headers)
+        resp = conn.getresponse()
+        resp.read()
+        if resp.status == 202:
+            count += 1
+    conn.close()
+    ok.append(count)
+
+
+def tcp_worker(host: str, port: int, order_id: uuid.UUID, points: int, batch: int) -> None:
+    with socket.create_connection((host, port)) as sock:
+        sent = 0
+        while sent < points:
+            n = min(batch, points - sent)
+            sock.sendall(b"".join(encode_frame(order_id, 49.0 + (sent + i) * 1e-5, -123.0) for i in range(n)))
+            sent += n
+
+
+def udp_worker(host: str, port: int, order_id: uuid.UUID, points: int, per_datagram: int) -> None:
+    with socket.socket(socket.AF_INET, socket.SOCK_DGRAM) as sock:
+        sent = 0
+        while sent < points:
+            n = min(per_datagram, points - sent)
+            sock.sendto(b"".join(encode_frame(order_id, 49.0 + (sent + i) * 1e-5, -123.0) for i in range(n)), (host, port))
+            sent += n
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--mode", choices=["http", "tcp", "udp"], required=True)
+    parser.add_argument("--host", default="localhost")
+    parser.add_argument("--http-port", type=int, default=8082)
+    parser.add_argument("--tcp-port", type=int, default=9090)
+    parser.add_argument("--udp-port", type=int, default=9091)
+    parser.add_argument("--points", type=int, default=20000, help="total telemetry points to send")
+    parser.add_argument("--workers", type=int, default=8, help="concurrent devices/connections")
+    parser.add_argument("--frames-per-datagram", type=int, default=16)
+    parser.add_argument("--tcp-batch", type=int, default=64, help="frames per TCP write")
+    parser.add_argument("--drain-timeout", type=float, default=30.0, help="seconds to wait for the server to catch up")
+    args = parser.parse_args()
+
+    base_url = f"http://{args.host}:{args.http_port}"
+    per_worker = args.points // args.workers
+    total = per_worker * args.workers
+    order_ids = [uuid.uuid4() for _ in range(args.workers)]
+    ok: list = []
+
+    if args.mode == "http":
+        targets = [(http_worker, (args.host, args.http_port, str(oid), per_worker, ok)) for oid in order_ids]
+    elif args.mode == "tcp":
+        targets = [(tcp_worker, (args.host, args.tcp_port, oid, per_worker, args.tcp_batch)) for oid in order_ids]
+    else:
+        targets = [(udp_worker, (args.host, args.udp_port, oid, per_worker, args.frames_per_datagram)) for oid in order_ids]
+
+    baseline = accepted_frames(base_url) if args.mode != "http" else 0.0
+    threads = [threading.Thread(target=fn, args=fn_args) for fn, fn_args in targets]
+    start = time.perf_counter()
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+
+    if args.mode == "http":
+        ingested = sum(ok)
+    else:
+        # Devices get no acknowledgement, so wait for the listener's accepted counter to settle
+        deadline = time.perf_counter() + args.drain_timeout
+        ingested = accepted_frames(base_url) - baseline
+        while ingested < total and time.perf_counter() < deadline:
+            time.sleep(0.2)
+            ingested = accepted_frames(base_url) - baseline
+    elapsed = time.perf_counter() - start
+
+    print(f"mode={args.mode} workers={args.workers} sent={total} ingested={int(ingested)} "
+          f"elapsed={elapsed:.2f}s throughput={ingested / elapsed:,.0f} points/s")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,48 @@
+package com.ecostream.order.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction and serialization of the AI forecast request ({@code ForecastingClientImpl.buildRequest}),
+ * paid once per order on every enriched read. The HTTP exchange itself is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastRequestBenchmark {
+
+    private ForecastingClientImpl client;
+
+    @Setup
+    public void setUp() {
+        client = new ForecastingClientImpl("http://localhost:5050", null, Jackson2ObjectMapperBuilder.json().build(),
+                new SimpleMeterRegistry(), ForecastScheduler.withCap(64));
+    }
+
+    @Benchmark
+    public HttpEntity<String> buildRequest() {
+        return client.buildRequest(49.2827, -123.1207, "Express");
+    }
+
+    @Benchmark
+    public HttpEntity<String> buildRequestDefaultPriority() {
+        return client.buildRequest(49.2827, -123.1207, null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecostream.order.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link TokenBucketRateLimiter#tryAcquire}: "1" is one hot client whose
+ * bucket every thread CASes; larger values spread requests over that many clients, and a
+ * key space above max-clients keeps the bounded map evicting. Run with -t to add contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int MAX_CLIENTS = 100_000;
+
+    @Param({"1", "10000", "1000000"})
+    public int clients;
+
+    private TokenBucketRateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketRateLimiter("crud", 1_000_000, 1_000_000, MAX_CLIENTS, System::nanoTime);
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "key:client-" + i;
+        }
+    }
+
+    @Benchmark
+    public TokenBucketRateLimiter.Decision tryAcquire() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(clients)], 1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecostream.order.config;
+
+import com.ecostream.order.config.RequestTimings.Phase;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@link RequestTimingAspect} around one repository, DynamoDB or forecast call:
+ * "off" is the bare call; "server-timing" adds the phase accumulator (tracing disabled);
+ * "tracing" also starts, scopes and ends an OpenTelemetry span, sampled at 100% and handed to a
+ * batch processor whose exporter discards it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestTimingBenchmark {
+
+    @Param({"off", "server-timing", "tracing"})
+    public String mode;
+
+    private RequestTimingAspect aspect;
+    private SdkTracerProvider tracerProvider;
+    private final Object result = new Object();
+
+    @Setup
+    public void setUp() {
+        OtelTracer tracer = null;
+        if (mode.equals("tracing")) {
+            tracerProvider = SdkTracerProvider.builder()
+                    .addSpanProcessor(BatchSpanProcessor.builder(new DiscardingExporter()).build())
+                    .build();
+            tracer = new OtelTracer(tracerProvider.get("benchmark"), new OtelCurrentTraceContext(), event -> { });
+        }
+        aspect = new RequestTimingAspect(tracer);
+        if (!mode.equals("off")) {
+            RequestTimings.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestTimings.clear();
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+    }
+
+    @Benchmark
+    public Object timedCall() throws Throwable {
+        if (mode.equals("off")) {
+            return result;
+        }
+        return aspect.observe(Phase.DB, "findById", () -> result);
+    }
+
+    private static final class DiscardingExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecostream.order.dto;
+
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.UuidV7Generator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization of the API DTOs, using an ObjectMapper built
+ * the way Spring Boot builds the application's (Jackson2ObjectMapperBuilder defaults).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader orderRequestReader;
+    private ObjectReader telemetryRequestReader;
+
+    private OrderRequestDTO orderRequest;
+    private OrderResponseDTO orderResponse;
+    private TelemetryRequestDTO telemetryRequest;
+
+    private byte[] orderRequestJson;
+    private byte[] telemetryRequestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orderRequestReader = objectMapper.readerFor(OrderRequestDTO.class);
+        telemetryRequestReader = objectMapper.readerFor(TelemetryRequestDTO.class);
+
+        LocationDTO destination = LocationDTO.builder().latitude(49.2827).longitude(-123.1207).build();
+        orderRequest = OrderRequestDTO.builder()
+                .status(OrderStatus.PENDING)
+                .destination(destination)
+                .priority(5)
+                .build();
+        orderResponse = OrderResponseDTO.builder()
+                .id(UuidV7Generator.next())
+                .status(OrderStatus.IN_TRANSIT)
+                .destination(destination)
+                .priority(5)
+                .distanceKm(12.4)
+                .estimatedArrivalMinutes(31.5)
+                .changeVersion(42L)
+                .build();
+        telemetryRequest = TelemetryRequestDTO.builder()
+                .currentLatitude(49.25)
+                .currentLongitude(-123.1)
+                .build();
+
+        orderRequestJson = objectMapper.writeValueAsBytes(orderRequest);
+        telemetryRequestJson = objectMapper.writeValueAsBytes(telemetryRequest);
+    }
+
+    @Benchmark
+    public byte[] writeOrderRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(orderRequest);
+    }
+
+    @Benchmark
+    public OrderRequestDTO readOrderRequest() throws Exception {
+        return orderRequestReader.readValue(orderRequestJson);
+    }
+
+    @Benchmark
+    public byte[] writeOrderResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] writeTelemetryRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(telemetryRequest);
+    }
+
+    @Benchmark
+    public TelemetryRequestDTO readTelemetryRequest() throws Exception {
+        return telemetryRequestReader.readValue(telemetryRequestJson);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecostream.order.repository;
+
+import com.ecostream.order.entity.Telemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DynamoDB bean mapping of {@link Telemetry}. {@code perCallTable} is what TelemetryRepository
+ * paid when it resolved the table (TableSchema.fromBean plus enhancedClient.table) on every
+ * call; {@code cachedTable} is the current cost with the table built once. Both map one item
+ * to its attribute map, which is the in-process part of a putItem. No request is sent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelemetrySchemaBenchmark {
+
+    private static final String TABLE_NAME = "ecostream-telemetry-local";
+
+    private DynamoDbClient dynamoDbClient;
+    private DynamoDbEnhancedClient enhancedClient;
+    private DynamoDbTable<Telemetry> table;
+    private Telemetry telemetry;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setUp() {
+        dynamoDbClient = DynamoDbClient.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:8000"))
+                .credentialsProvider(AnonymousCredentialsProvider.create())
+                .build();
+        enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
+        table = enhancedClient.table(TABLE_NAME, TableSchema.fromBean(Telemetry.class));
+        telemetry = Telemetry.builder()
+                .orderId("018f6b2e-7c1a-7000-8000-000000000001")
+                .timestamp(1_700_000_000L)
+                .currentLatitude(49.25)
+                .currentLongitude(-123.1)
+                .build();
+        item = table.tableSchema().itemToMap(telemetry, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dynamoDbClient.close();
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> perCallTable() {
+        return enhancedClient.table(TABLE_NAME, TableSchema.fromBean(Telemetry.class))
+                .tableSchema().itemToMap(telemetry, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> cachedTable() {
+        return table.tableSchema().itemToMap(telemetry, true);
+    }
+
+    @Benchmark
+    public Telemetry cachedTableRead() {
+        return table.tableSchema().mapToItem(item);
+    }
+}
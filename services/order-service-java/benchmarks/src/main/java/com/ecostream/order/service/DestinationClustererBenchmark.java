@@ -0,0 +1,80 @@
+package com.ecostream.order.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to cluster waiting orders into dispatch batches with {@link DestinationClusterer}: half
+ * the destinations spread over North America, half around ten metro areas, a quarter Express.
+ * "parallelism" 0 uses one worker per available core; compare with 1 for the parallel speed-up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DestinationClustererBenchmark {
+
+    private static final double[][] METROS = {
+            {40.71, -74.01}, {34.05, -118.24}, {41.88, -87.63}, {29.76, -95.37}, {33.45, -112.07},
+            {39.95, -75.17}, {47.61, -122.33}, {49.28, -123.12}, {43.65, -79.38}, {45.50, -73.57}
+    };
+
+    @Param({"100000", "1000000"})
+    public int orders;
+
+    @Param({"2"})
+    public double radiusKm;
+
+    @Param({"0", "1"})
+    public int parallelism;
+
+    private DestinationClusterer clusterer;
+    private double[] latitudes;
+    private double[] longitudes;
+    private boolean[] express;
+
+    @Setup
+    public void setUp() {
+        clusterer = new DestinationClusterer(parallelism);
+        Random random = new Random(1);
+        latitudes = new double[orders];
+        longitudes = new double[orders];
+        express = new boolean[orders];
+        for (int i = 0; i < orders; i++) {
+            if (random.nextBoolean()) {
+                latitudes[i] = 25 + random.nextDouble() * 25;
+                longitudes[i] = -125 + random.nextDouble() * 55;
+            } else {
+                double[] metro = METROS[random.nextInt(METROS.length)];
+                latitudes[i] = metro[0] + random.nextGaussian() * 0.2;
+                longitudes[i] = metro[1] + random.nextGaussian() * 0.2;
+            }
+            express[i] = random.nextInt(4) == 0;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        clusterer.destroy();
+    }
+
+    @Benchmark
+    public DestinationClusterer.Batches cluster() {
+        return clusterer.cluster(latitudes, longitudes, express, radiusKm, 50);
+    }
+}
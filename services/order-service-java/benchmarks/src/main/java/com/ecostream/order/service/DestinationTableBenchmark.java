@@ -0,0 +1,66 @@
+package com.ecostream.order.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-point cost of the arrival check in ingestTelemetry ({@link DestinationTable#hasArrived})
+ * with that many IN_TRANSIT destinations held; the vehicle is usually still on its way, so the
+ * check misses. The inverse of the score is the points per second one core can check.
+ * Run with -prof gc to see it allocates nothing, and with -t to add reader threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class DestinationTableBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int destinations;
+
+    private DestinationTable table;
+    private UUID[] orderIds;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        table = new DestinationTable(null, 100, new SimpleMeterRegistry());
+        Random random = new Random(1);
+        orderIds = new UUID[destinations];
+        latitudes = new double[destinations];
+        longitudes = new double[destinations];
+        for (int i = 0; i < destinations; i++) {
+            orderIds[i] = UUID.randomUUID();
+            latitudes[i] = 25 + random.nextDouble() * 25;
+            longitudes[i] = -125 + random.nextDouble() * 55;
+            table.put(orderIds[i], latitudes[i], longitudes[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean hasArrived() {
+        int i = ThreadLocalRandom.current().nextInt(destinations);
+        // About 1 km from the destination
+        return table.hasArrived(orderIds[i], latitudes[i] + 0.01, longitudes[i]);
+    }
+}
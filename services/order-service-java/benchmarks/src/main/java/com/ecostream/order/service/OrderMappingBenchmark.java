@@ -0,0 +1,71 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping ({@code OrderServiceImpl.mapToResponseDTO}), for an order
+ * without telemetry and for one whose motion statistics have to be copied in.
+ * Runs in the service package because the mapper is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMappingBenchmark {
+
+    private OrderServiceImpl orderService;
+    private Order idleOrder;
+    private Order movingOrder;
+
+    @Setup
+    public void setUp() {
+        MotionTracker motionTracker = new MotionTracker(1.0, 200_000, Duration.ofHours(1));
+        orderService = new OrderServiceImpl(null, null, null, motionTracker, null, null, null, null, null, null, null, null, null);
+        idleOrder = order();
+        movingOrder = order();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            motionTracker.record(movingOrder.getId(), 49.0 + i * 1e-3, -123.0, now + i * 5_000L);
+        }
+    }
+
+    private static Order order() {
+        return Order.builder()
+                .id(UuidV7Generator.next())
+                .status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(49.2827)
+                .destinationLongitude(-123.1207)
+                .priority(5)
+                .changeVersion(42L)
+                .version(3L)
+                .build();
+    }
+
+    @Benchmark
+    public OrderResponseDTO withoutTelemetry() {
+        return orderService.mapToResponseDTO(idleOrder);
+    }
+
+    @Benchmark
+    public OrderResponseDTO withMotionStats() {
+        return orderService.mapToResponseDTO(movingOrder);
+    }
+}
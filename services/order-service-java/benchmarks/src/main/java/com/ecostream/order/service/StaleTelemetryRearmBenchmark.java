@@ -0,0 +1,58 @@
+package com.ecostream.order.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-point cost of {@link StaleTelemetryDetector#rearm} with that many armed timers: the same
+ * whatever the timer count apart from cache misses, since a rearm is a map lookup plus one CAS
+ * and the wheel is not touched. Run with -prof gc to see it allocates nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Threads(1)
+@State(Scope.Benchmark)
+public class StaleTelemetryRearmBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int timers;
+
+    private StaleTelemetryDetector detector;
+    private UUID[] orderIds;
+
+    @Setup
+    public void setUp() {
+        detector = new StaleTelemetryDetector(null, null, false, Duration.ofMinutes(5), Duration.ofSeconds(1), 512,
+                new SimpleMeterRegistry());
+        orderIds = new UUID[timers];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < timers; i++) {
+            orderIds[i] = UUID.randomUUID();
+            detector.rearm(orderIds[i], now);
+        }
+    }
+
+    @Benchmark
+    public void rearm() {
+        detector.rearm(orderIds[ThreadLocalRandom.current().nextInt(timers)], System.currentTimeMillis());
+    }
+}
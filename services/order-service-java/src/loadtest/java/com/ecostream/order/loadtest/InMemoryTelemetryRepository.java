@@ -0,0 +1,57 @@
+package com.ecostream.order.loadtest;
+
+import com.ecostream.order.entity.Telemetry;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory stand-in for the DynamoDB telemetry table with simulated write latency and
+ * failures, so ingest can be load tested without DynamoDB Local.
+ * Items are keyed like the table: orderId partition, timestamp sort key (last write wins).
+ */
+class InMemoryTelemetryRepository extends TelemetryRepository {
+
+    private final Map<String, NavigableMap<Long, Telemetry>> items = new ConcurrentHashMap<>();
+    private final LatencyModel writeLatency;
+
+    InMemoryTelemetryRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient, MeterRegistry meterRegistry,
+                                LatencyModel writeLatency) {
+        super(dynamoDbEnhancedClient, meterRegistry);
+        this.writeLatency = writeLatency;
+    }
+
+    @Override
+    public Telemetry save(Telemetry telemetry) {
+        try {
+            writeLatency.pause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeLatency.fails()) {
+            throw DynamoDbException.builder().message("Simulated DynamoDB failure").statusCode(500).build();
+        }
+        items.computeIfAbsent(telemetry.getOrderId(), id -> new ConcurrentSkipListMap<>())
+                .put(telemetry.getTimestamp(), telemetry);
+        return telemetry;
+    }
+
+    @Override
+    public List<Telemetry> findByOrderId(String orderId) {
+        NavigableMap<Long, Telemetry> byTimestamp = items.get(orderId);
+        return byTimestamp == null ? List.of() : List.copyOf(byTimestamp.values());
+    }
+
+    @Override
+    public Telemetry findByOrderIdAndTimestamp(String orderId, Long timestamp) {
+        NavigableMap<Long, Telemetry> byTimestamp = items.get(orderId);
+        return byTimestamp == null ? null : byTimestamp.get(timestamp);
+    }
+}
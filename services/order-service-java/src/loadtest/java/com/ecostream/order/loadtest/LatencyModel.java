@@ -0,0 +1,55 @@
+package com.ecostream.order.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log-normal latency plus a failure probability for a stand-in dependency, configured by
+ * median and p99 (which is how production latency is usually quoted).
+ *
+ * @param medianMillis median latency in milliseconds
+ * @param p99Millis    99th percentile latency in milliseconds (at least the median)
+ * @param errorRate    probability in [0, 1] that a call fails
+ */
+record LatencyModel(double medianMillis, double p99Millis, double errorRate) {
+
+    /** z-score of the 99th percentile of the standard normal distribution. */
+    private static final double Z_99 = 2.3263;
+
+    /**
+     * Reads {@code <prefix>.median-ms}, {@code <prefix>.p99-ms} and {@code <prefix>.error-rate}
+     * from system properties, falling back to the given defaults.
+     */
+    static LatencyModel fromSystemProperties(String prefix, double medianMillis, double p99Millis, double errorRate) {
+        return new LatencyModel(
+                Double.parseDouble(System.getProperty(prefix + ".median-ms", Double.toString(medianMillis))),
+                Double.parseDouble(System.getProperty(prefix + ".p99-ms", Double.toString(p99Millis))),
+                Double.parseDouble(System.getProperty(prefix + ".error-rate", Double.toString(errorRate))));
+    }
+
+    /** Draws one latency sample in milliseconds. */
+    double sampleMillis() {
+        if (medianMillis <= 0) {
+            return 0;
+        }
+        double sigma = p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+        return medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    /** Sleeps for one latency sample. */
+    void pause() throws InterruptedException {
+        long nanos = (long) (sampleMillis() * 1_000_000);
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+
+    /** Decides whether this call fails. */
+    boolean fails() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("median=%.0fms p99=%.0fms errors=%.1f%%", medianMillis, p99Millis, errorRate * 100);
+    }
+}
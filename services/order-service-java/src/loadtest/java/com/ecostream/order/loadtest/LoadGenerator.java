@@ -0,0 +1,203 @@
+package com.ecostream.order.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: issues requests at a fixed arrival rate regardless of how
+ * fast the service answers, picking each request's operation by weight.
+ * Latency is measured from the scheduled send time, not the actual one, so a stalled
+ * service shows up in the percentiles instead of silently lowering the offered load
+ * (coordinated omission).
+ */
+final class LoadGenerator {
+
+    /**
+     * One kind of request in the mix.
+     *
+     * @param name    label in the report (e.g. "GET /api/orders/{id}")
+     * @param weight  relative share of the arrival rate
+     * @param request builds a fresh request for each arrival
+     */
+    record Operation(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    LoadGenerator(HttpClient client, List<Operation> operations) {
+        this.client = client;
+        this.operations = operations.stream().filter(op -> op.weight() > 0).toList();
+        this.totalWeight = this.operations.stream().mapToInt(Operation::weight).sum();
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Workload mix has no operations");
+        }
+    }
+
+    /**
+     * Offers load at the given rate for the given duration and waits for in-flight requests.
+     *
+     * @param ratePerSecond arrivals per second across all operations
+     * @param duration      how long to keep offering load
+     * @return per-operation statistics
+     */
+    Report run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        operations.forEach(op -> stats.put(op.name(), new EndpointStats()));
+
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick();
+                EndpointStats endpoint = stats.get(operation.name());
+                long scheduledAt = scheduled;
+                executor.execute(() -> send(operation, endpoint, scheduledAt));
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return new Report(stats, (System.nanoTime() - start) / 1e9);
+    }
+
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private void send(Operation operation, EndpointStats endpoint, long scheduledAt) {
+        int status;
+        String serverTiming = null;
+        try {
+            HttpResponse<Void> response = client.send(operation.request().get(), HttpResponse.BodyHandlers.discarding());
+            status = response.statusCode();
+            serverTiming = response.headers().firstValue("Server-Timing").orElse(null);
+        } catch (Exception e) {
+            status = -1;
+        }
+        endpoint.record(System.nanoTime() - scheduledAt, status);
+        if (serverTiming != null) {
+            endpoint.recordServerTiming(serverTiming);
+        }
+    }
+
+    /** Latencies and status codes for one operation. */
+    static final class EndpointStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Integer> errorsByStatus = new TreeMap<>();
+        /** Server-Timing metric name -> [sum of durations in ms, responses reporting it]. */
+        private final Map<String, double[]> serverTiming = new LinkedHashMap<>();
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            // 304 is a successful conditional GET; -1 is a transport failure
+            if (status < 200 || status >= 400) {
+                errorsByStatus.merge(status, 1, Integer::sum);
+            }
+        }
+
+        /** Accumulates a header such as {@code db;dur=2.41;desc="Postgres", total;dur=3.1}. */
+        synchronized void recordServerTiming(String header) {
+            for (String metric : header.split(",")) {
+                String[] params = metric.trim().split(";");
+                for (int i = 1; i < params.length; i++) {
+                    if (params[i].startsWith("dur=")) {
+                        double[] sumAndCount = serverTiming.computeIfAbsent(params[0], name -> new double[2]);
+                        sumAndCount[0] += Double.parseDouble(params[i].substring(4));
+                        sumAndCount[1]++;
+                    }
+                }
+            }
+        }
+
+        /** Mean Server-Timing duration per phase over the responses that reported it. */
+        synchronized Map<String, Double> meanServerTimingMillis() {
+            Map<String, Double> means = new LinkedHashMap<>();
+            serverTiming.forEach((name, sumAndCount) -> means.put(name, sumAndCount[0] / sumAndCount[1]));
+            return means;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized int errors() {
+            return errorsByStatus.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        synchronized Map<Integer, Integer> errorsByStatus() {
+            return new TreeMap<>(errorsByStatus);
+        }
+
+        /** Latency percentile in milliseconds (nearest rank), 0 if nothing was recorded. */
+        synchronized double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1e6;
+        }
+    }
+
+    /** Outcome of one run. */
+    record Report(Map<String, EndpointStats> endpoints, double elapsedSeconds) {
+
+        int totalRequests() {
+            return endpoints.values().stream().mapToInt(EndpointStats::count).sum();
+        }
+
+        String format() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%-34s %8s %7s %9s %9s %9s %9s %9s  %s",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors by status"));
+            endpoints.forEach((name, stats) -> lines.add(String.format("%-34s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f  %s",
+                    name, stats.count(), stats.errors(), stats.count() / elapsedSeconds,
+                    stats.percentileMillis(50), stats.percentileMillis(95), stats.percentileMillis(99),
+                    stats.percentileMillis(100), stats.errorsByStatus().isEmpty() ? "" : stats.errorsByStatus())));
+            lines.add(String.format("%-34s %8d %7s %9.1f", "total", totalRequests(), "",
+                    totalRequests() / elapsedSeconds));
+            lines.add("");
+            lines.add("server-timing (mean ms per response reporting the phase)");
+            endpoints.forEach((name, stats) -> {
+                StringBuilder phases = new StringBuilder();
+                stats.meanServerTimingMillis().forEach((phase, mean) ->
+                        phases.append(String.format("%s=%.2f ", phase, mean)));
+                lines.add(String.format("%-34s %s", name, phases.toString().trim()));
+            });
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+}
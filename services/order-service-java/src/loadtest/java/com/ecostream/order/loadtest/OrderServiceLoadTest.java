@@ -0,0 +1,301 @@
+package com.ecostream.order.loadtest;
+
+import com.ecostream.order.dto.BulkItemResultDTO;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkStatusTransitionRequestDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.dto.TelemetryRequestDTO;
+import com.ecostream.order.dto.UpdateOrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.TelemetryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the whole service on a random port against local stand-ins
+ * and drives a weighted mix of CRUD, list, telemetry and change-feed requests at a fixed
+ * arrival rate, then prints p50/p95/p99 latency and throughput per endpoint.
+ * <ul>
+ *   <li>Postgres: embedded (default) or {@code -Dloadtest.postgres=local} for DB_URL / docker-compose</li>
+ *   <li>Telemetry store: in-memory fake (default) or {@code -Dloadtest.telemetry-store=dynamodb-local}</li>
+ *   <li>Forecaster: local stub with {@code loadtest.forecaster.median-ms / p99-ms / error-rate}, and
+ *   {@code loadtest.forecaster.concurrency} to saturate it (0 = unlimited)</li>
+ * </ul>
+ * Requests are spread over {@code loadtest.clients} API keys (default 100), each with its own rate-limit quota.
+ * Errors (non-2xx/304, including 429 from admission control or rate limits) are reported per status; set
+ * {@code -Dloadtest.max-error-rate=0.01} to fail the run above that share, e.g. as a release gate.
+ * Metrics export stays on, so /actuator/prometheus can be scraped while the load runs.
+ * {@code get-express} / {@code get-standard} read Express (priority 5) or Standard orders only, to compare
+ * how the forecast scheduler treats each class; the forecasts shed per class are printed after the run.
+ * Run explicitly:
+ * <pre>
+ *   mvn -Ploadtest test -Dloadtest.rate=300 -Dloadtest.duration=60s -Dloadtest.forecaster.p99-ms=400
+ * </pre>
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.com.ecostream.order=WARN", "order.server-timing.enabled=true",
+                "order.eta-refresh.enabled=true"})
+class OrderServiceLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+    private static final Duration DURATION = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s"));
+    private static final Duration WARMUP = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s"));
+    private static final int SEED_ORDERS = Integer.getInteger("loadtest.seed-orders", 500);
+    /** Distinct API keys the requests are spread over, so per-client rate limits see many clients. */
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 100);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "1.0"));
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "create=5,get=25,list=15,priority=10,update=5,telemetry=35,changes=5");
+
+    private static final LatencyModel FORECASTER =
+            LatencyModel.fromSystemProperties("loadtest.forecaster", 40, 250, 0.01);
+    private static final int FORECASTER_CONCURRENCY = Integer.getInteger("loadtest.forecaster.concurrency", 0);
+    private static final LatencyModel TELEMETRY_STORE =
+            LatencyModel.fromSystemProperties("loadtest.dynamodb", 4, 25, 0);
+
+    private static EmbeddedPostgres postgres;
+    private static StubForecaster forecaster;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Seeded orders with priority 5, which the forecast scheduler treats as Express. */
+    private final List<UUID> expressOrderIds = new ArrayList<>();
+    private final List<UUID> standardOrderIds = new ArrayList<>();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) throws IOException {
+        forecaster = new StubForecaster(FORECASTER, FORECASTER_CONCURRENCY);
+        registry.add("ai.forecasting.base-url", forecaster::baseUrl);
+        // The simulated clients' keys must be known, or they would all share localhost's bucket
+        registry.add("order.rate-limit.api-keys", () -> IntStream.range(0, CLIENTS)
+                .mapToObj(client -> "loadtest-" + client)
+                .collect(Collectors.joining(",")));
+        if (!"local".equals(System.getProperty("loadtest.postgres", "embedded"))) {
+            postgres = EmbeddedPostgres.builder().start();
+            registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+            registry.add("spring.datasource.username", () -> "postgres");
+            registry.add("spring.datasource.password", () -> "");
+        }
+    }
+
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        forecaster.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @TestConfiguration
+    static class TelemetryStoreConfig {
+
+        @Bean
+        @Primary
+        @ConditionalOnProperty(name = "loadtest.telemetry-store", havingValue = "memory", matchIfMissing = true)
+        TelemetryRepository inMemoryTelemetryRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient,
+                                                        MeterRegistry meterRegistry) {
+            return new InMemoryTelemetryRepository(dynamoDbEnhancedClient, meterRegistry, TELEMETRY_STORE);
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<UUID> orderIds = seedOrders();
+        LoadGenerator generator = new LoadGenerator(client, operations(orderIds));
+
+        System.out.printf("%nLoad test: %.0f req/s for %s (warm-up %s), %d seeded orders%n",
+                RATE, DURATION, WARMUP, orderIds.size());
+        System.out.printf("Forecaster stub: %s, concurrency %s; telemetry store: %s (%s)%n", FORECASTER,
+                FORECASTER_CONCURRENCY > 0 ? FORECASTER_CONCURRENCY : "unlimited",
+                System.getProperty("loadtest.telemetry-store", "memory"), TELEMETRY_STORE);
+        System.out.printf("Mix: %s%n", MIX);
+
+        if (!WARMUP.isZero()) {
+            generator.run(RATE, WARMUP);
+        }
+        long forecasterCalls = forecaster.calls();
+        LoadGenerator.Report report = generator.run(RATE, DURATION);
+
+        System.out.println(report.format());
+        System.out.printf("Forecaster calls: %d (%d failed); shed by the scheduler: express %.0f, standard %.0f;"
+                        + " last known ETAs served: %.0f%n%n",
+                forecaster.calls() - forecasterCalls, forecaster.failures(),
+                counter("ecostream.forecast.shed", "lane", "express"), counter("ecostream.forecast.shed", "lane", "standard"),
+                counter("ecostream.forecast.last-known", "outcome", "served"));
+
+        int errors = report.endpoints().values().stream().mapToInt(LoadGenerator.EndpointStats::errors).sum();
+        assertTrue(report.totalRequests() > 0, "No requests were sent");
+        assertTrue(errors <= MAX_ERROR_RATE * report.totalRequests(),
+                "Error rate above loadtest.max-error-rate: " + errors + " of " + report.totalRequests());
+    }
+
+    /** Total of a counter (or function counter) with the given tag, 0 if it was never registered. */
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.find(name).tag(tag, value).meters().stream()
+                .flatMap(meter -> StreamSupport.stream(meter.measure().spliterator(), false))
+                .mapToDouble(Measurement::getValue)
+                .sum();
+    }
+
+    /** Creates orders through the bulk API and moves part of them to CONFIRMED and IN_TRANSIT. */
+    private List<UUID> seedOrders() throws Exception {
+        List<OrderRequestDTO> requests = new ArrayList<>(SEED_ORDERS);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            requests.add(OrderRequestDTO.builder()
+                    .status(OrderStatus.PENDING)
+                    .destination(randomLocation(random))
+                    .priority(random.nextInt(1, 6))
+                    .build());
+        }
+        HttpResponse<byte[]> created = client.send(post("/api/orders/bulk", requests), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, created.statusCode(), "Seeding orders failed");
+        List<UUID> ids = objectMapper.readValue(created.body(), BulkOperationResponseDTO.class).getResults().stream()
+                .map(BulkItemResultDTO::getId)
+                .toList();
+        for (int i = 0; i < ids.size(); i++) {
+            (requests.get(i).getPriority() >= 5 ? expressOrderIds : standardOrderIds).add(ids.get(i));
+        }
+
+        List<UUID> confirmed = ids.subList(0, ids.size() * 2 / 3);
+        List<UUID> inTransit = confirmed.subList(0, confirmed.size() * 3 / 4);
+        transition(confirmed, OrderStatus.CONFIRMED);
+        transition(inTransit, OrderStatus.IN_TRANSIT);
+        return ids;
+    }
+
+    private void transition(List<UUID> ids, OrderStatus target) throws Exception {
+        BulkStatusTransitionRequestDTO request = BulkStatusTransitionRequestDTO.builder().ids(ids).targetStatus(target).build();
+        HttpResponse<Void> response = client.send(post("/api/orders/bulk/status", request), HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode(), "Seeding status " + target + " failed");
+    }
+
+    /** Builds the weighted operation mix from loadtest.mix. */
+    private List<LoadGenerator.Operation> operations(List<UUID> orderIds) {
+        Map<String, Supplier<HttpRequest>> requests = Map.of(
+                "create", () -> post("/api/orders", OrderRequestDTO.builder()
+                        .status(OrderStatus.PENDING)
+                        .destination(randomLocation(ThreadLocalRandom.current()))
+                        .priority(ThreadLocalRandom.current().nextInt(1, 6))
+                        .build()),
+                "get", () -> get("/api/orders/" + pick(orderIds)),
+                "get-express", () -> get("/api/orders/" + pick(expressOrderIds)),
+                "get-standard", () -> get("/api/orders/" + pick(standardOrderIds)),
+                "all", () -> get("/api/orders"),
+                "list", () -> get("/api/orders?status=IN_TRANSIT"),
+                "priority", () -> get("/api/orders/by-priority?limit=100"),
+                "update", () -> request("/api/orders/" + pick(orderIds)).PUT(body(UpdateOrderRequestDTO.builder()
+                        .priority(ThreadLocalRandom.current().nextInt(1, 6))
+                        .build())).build(),
+                "telemetry", () -> post("/api/orders/" + pick(orderIds) + "/telemetry", TelemetryRequestDTO.builder()
+                        .currentLatitude(49.0 + ThreadLocalRandom.current().nextDouble(0.5))
+                        .currentLongitude(-123.0 - ThreadLocalRandom.current().nextDouble(0.5))
+                        .build()),
+                "changes", () -> get("/api/orders/changes?since=0&limit=100"));
+        Map<String, String> names = Map.of(
+                "create", "POST /api/orders",
+                "get", "GET /api/orders/{id}",
+                "get-express", "GET /api/orders/{id} express",
+                "get-standard", "GET /api/orders/{id} standard",
+                "all", "GET /api/orders",
+                "list", "GET /api/orders?status=IN_TRANSIT",
+                "priority", "GET /api/orders/by-priority",
+                "update", "PUT /api/orders/{id}",
+                "telemetry", "POST /api/orders/{id}/telemetry",
+                "changes", "GET /api/orders/changes");
+
+        List<LoadGenerator.Operation> operations = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (!requests.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + parts[0]);
+            }
+            operations.add(new LoadGenerator.Operation(names.get(parts[0]), Integer.parseInt(parts[1]), requests.get(parts[0])));
+        }
+        return operations;
+    }
+
+    private static UUID pick(List<UUID> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static LocationDTO randomLocation(ThreadLocalRandom random) {
+        return LocationDTO.builder()
+                .latitude(49.0 + random.nextDouble(0.5))
+                .longitude(-123.0 - random.nextDouble(0.5))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("X-Server-Timing", "1")
+                .header("X-Api-Key", "loadtest-" + ThreadLocalRandom.current().nextInt(CLIENTS));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object payload) {
+        return request(path).POST(body(payload)).build();
+    }
+
+    private HttpRequest.BodyPublisher body(Object payload) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecostream.order.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stand-in for the AI forecasting service: answers POST /api/forecast/{orderId} after a
+ * latency drawn from a {@link LatencyModel}, with 500 for the configured share of calls.
+ * Each request is handled on its own virtual thread; with a concurrency above zero only that
+ * many are served at once and the rest wait in arrival order, like a saturated model server.
+ */
+final class StubForecaster implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyModel latency;
+    private final Semaphore slots;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    StubForecaster(LatencyModel latency, int concurrency) throws IOException {
+        this.latency = latency;
+        this.slots = concurrency > 0 ? new Semaphore(concurrency, true) : null;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/forecast/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long calls() {
+        return calls.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            calls.increment();
+            if (slots != null) {
+                slots.acquire();
+            }
+            try {
+                latency.pause();
+            } finally {
+                if (slots != null) {
+                    slots.release();
+                }
+            }
+            if (latency.fails()) {
+                failures.increment();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            byte[] body = String.format("{\"distance_km\":%.2f,\"estimated_arrival_minutes\":%.1f}",
+                    random.nextDouble(1, 40), random.nextDouble(5, 90)).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
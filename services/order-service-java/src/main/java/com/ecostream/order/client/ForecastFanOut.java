@@ -0,0 +1,57 @@
+package com.ecostream.order.client;
+
+/**
+ * Groups the forecast calls one request submits together (one per row of a list), so that
+ * {@link ForecastScheduler} admits or sheds them as a whole: a lane's queue bound is checked
+ * against other callers' calls when the group's first call in that lane arrives, and the rest
+ * of the group may then queue behind it. Without this, a list longer than a lane's slots plus
+ * its queue would shed its own tail as "queue full" even on an idle forecaster. Queue deadlines
+ * still apply to every call. Open and close it on the thread that submits the calls:
+ * <pre>
+ *   try (ForecastFanOut ignored = ForecastFanOut.open()) {
+ *       orders.forEach(order -&gt; client.getForecastAsync(...));
+ *   }
+ * </pre>
+ */
+public final class ForecastFanOut implements AutoCloseable {
+
+    private static final ThreadLocal<ForecastFanOut> CURRENT = new ThreadLocal<>();
+
+    private final ForecastFanOut outer;
+    /** Per lane: null until the group's first call in it, then whether the group was admitted. */
+    private final Boolean[] admitted = new Boolean[ForecastScheduler.Lane.values().length];
+
+    private ForecastFanOut(ForecastFanOut outer) {
+        this.outer = outer;
+    }
+
+    /** Starts a group on the current thread; calls submitted until {@link #close()} belong to it. */
+    public static ForecastFanOut open() {
+        ForecastFanOut fanOut = new ForecastFanOut(CURRENT.get());
+        CURRENT.set(fanOut);
+        return fanOut;
+    }
+
+    /** @return the group open on the current thread, or null outside one */
+    static ForecastFanOut current() {
+        return CURRENT.get();
+    }
+
+    /** @return whether the group was admitted to the lane, or null before its first call there */
+    Boolean admitted(ForecastScheduler.Lane lane) {
+        return admitted[lane.ordinal()];
+    }
+
+    void admit(ForecastScheduler.Lane lane, boolean accepted) {
+        admitted[lane.ordinal()] = accepted;
+    }
+
+    @Override
+    public void close() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+}
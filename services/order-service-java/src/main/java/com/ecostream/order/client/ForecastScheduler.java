@@ -0,0 +1,263 @@
+package com.ecostream.order.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Schedules forecast calls under a shared in-flight cap, with one queue per priority class: a free slot always goes to a waiting Express call first.
+ * Standard calls may only use part of the cap, so Express keeps slots free even when Standard
+ * lookups alone could saturate the forecaster, and they wait at most their lane's queue timeout
+ * behind a bounded queue. A call that cannot be queued, or is still waiting past its deadline
+ * the next time the scheduler runs (any submit or completion), fails with
+ * {@link ForecastShedException} without reaching the forecaster. Non-blocking calls are
+ * {@link #submit submitted} without blocking the caller; blocking ones wait for a slot in
+ * {@link #call} and hold it while they run on the caller's thread. Calls submitted inside one
+ * {@link ForecastFanOut} are admitted to a lane as a group, so one request's list never sheds
+ * its own tail as "queue full"; the queue bound only limits what other callers have waiting.
+ * Exposes ecostream.forecast.async.waiting and ecostream.forecast.shed tagged by lane.
+ */
+@Component
+final class ForecastScheduler {
+
+    /** Priority class of a forecast call, from the priority sent to the AI service. */
+    enum Lane {
+        EXPRESS, STANDARD;
+
+        static Lane of(String priority) {
+            return "Express".equals(priority) ? EXPRESS : STANDARD;
+        }
+    }
+
+    private final int maxInFlight;
+    private final LongSupplier clock;
+    /** Express first: the order in which free slots are offered. */
+    private final List<LaneState> lanes;
+    private final LaneState express;
+    private final LaneState standard;
+
+    private int inFlight; // guarded by this
+
+    @Autowired
+    ForecastScheduler(@Value("${ai.forecasting.async.max-in-flight:64}") int maxInFlight,
+                      @Value("${ai.forecasting.scheduler.standard.max-in-flight:48}") int standardMaxInFlight,
+                      @Value("${ai.forecasting.scheduler.express.queue-timeout:2s}") Duration expressQueueTimeout,
+                      @Value("${ai.forecasting.scheduler.standard.queue-timeout:200ms}") Duration standardQueueTimeout,
+                      @Value("${ai.forecasting.scheduler.express.max-queued:1024}") int expressMaxQueued,
+                      @Value("${ai.forecasting.scheduler.standard.max-queued:64}") int standardMaxQueued,
+                      MeterRegistry meterRegistry) {
+        this(maxInFlight, standardMaxInFlight, expressQueueTimeout, standardQueueTimeout,
+                expressMaxQueued, standardMaxQueued, System::nanoTime);
+        lanes.forEach(lane -> lane.bindTo(meterRegistry));
+    }
+
+    ForecastScheduler(int maxInFlight, int standardMaxInFlight, Duration expressQueueTimeout,
+                      Duration standardQueueTimeout, int expressMaxQueued, int standardMaxQueued,
+                      LongSupplier clock) {
+        if (maxInFlight < 1 || standardMaxInFlight < 1 || standardMaxInFlight > maxInFlight) {
+            throw new IllegalArgumentException("Invalid forecast scheduler limits: max-in-flight=" + maxInFlight
+                    + ", standard max-in-flight=" + standardMaxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.clock = clock;
+        this.express = new LaneState(Lane.EXPRESS, maxInFlight, expressMaxQueued, expressQueueTimeout);
+        this.standard = new LaneState(Lane.STANDARD, standardMaxInFlight, standardMaxQueued, standardQueueTimeout);
+        this.lanes = List.of(express, standard);
+    }
+
+    /** One FIFO lane under the given cap with generous queues, e.g. for tests and benchmarks. */
+    static ForecastScheduler withCap(int maxInFlight) {
+        Duration noDeadline = Duration.ofDays(1);
+        return new ForecastScheduler(maxInFlight, maxInFlight, noDeadline, noDeadline,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, System::nanoTime);
+    }
+
+    /**
+     * Starts the call now if its lane may take a free slot, otherwise when one is released.
+     *
+     * @return a future completed with the call's outcome, or with {@link ForecastShedException}
+     *         if the call was shed before it started
+     */
+    <T> CompletableFuture<T> submit(Lane lane, Supplier<CompletableFuture<T>> call) {
+        LaneState state = lane == Lane.EXPRESS ? express : standard;
+        Call<T> queued = new Call<>(state, clock.getAsLong() + state.queueTimeoutNanos, call);
+        ForecastFanOut fanOut = ForecastFanOut.current();
+        boolean accepted;
+        synchronized (this) {
+            Boolean admitted = fanOut != null ? fanOut.admitted(lane) : null;
+            accepted = admitted != null ? admitted : state.queue.size() < state.maxQueued;
+            if (fanOut != null) {
+                fanOut.admit(lane, accepted);
+            }
+            if (accepted) {
+                state.queue.add(queued);
+            }
+        }
+        if (!accepted) {
+            queued.shed("queue full");
+        }
+        drain();
+        return queued.result;
+    }
+
+    /**
+     * Runs a blocking call on the caller's thread once its lane may take a slot, and holds the
+     * slot until the call returns, so blocking forecasts share the cap, priority and shedding of
+     * submitted ones. The caller waits for the slot like a queued call.
+     *
+     * @throws ForecastShedException if the call was shed before it started
+     */
+    <T> T call(Lane lane, Supplier<T> blocking) {
+        CompletableFuture<Void> granted = new CompletableFuture<>();
+        CompletableFuture<Void> held = new CompletableFuture<>();
+        CompletableFuture<Void> slot = submit(lane, () -> {
+            granted.complete(null);
+            return held;
+        });
+        try {
+            CompletableFuture.anyOf(granted, slot).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof ForecastShedException shed ? shed : e;
+        }
+        try {
+            return blocking.get();
+        } finally {
+            held.complete(null);
+        }
+    }
+
+    synchronized int waiting(Lane lane) {
+        return (lane == Lane.EXPRESS ? express : standard).queue.size();
+    }
+
+    long shed(Lane lane) {
+        return (lane == Lane.EXPRESS ? express : standard).shed.sum();
+    }
+
+    private void release(LaneState lane) {
+        synchronized (this) {
+            lane.inFlight--;
+            inFlight--;
+        }
+        drain();
+    }
+
+    /** Starts (and sheds) calls outside the lock, so a call completing inline can re-enter. */
+    private void drain() {
+        while (true) {
+            List<Call<?>> expired = new ArrayList<>(0);
+            Call<?> next;
+            synchronized (this) {
+                next = takeNext(clock.getAsLong(), expired);
+            }
+            expired.forEach(call -> call.shed("queue timeout"));
+            if (next == null) {
+                return;
+            }
+            next.start();
+        }
+    }
+
+    /**
+     * Drops calls past their deadline from the head of each lane (deadlines within a lane are in
+     * queue order), then takes the first call, Express first, whose lane may use a free slot.
+     */
+    private Call<?> takeNext(long now, List<Call<?>> expired) {
+        for (LaneState lane : lanes) {
+            while (!lane.queue.isEmpty() && lane.queue.peek().deadline - now < 0) {
+                expired.add(lane.queue.poll());
+            }
+        }
+        if (inFlight >= maxInFlight) {
+            return null;
+        }
+        for (LaneState lane : lanes) {
+            if (!lane.queue.isEmpty() && lane.inFlight < lane.maxInFlight) {
+                lane.inFlight++;
+                inFlight++;
+                return lane.queue.poll();
+            }
+        }
+        return null;
+    }
+
+    private final class LaneState {
+
+        private final Lane lane;
+        private final int maxInFlight;
+        private final int maxQueued;
+        private final long queueTimeoutNanos;
+        private final ArrayDeque<Call<?>> queue = new ArrayDeque<>();
+        private final LongAdder shed = new LongAdder();
+        private int inFlight; // guarded by the scheduler
+
+        private LaneState(Lane lane, int maxInFlight, int maxQueued, Duration queueTimeout) {
+            this.lane = lane;
+            this.maxInFlight = maxInFlight;
+            this.maxQueued = maxQueued;
+            this.queueTimeoutNanos = queueTimeout.toNanos();
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("ecostream.forecast.async.waiting", ForecastScheduler.this, scheduler -> scheduler.waiting(lane))
+                    .description("Non-blocking forecast calls queued for a free slot")
+                    .tag("lane", tag)
+                    .register(registry);
+            FunctionCounter.builder("ecostream.forecast.shed", shed, LongAdder::sum)
+                    .description("Forecast calls shed before reaching the AI service (queue full or timed out)")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+    }
+
+    private final class Call<T> {
+
+        private final LaneState lane;
+        private final long deadline;
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Call(LaneState lane, long deadline, Supplier<CompletableFuture<T>> call) {
+            this.lane = lane;
+            this.deadline = deadline;
+            this.call = call;
+        }
+
+        private void start() {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                release(lane);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+
+        private void shed(String reason) {
+            lane.shed.increment();
+            result.completeExceptionally(new ForecastShedException(
+                    lane.lane.name().toLowerCase() + " forecast call shed: " + reason));
+        }
+    }
+}
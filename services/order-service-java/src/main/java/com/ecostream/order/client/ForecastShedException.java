@@ -0,0 +1,12 @@
+package com.ecostream.order.client;
+
+/**
+ * A forecast call the scheduler dropped before it reached the AI service because the forecaster
+ * is saturated. Not a forecaster failure: it is ignored by the forecastService circuit breaker.
+ */
+public class ForecastShedException extends RuntimeException {
+
+    public ForecastShedException(String message) {
+        super(message);
+    }
+}
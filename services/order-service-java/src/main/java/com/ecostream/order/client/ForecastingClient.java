@@ -1,6 +1,7 @@
 package com.ecostream.order.client;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Client for the AI Forecasting Service (Python, default port 5050).
@@ -19,4 +20,21 @@ public interface ForecastingClient {
      */
     ForecastResponseDTO getForecast(UUID orderId, Double destinationLatitude,
                                    Double destinationLongitude, String priority);
+
+    /**
+     * Non-blocking variant of {@link #getForecast}: the calling thread is not held while the
+     * request is in flight. The default runs the blocking call on the calling thread, for stubs.
+     *
+     * @return a future completed with the forecast; on failure with null (the circuit-breaker
+     *         fallback) or exceptionally
+     */
+    default CompletableFuture<ForecastResponseDTO> getForecastAsync(UUID orderId, Double destinationLatitude,
+                                                                   Double destinationLongitude, String priority) {
+        try {
+            return CompletableFuture.completedFuture(
+                    getForecast(orderId, destinationLatitude, destinationLongitude, priority));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -1,71 +1,218 @@
 package com.ecostream.order.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RestTemplate-based client for the AI Forecasting Service.
  * Protected by a Resilience4j circuit breaker: after repeated failures
  * the circuit opens and the fallback returns null (graceful degradation).
+ * Call latency is recorded per outcome in ecostream.forecast.requests and fallbacks per
+ * reason in ecostream.forecast.fallbacks; the URI is passed as a template so the
+ * http.client.requests uri tag does not carry the order ID.
+ * The RestTemplate is injected lazily and built on the first forecast call, off the startup path.
+ * {@link #getForecastAsync} sends the same request with the JDK HttpClient (also built on first
+ * use) under the same circuit breaker and timers. Both paths are scheduled by
+ * {@link ForecastScheduler}, so Express orders get forecaster slots before Standard ones (the
+ * blocking call holds its slot while it runs); a call the scheduler sheds fails with
+ * {@link ForecastShedException} and is neither counted by the circuit breaker nor answered by
+ * the fallback. The JDK client is not covered by http.client.requests;
+ * ecostream.forecast.requests covers both paths.
  */
 @Component
 @Slf4j
 public class ForecastingClientImpl implements ForecastingClient {
 
+    /** Same limits as the RestTemplate (see RestTemplateConfig). */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMillis(1000);
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(2000);
+
     private final String baseUrl;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
+    private final Timer successTimer;
+    private final Timer emptyTimer;
+    private final Timer errorTimer;
+    private final Counter circuitOpenFallbacks;
+    private final Counter errorFallbacks;
+
+    private final ForecastScheduler scheduler;
+    private volatile HttpClient httpClient;
+
     public ForecastingClientImpl(
             @Value("${ai.forecasting.base-url:http://localhost:5050}") String baseUrl,
-            RestTemplate restTemplate,
-            ObjectMapper objectMapper) {
+            @Lazy RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            ForecastScheduler scheduler) {
         this.baseUrl = baseUrl;
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.successTimer = requestTimer("success", meterRegistry);
+        this.emptyTimer = requestTimer("empty", meterRegistry);
+        this.errorTimer = requestTimer("error", meterRegistry);
+        this.circuitOpenFallbacks = fallbackCounter("circuit-open", meterRegistry);
+        this.errorFallbacks = fallbackCounter("error", meterRegistry);
     }
 
     @Override
     @CircuitBreaker(name = "forecastService", fallbackMethod = "forecastFallback")
     public ForecastResponseDTO getForecast(UUID orderId, Double destinationLatitude,
                                            Double destinationLongitude, String priority) {
-        String url = baseUrl + "/api/forecast/" + orderId.toString();
+        HttpEntity<String> entity = buildRequest(destinationLatitude, destinationLongitude, priority);
+        return scheduler.call(ForecastScheduler.Lane.of(priority), () -> {
+            long start = System.nanoTime();
+            Timer timer = errorTimer;
+            try {
+                ResponseEntity<ForecastResponseDTO> response = restTemplate.exchange(
+                        baseUrl + "/api/forecast/{orderId}", HttpMethod.POST, entity, ForecastResponseDTO.class, orderId);
+                timer = response.getBody() != null ? successTimer : emptyTimer;
+                return response.getBody();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    @Override
+    @CircuitBreaker(name = "forecastService", fallbackMethod = "forecastAsyncFallback")
+    public CompletableFuture<ForecastResponseDTO> getForecastAsync(UUID orderId, Double destinationLatitude,
+                                                                  Double destinationLongitude, String priority) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/forecast/" + orderId))
+                .timeout(READ_TIMEOUT)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(buildRequestBody(destinationLatitude, destinationLongitude, priority)))
+                .build();
+        return scheduler.submit(ForecastScheduler.Lane.of(priority), () -> {
+            long start = System.nanoTime();
+            return httpClient().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(this::readForecast)
+                    .whenComplete((forecast, error) -> {
+                        Timer timer = error != null ? errorTimer : forecast != null ? successTimer : emptyTimer;
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    });
+        });
+    }
+
+    /** Reads a forecast response, failing on an error status as RestTemplate does. */
+    ForecastResponseDTO readForecast(HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 400) {
+            throw new RestClientResponseException("Forecast request failed with status " + response.statusCode(),
+                    HttpStatusCode.valueOf(response.statusCode()), "", null, response.body(), null);
+        }
+        if (response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), ForecastResponseDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse forecast response", e);
+        }
+    }
+
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(CONNECT_TIMEOUT)
+                            .build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /** Builds the JSON request entity sent to the forecast endpoint. */
+    HttpEntity<String> buildRequest(Double destinationLatitude, Double destinationLongitude, String priority) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(buildRequestBody(destinationLatitude, destinationLongitude, priority), headers);
+    }
+
+    /** Serializes the forecast request body (snake_case fields for the Python service). */
+    String buildRequestBody(Double destinationLatitude, Double destinationLongitude, String priority) {
         ForecastRequestDTO body = new ForecastRequestDTO(
                 destinationLatitude,
                 destinationLongitude,
                 priority != null ? priority : "Standard"
         );
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        String jsonBody;
         try {
-            jsonBody = objectMapper.writeValueAsString(body);
+            return objectMapper.writeValueAsString(body);
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize forecast request", e);
         }
-        HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
-        ResponseEntity<ForecastResponseDTO> response =
-                restTemplate.exchange(url, HttpMethod.POST, entity, ForecastResponseDTO.class);
-        return response.getBody();
     }
 
-    /** Fallback invoked when the circuit is open or the remote call fails. */
+    /** Fallback invoked when the circuit is open or the remote call fails; a shed call is rethrown. */
     @SuppressWarnings("unused")
     private ForecastResponseDTO forecastFallback(UUID orderId, Double destinationLatitude,
                                                  Double destinationLongitude, String priority,
                                                  Throwable t) {
+        if (t instanceof ForecastShedException shed) {
+            throw shed;
+        }
         log.warn("Circuit breaker fallback for order {}: {}", orderId, t.getMessage());
+        (t instanceof CallNotPermittedException ? circuitOpenFallbacks : errorFallbacks).increment();
         return null;
     }
+
+    /** Async counterpart of {@link #forecastFallback}; a shed call stays failed so the caller can tell. */
+    @SuppressWarnings("unused")
+    private CompletableFuture<ForecastResponseDTO> forecastAsyncFallback(UUID orderId, Double destinationLatitude,
+                                                                        Double destinationLongitude, String priority,
+                                                                        Throwable t) {
+        if (t instanceof ForecastShedException) {
+            return CompletableFuture.failedFuture(t);
+        }
+        return CompletableFuture.completedFuture(
+                forecastFallback(orderId, destinationLatitude, destinationLongitude, priority, t));
+    }
+
+    private static Timer requestTimer(String outcome, MeterRegistry registry) {
+        return Timer.builder("ecostream.forecast.requests")
+                .description("AI forecast call latency")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter fallbackCounter(String reason, MeterRegistry registry) {
+        return Counter.builder("ecostream.forecast.fallbacks")
+                .description("Forecast calls answered by the circuit breaker fallback")
+                .tag("reason", reason)
+                .register(registry);
+    }
 }
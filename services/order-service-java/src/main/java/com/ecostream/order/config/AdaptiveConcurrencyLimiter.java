@@ -0,0 +1,119 @@
+package com.ecostream.order.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limiter used for admission control.
+ * Admits a request while in-flight count is below the current limit; the limit grows by
+ * roughly one per limit's worth of fast completions and shrinks multiplicatively when a
+ * completion is slow or failed, so it converges on what the downstream (DynamoDB, Postgres)
+ * can actually absorb instead of a static guess. The decrease happens at most once per
+ * latency-threshold interval: one latency spike slows every request in flight at once, and
+ * backing off for each of them would collapse the limit to its minimum.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /** Guarded by this; read without locking on the admission fast path. */
+    private volatile double limit;
+    /** Guarded by this; earliest System.nanoTime() at which the limit may be decreased again. */
+    private long nextBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos) {
+        this(name, initialLimit, minLimit, maxLimit, latencyThresholdNanos, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source (System::nanoTime outside tests)
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.clock = clock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.nextBackoffNanos = clock.getAsLong();
+    }
+
+    /**
+     * Tries to admit one request.
+     *
+     * @return true if admitted (caller must call {@link #release}), false if it must be shed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its outcome back into the limit.
+     *
+     * @param latencyNanos time the request spent in flight
+     * @param failed       true if the request failed (5xx or exception)
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            double current = limit;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                long now = clock.getAsLong();
+                if (now - nextBackoffNanos >= 0) {
+                    limit = Math.max(minLimit, current * BACKOFF_RATIO);
+                    nextBackoffNanos = now + Math.max(1, latencyThresholdNanos);
+                }
+            } else if (inFlightBefore * 2 >= current) {
+                // Only grow while the limit is actually being used, otherwise it drifts to max
+                limit = Math.min(maxLimit, current + 1.0 / current);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Current concurrency limit (integer part is what admission enforces). */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
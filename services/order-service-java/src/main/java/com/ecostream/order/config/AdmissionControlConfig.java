@@ -0,0 +1,79 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Wires the admission control filter with separate telemetry and CRUD concurrency pools.
+ * Pool maxima are kept below server.tomcat.threads.max so neither route class can take
+ * every request thread; admitted/rejected/in-flight/limit are exported per pool as metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter telemetryAdmissionLimiter(
+            @Value("${order.admission.telemetry.initial-limit:32}") int initialLimit,
+            @Value("${order.admission.telemetry.min-limit:4}") int minLimit,
+            @Value("${order.admission.telemetry.max-limit:64}") int maxLimit,
+            @Value("${order.admission.telemetry.latency-threshold:250ms}") Duration latencyThreshold,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter("telemetry", initialLimit, minLimit, maxLimit,
+                latencyThreshold.toNanos()), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter crudAdmissionLimiter(
+            @Value("${order.admission.crud.initial-limit:64}") int initialLimit,
+            @Value("${order.admission.crud.min-limit:8}") int minLimit,
+            @Value("${order.admission.crud.max-limit:128}") int maxLimit,
+            @Value("${order.admission.crud.latency-threshold:1s}") Duration latencyThreshold,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter("crud", initialLimit, minLimit, maxLimit,
+                latencyThreshold.toNanos()), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter telemetryAdmissionLimiter,
+            AdaptiveConcurrencyLimiter crudAdmissionLimiter,
+            @Value("${order.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(telemetryAdmissionLimiter, crudAdmissionLimiter, retryAfterSeconds));
+        registration.addUrlPatterns(AdmissionControlFilter.ORDERS_PATH, AdmissionControlFilter.ORDERS_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /** Exposes the limiter's counters and gauges tagged by pool. */
+    private static AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter, MeterRegistry registry) {
+        String pool = limiter.getName();
+        FunctionCounter.builder("ecostream.admission.admitted", limiter, AdaptiveConcurrencyLimiter::getAdmitted)
+                .description("Requests admitted by admission control")
+                .tag("pool", pool)
+                .register(registry);
+        FunctionCounter.builder("ecostream.admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests shed with 429 by admission control")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("ecostream.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently in flight")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("ecostream.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("pool", pool)
+                .register(registry);
+        return limiter;
+    }
+}
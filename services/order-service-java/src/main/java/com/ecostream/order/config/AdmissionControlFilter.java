@@ -0,0 +1,114 @@
+package com.ecostream.order.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control in front of the order API.
+ * Telemetry ingest and order CRUD draw from separate {@link AdaptiveConcurrencyLimiter} pools,
+ * so a reconnect storm on ingest is shed with 429 + Retry-After before it can occupy the
+ * Tomcat threads CRUD needs. Requests outside /api/orders (health, actuator) are never shed.
+ * An async request keeps its permit until it completes, not just until its servlet thread is
+ * released, so the limit still bounds the work in flight downstream.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String ORDERS_PATH = "/api/orders";
+    private static final String TELEMETRY_SUFFIX = "/telemetry";
+
+    private final AdaptiveConcurrencyLimiter telemetryLimiter;
+    private final AdaptiveConcurrencyLimiter crudLimiter;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter telemetryLimiter,
+                                  AdaptiveConcurrencyLimiter crudLimiter,
+                                  int retryAfterSeconds) {
+        this.telemetryLimiter = telemetryLimiter;
+        this.crudLimiter = crudLimiter;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ORDERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isTelemetryIngest(request) ? telemetryLimiter : crudLimiter;
+
+        if (!limiter.tryAcquire()) {
+            log.debug("Shedding {} {} (pool {} at limit {})",
+                    request.getMethod(), request.getRequestURI(), limiter.getName(), limiter.getLimit());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            async = isAsyncStarted(request);
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+            } else {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /** Releases an async request's permit once, when it completes (after a timeout or error too). */
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private volatile boolean failed;
+
+        ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            boolean serverError = event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && response.getStatus() >= 500;
+            limiter.release(System.nanoTime() - start, failed || serverError);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /** Telemetry ingest is POST /api/orders/{id}/telemetry. */
+    static boolean isTelemetryIngest(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && request.getRequestURI().endsWith(TELEMETRY_SUFFIX);
+    }
+}
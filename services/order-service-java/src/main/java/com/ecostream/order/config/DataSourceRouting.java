@@ -0,0 +1,56 @@
+package com.ecostream.order.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound override that pins read-only work to the primary database when read/write
+ * routing is enabled ({@link ReadReplicaRoutingDataSource}); a no-op when it is not.
+ * Used where a replica read could be stale in a way that matters, e.g. loading the row an
+ * update is about to modify, or filling the order cache right after a write invalidated it.
+ */
+public final class DataSourceRouting {
+
+    static final String REASON_FORCED = "forced";
+    static final String REASON_READ_YOUR_WRITES = "read-your-writes";
+
+    private static final ThreadLocal<String> PRIMARY_REASON = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Runs the action with every connection it opens routed to the primary.
+     *
+     * @param action the work to run
+     * @return the action's result
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        String previous = PRIMARY_REASON.get();
+        PRIMARY_REASON.set(previous != null ? previous : REASON_FORCED);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Reason the current thread is pinned to the primary, null if it is not. */
+    static String primaryReason() {
+        return PRIMARY_REASON.get();
+    }
+
+    /** Pins the current thread to the primary; returns the previous reason for {@link #restore}. */
+    static String pin(String reason) {
+        String previous = PRIMARY_REASON.get();
+        PRIMARY_REASON.set(reason);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            PRIMARY_REASON.remove();
+        } else {
+            PRIMARY_REASON.set(previous);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.ecostream.order.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.regions.Region;
@@ -13,13 +17,20 @@ import java.net.URI;
 /**
  * Configuration for DynamoDB Enhanced Client.
  * Overrides endpoint to http://localhost:9000 for local development.
+ * Both clients are lazy: building the SDK client loads a large part of the AWS SDK, so it is
+ * kept off the startup path and done on a background thread once the application is ready
+ * (aws.dynamodb.warm-up), or by the first telemetry call if that comes sooner.
  */
 @Configuration
+@Slf4j
 public class DynamoDbConfig {
 
     @Value("${aws.dynamodb.endpoint:http://localhost:9000}")
     private String dynamoDbEndpoint;
 
+    @Value("${aws.dynamodb.warm-up:true}")
+    private boolean warmUp;
+
     /**
      * Creates a DynamoDB client configured for local development.
      * Overrides endpoint to http://localhost:9000 as required.
@@ -27,6 +38,7 @@ public class DynamoDbConfig {
      * @return configured DynamoDbClient
      */
     @Bean
+    @Lazy
     public DynamoDbClient dynamoDbClient() {
         return DynamoDbClient.builder()
                 .endpointOverride(URI.create(dynamoDbEndpoint))
@@ -42,9 +54,30 @@ public class DynamoDbConfig {
      * @return configured DynamoDbEnhancedClient
      */
     @Bean
+    @Lazy
     public DynamoDbEnhancedClient dynamoDbEnhancedClient(DynamoDbClient dynamoDbClient) {
         return DynamoDbEnhancedClient.builder()
                 .dynamoDbClient(dynamoDbClient)
                 .build();
     }
+
+    /**
+     * Creates the DynamoDB clients on a background thread after startup, so the instance
+     * reports ready first and the first telemetry write does not pay for SDK initialization.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground(ApplicationReadyEvent event) {
+        if (!warmUp) {
+            return;
+        }
+        Thread.ofVirtual().name("dynamodb-warm-up").start(() -> {
+            long start = System.nanoTime();
+            try {
+                event.getApplicationContext().getBean(DynamoDbEnhancedClient.class);
+                log.info("DynamoDB client initialized in background in {} ms", (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.warn("DynamoDB client warm-up failed; it will be retried on first use: {}", e.getMessage());
+            }
+        });
+    }
 }
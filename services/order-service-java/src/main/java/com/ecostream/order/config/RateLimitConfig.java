@@ -0,0 +1,74 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Set;
+
+/**
+ * Wires the per-client rate limit filter with separate telemetry and CRUD quotas, ahead of
+ * admission control so a limited client never takes an admission permit. Allowed/limited
+ * requests and the number of tracked clients are exported per quota (never per client).
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public TokenBucketRateLimiter telemetryRateLimiter(
+            @Value("${order.rate-limit.telemetry.rate-per-second:20}") double ratePerSecond,
+            @Value("${order.rate-limit.telemetry.burst:40}") int burst,
+            @Value("${order.rate-limit.max-clients:100000}") long maxClients,
+            MeterRegistry meterRegistry) {
+        return register(new TokenBucketRateLimiter("telemetry", ratePerSecond, burst, maxClients, System::nanoTime),
+                meterRegistry);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter crudRateLimiter(
+            @Value("${order.rate-limit.crud.rate-per-second:20}") double ratePerSecond,
+            @Value("${order.rate-limit.crud.burst:40}") int burst,
+            @Value("${order.rate-limit.max-clients:100000}") long maxClients,
+            MeterRegistry meterRegistry) {
+        return register(new TokenBucketRateLimiter("crud", ratePerSecond, burst, maxClients, System::nanoTime),
+                meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            TokenBucketRateLimiter telemetryRateLimiter,
+            TokenBucketRateLimiter crudRateLimiter,
+            @Value("${order.rate-limit.crud.list-cost:5}") int listCost,
+            @Value("${order.rate-limit.api-keys:}") Set<String> apiKeys) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(telemetryRateLimiter, crudRateLimiter, listCost, apiKeys));
+        registration.addUrlPatterns(AdmissionControlFilter.ORDERS_PATH, AdmissionControlFilter.ORDERS_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    /** Exposes the limiter's counters and client count tagged by quota. */
+    private static TokenBucketRateLimiter register(TokenBucketRateLimiter limiter, MeterRegistry registry) {
+        String quota = limiter.getName();
+        FunctionCounter.builder("ecostream.ratelimit.allowed", limiter, TokenBucketRateLimiter::getAllowed)
+                .description("Requests within their client's quota")
+                .tag("quota", quota)
+                .register(registry);
+        FunctionCounter.builder("ecostream.ratelimit.limited", limiter, TokenBucketRateLimiter::getLimited)
+                .description("Requests rejected with 429 because their client exceeded its quota")
+                .tag("quota", quota)
+                .register(registry);
+        Gauge.builder("ecostream.ratelimit.clients", limiter, TokenBucketRateLimiter::getClients)
+                .description("Clients currently holding a token bucket")
+                .tag("quota", quota)
+                .register(registry);
+        return limiter;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecostream.order.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client quotas in front of the order API, ahead of admission control: admission protects
+ * the service from total load, this keeps one client from spending everyone's share of it.
+ * A client is its X-Api-Key when that key is one of the configured API keys, otherwise its
+ * source address: an unknown key gets no bucket of its own, so rotating keys neither escapes the
+ * limit nor floods the bucket map. The source address is the servlet remote address, which Tomcat
+ * resolves from X-Forwarded-For when the peer is a trusted proxy (server.forward-headers-strategy
+ * and server.tomcat.remoteip.internal-proxies), so clients behind a load balancer are told apart. Telemetry ingest and CRUD/list routes have separate
+ * {@link TokenBucketRateLimiter} quotas; a full listing (GET /api/orders without a status
+ * filter, GET /api/orders/by-priority) costs list-cost tokens because it fans out to one AI
+ * forecast per order, and so does a dispatch plan, which clusters every waiting order. Status
+ * lists are served from the serialized response cache and cost one token.
+ * <p>
+ * Every response carries RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset (seconds
+ * until the bucket is full); a limited request gets 429 with Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-Api-Key";
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    private static final String BY_PRIORITY_PATH = AdmissionControlFilter.ORDERS_PATH + "/by-priority";
+    private static final String DISPATCH_PATH = AdmissionControlFilter.ORDERS_PATH + "/dispatch-batches";
+
+    private final TokenBucketRateLimiter telemetryLimiter;
+    private final TokenBucketRateLimiter crudLimiter;
+    private final int listCost;
+    private final Set<String> apiKeys;
+
+    public RateLimitFilter(TokenBucketRateLimiter telemetryLimiter, TokenBucketRateLimiter crudLimiter, int listCost,
+                           Set<String> apiKeys) {
+        this.telemetryLimiter = telemetryLimiter;
+        this.crudLimiter = crudLimiter;
+        this.listCost = listCost;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(AdmissionControlFilter.ORDERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TokenBucketRateLimiter limiter = AdmissionControlFilter.isTelemetryIngest(request) ? telemetryLimiter : crudLimiter;
+        String client = clientKey(request, apiKeys);
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire(client, isFullListing(request) ? listCost : 1);
+
+        response.setHeader(LIMIT_HEADER, Long.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(ceilSeconds(decision.resetNanos())));
+        if (!decision.allowed()) {
+            log.debug("Rate limiting {} {} for {} (quota {})", request.getMethod(), request.getRequestURI(),
+                    client, limiter.getName());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(decision.retryAfterNanos())));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isFullListing(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        if (uri.equals(AdmissionControlFilter.ORDERS_PATH)) {
+            return request.getParameter("status") == null;
+        }
+        return uri.equals(BY_PRIORITY_PATH) || uri.equals(DISPATCH_PATH);
+    }
+
+    private static String clientKey(HttpServletRequest request, Set<String> apiKeys) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
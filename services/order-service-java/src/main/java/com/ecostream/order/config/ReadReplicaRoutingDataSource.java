@@ -0,0 +1,72 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions (@Transactional(readOnly = true), which includes
+ * Spring Data's findById/findAll/query methods) to the replica pool and everything else to the
+ * primary. Reads fall back to the primary while the current thread is pinned there
+ * ({@link DataSourceRouting}: read-your-writes window, explicit override) or while the replica
+ * lags too far behind. Must sit behind a LazyConnectionDataSourceProxy so the connection is
+ * fetched after the transaction's read-only flag is set. Every decision is counted in
+ * ecostream.datasource.routing{target, reason}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Map<String, Counter> decisions = new HashMap<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                        MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        for (String reason : new String[]{"read-write", DataSourceRouting.REASON_FORCED,
+                DataSourceRouting.REASON_READ_YOUR_WRITES, "replica-lag"}) {
+            register(meterRegistry, Target.PRIMARY, reason);
+        }
+        register(meterRegistry, Target.REPLICA, "read-only");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(Target.PRIMARY, "read-write");
+        }
+        String pinned = DataSourceRouting.primaryReason();
+        if (pinned != null) {
+            return route(Target.PRIMARY, pinned);
+        }
+        if (lagMonitor.isStale()) {
+            return route(Target.PRIMARY, "replica-lag");
+        }
+        return route(Target.REPLICA, "read-only");
+    }
+
+    private Target route(Target target, String reason) {
+        decisions.get(key(target, reason)).increment();
+        return target;
+    }
+
+    private void register(MeterRegistry registry, Target target, String reason) {
+        decisions.put(key(target, reason), Counter.builder("ecostream.datasource.routing")
+                .description("Connections routed by the read/write routing datasource")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(registry));
+    }
+
+    private static String key(Target target, String reason) {
+        return target + ":" + reason;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecostream.order.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: after a client writes an order, its reads are pinned
+ * to the primary for a short window so it never sees its own change missing from the replica.
+ * A client is its authenticated principal, else its X-Session-Id header. Requests with neither
+ * are not tracked: the remote address would be shared by every client behind the same load
+ * balancer or NAT, pinning all of them after one write while still missing clients that reach
+ * the service through different proxies. Such clients are not guaranteed to read their writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String SESSION_HEADER = "X-Session-Id";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(AdmissionControlFilter.ORDERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientKey(request);
+        if (client == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!isRead(request)) {
+            filterChain.doFilter(request, response);
+            if (response.getStatus() < 400) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+            return;
+        }
+
+        if (recentWriters.getIfPresent(client) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String previous = DataSourceRouting.pin(DataSourceRouting.REASON_READ_YOUR_WRITES);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.restore(previous);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    /** The principal or session the request belongs to, null if it names neither. */
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String session = request.getHeader(SESSION_HEADER);
+        return session != null && !session.isBlank() ? "session:" + session : null;
+    }
+}
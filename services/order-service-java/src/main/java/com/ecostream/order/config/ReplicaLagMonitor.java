@@ -0,0 +1,79 @@
+package com.ecostream.order.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures how far the read replica is behind the primary.
+ * Lag is zero when the replica has replayed everything it received (so an idle primary does
+ * not look like lag) and on a server that is not in recovery, which lets a single instance
+ * act as both primary and replica for local testing. A failed probe counts as stale.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private final Duration probeInterval;
+    private ScheduledExecutorService scheduler;
+
+    /** Last measured lag in seconds; NaN until the first probe or after a failed one. */
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration probeInterval) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.probeInterval = probeInterval;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void probe() {
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            recordLag(lag == null ? 0.0 : lag);
+        } catch (RuntimeException e) {
+            log.warn("Replica lag probe failed, routing reads to primary: {}", e.getMessage());
+            recordLag(Double.NaN);
+        }
+    }
+
+    void recordLag(double seconds) {
+        lagSeconds = seconds;
+    }
+
+    /** True if reads must not go to the replica (lag above the maximum, or unknown). */
+    public boolean isStale() {
+        double lag = lagSeconds;
+        return Double.isNaN(lag) || lag > maxLagSeconds;
+    }
+
+    /** Last measured lag in seconds, NaN if unknown. */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
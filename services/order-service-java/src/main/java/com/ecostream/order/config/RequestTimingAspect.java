@@ -0,0 +1,92 @@
+package com.ecostream.order.config;
+
+import com.ecostream.order.config.RequestTimings.Phase;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the outbound calls of an order request: Postgres repositories, the DynamoDB telemetry
+ * store and the AI forecast client. Each call is charged to its {@link RequestTimings} phase and,
+ * when tracing is enabled (management.tracing.enabled), recorded as a child span of the HTTP
+ * request span. Runs outermost, so a forecast call short-circuited by the circuit breaker is
+ * still counted, with the fallback's time.
+ * <p>
+ * Spans go straight to the tracer rather than through an Observation: latency timers for these
+ * calls already exist (spring.data.repository.invocations, ecostream.forecast.requests,
+ * ecostream.telemetry.store), and the extra meter handler cost more than the span itself.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingAspect {
+
+    /** A call that may throw whatever the advised method throws. */
+    @FunctionalInterface
+    interface TimedCall<T> {
+        T call() throws Throwable;
+    }
+
+    /** Null when tracing is disabled, so the untraced path never touches span machinery. */
+    private final Tracer tracer;
+
+    @Autowired
+    public RequestTimingAspect(ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable());
+    }
+
+    RequestTimingAspect(Tracer tracer) {
+        this.tracer = tracer == Tracer.NOOP ? null : tracer;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(Phase.DB, joinPoint);
+    }
+
+    @Around("execution(public * com.ecostream.order.repository.TelemetryRepository.*(..))")
+    public Object timeTelemetryStore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(Phase.DYNAMODB, joinPoint);
+    }
+
+    @Around("execution(* com.ecostream.order.client.ForecastingClient.getForecast(..))")
+    public Object timeForecast(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(Phase.FORECAST, joinPoint);
+    }
+
+    private Object observe(Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(phase, joinPoint.getSignature().getName(), joinPoint::proceed);
+    }
+
+    /** Runs one call as a timed phase; package-private for the overhead benchmark. */
+    <T> T observe(Phase phase, String operation, TimedCall<T> call) throws Throwable {
+        long start = System.nanoTime();
+        if (tracer == null) {
+            try {
+                return call.call();
+            } finally {
+                RequestTimings.record(phase, System.nanoTime() - start);
+            }
+        }
+        Span span = tracer.nextSpan()
+                .name(phase.metricName() + " " + operation)
+                .tag("ecostream.phase", phase.metricName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return call.call();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            RequestTimings.record(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecostream.order.config;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Per-request latency breakdown reported in the Server-Timing header by {@link ServerTimingFilter}.
+ * Time is accumulated per phase on the request thread; work done on other threads (async
+ * executors, the telemetry listener) is not attributed unless it reports through a
+ * {@link #recorder()} taken on the request thread. Outside a request every method is a no-op,
+ * so instrumented code does not need to know whether it is serving HTTP. An async request keeps
+ * its collector across the initial and the async dispatch (see {@link ServerTimingFilter}).
+ */
+public final class RequestTimings {
+
+    /** Phases of an order request, in the order they appear in the header. */
+    public enum Phase {
+        DB("db", "Postgres"),
+        MAPPING("mapping", "DTO mapping"),
+        FORECAST("forecast", "AI forecast"),
+        DYNAMODB("dynamodb", "DynamoDB"),
+        SERIALIZATION("serialization", "JSON serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    /** Charges time to the request a recorder was taken from, from any thread. */
+    @FunctionalInterface
+    public interface Recorder {
+
+        void record(Phase phase, long durationNanos);
+    }
+
+    private static final Recorder NO_OP = (phase, durationNanos) -> { };
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private long serializationStart;
+
+    private RequestTimings() {
+    }
+
+    /** Starts collecting for the current thread, replacing anything left over. */
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /** Continues collecting for a request on the thread of its async dispatch. */
+    static void resume(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /** @return the collector for the current request, or null outside one */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /** Adds one call of the given duration to a phase of the current request. */
+    public static void record(Phase phase, long durationNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, durationNanos);
+        }
+    }
+
+    /** Runs work and charges its duration to a phase of the current request. */
+    public static <T> T time(Phase phase, Supplier<T> work) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            timings.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns a recorder bound to the current request, for work that completes on another thread
+     * (e.g. a non-blocking forecast call); a no-op outside a request.
+     */
+    public static Recorder recorder() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return NO_OP;
+        }
+        return (phase, durationNanos) -> {
+            synchronized (timings) {
+                timings.add(phase, durationNanos);
+            }
+        };
+    }
+
+    /**
+     * Marks the point where the handler has returned and the message converter takes over;
+     * everything from here to the end of the filter chain is charged to serialization.
+     */
+    static void markSerializationStart() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.serializationStart == 0) {
+            timings.serializationStart = System.nanoTime();
+        }
+    }
+
+    void add(Phase phase, long durationNanos) {
+        nanos[phase.ordinal()] += durationNanos;
+        counts[phase.ordinal()]++;
+    }
+
+    /** Closes the serialization phase opened by {@link #markSerializationStart()}, if any. */
+    void finishSerialization(long endNanos) {
+        if (serializationStart != 0) {
+            add(Phase.SERIALIZATION, endNanos - serializationStart);
+            serializationStart = 0;
+        }
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Formats the phases that ran plus the total, e.g.
+     * {@code db;dur=2.41;desc="Postgres x3", forecast;dur=180.02;desc="AI forecast x12", total;dur=185.7}.
+     */
+    String toHeaderValue(long totalNanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName).append(";dur=").append(millis(nanos[phase.ordinal()]))
+                    .append(";desc=\"").append(phase.description);
+            if (count > 1) {
+                header.append(" x").append(count);
+            }
+            header.append("\", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -3,6 +3,7 @@ package com.ecostream.order.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
@@ -15,6 +16,8 @@ import java.time.Duration;
  * Connect timeout is short (1s); read timeout is generous (2s) because the AI service
  * performs ML prediction + DynamoDB lookup. The Resilience4j circuit breaker handles
  * sustained failures at a higher level.
+ * Lazy, together with the injection point in ForecastingClientImpl, so it is built on the
+ * first forecast call rather than during startup.
  */
 @Configuration
 public class RestTemplateConfig {
@@ -23,6 +26,7 @@ public class RestTemplateConfig {
     private static final Duration READ_TIMEOUT = Duration.ofMillis(2000);
 
     @Bean
+    @Lazy
     public RestTemplate restTemplate(RestTemplateBuilder builder) {
         return builder
                 .requestFactory(() -> new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()))
@@ -0,0 +1,25 @@
+package com.ecostream.order.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the Server-Timing filter on the order API. It sits inside admission control and
+ * read-your-writes routing, so the reported total is the time spent actually serving the request.
+ * Off by default; even when on, only requests sending X-Server-Timing are timed and buffered.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns(AdmissionControlFilter.ORDERS_PATH, AdmissionControlFilter.ORDERS_PATH + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecostream.order.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Adds a Server-Timing header with the {@link RequestTimings} breakdown of an order request that
+ * asks for it with an X-Server-Timing request header. The body of such a request is buffered so
+ * the header can still be set after serialization has run; every other request passes through
+ * untouched, keeping the serialized response cache's direct write of large lists copy-free.
+ * An async request (DeferredResult) is timed from its initial dispatch to the end of the async
+ * dispatch that writes the body; the collector and start time travel as request attributes.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    /** Request header (any value) that opts a request into timing and body buffering. */
+    static final String OPT_IN_HEADER = "X-Server-Timing";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+    private static final String START_ATTRIBUTE = ServerTimingFilter.class.getName() + ".start";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(AdmissionControlFilter.ORDERS_PATH)
+                || request.getHeader(OPT_IN_HEADER) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings;
+        ContentCachingResponseWrapper buffered;
+        long start;
+        if (isAsyncDispatch(request)) {
+            timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+            buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            start = (Long) request.getAttribute(START_ATTRIBUTE);
+            RequestTimings.resume(timings);
+        } else {
+            timings = RequestTimings.start();
+            buffered = new ContentCachingResponseWrapper(response);
+            start = System.nanoTime();
+        }
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            RequestTimings.clear();
+            if (!isAsyncStarted(request)) {
+                finish(timings, buffered, start);
+            } else {
+                request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+                request.setAttribute(START_ATTRIBUTE, start);
+            }
+        }
+    }
+
+    private static void finish(RequestTimings timings, ContentCachingResponseWrapper buffered,
+                               long start) throws IOException {
+        long end = System.nanoTime();
+        timings.finishSerialization(end);
+        if (!buffered.getResponse().isCommitted()) {
+            buffered.setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue(end - start));
+        }
+        buffered.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource (the "dataSource" bean JPA uses; with replica routing that is
+ * the routing proxy, so each statement is counted once whichever pool serves it) in a
+ * datasource-proxy that feeds {@link SqlStatementCounter}, and registers the per-request filter.
+ * Row counting proxies every ResultSet call and can be turned off (order.sql-metrics.count-rows).
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.sql-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(MeterRegistry meterRegistry) {
+        return new SqlStatementCounter(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor(
+            ObjectProvider<SqlStatementCounter> counter,
+            @Value("${order.sql-metrics.count-rows:true}") boolean countRows) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(counter.getObject());
+                if (countRows) {
+                    builder.proxyResultSet().methodListener(counter.getObject());
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${order.sql-metrics.response-header:false}") boolean responseHeader) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementCountFilter(meterRegistry, responseHeader));
+        registration.addUrlPatterns(AdmissionControlFilter.ORDERS_PATH, AdmissionControlFilter.ORDERS_PATH + "/*");
+        // Inside the Server-Timing filter, whose buffered response (when opted in) keeps the headers settable
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 35);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements and rows of each order API request in
+ * ecostream.http.sql.statements and ecostream.http.sql.rows (tagged by method and route), so an
+ * N+1 regression shows up as a jump in statements per request for one route. Optionally echoes
+ * the counts in X-Sql-Statements / X-Sql-Rows. The headers are set after the handler has run;
+ * they are reliable on requests the Server-Timing filter buffers (enabled, with X-Server-Timing),
+ * and are skipped if the response was already committed. An async request is reported once, at the end
+ * of the async dispatch, with the statements of both dispatches.
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String ROWS_HEADER = "X-Sql-Rows";
+    private static final String COUNTS_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".counts";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry, boolean responseHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(AdmissionControlFilter.ORDERS_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Counts counts;
+        if (isAsyncDispatch(request)) {
+            counts = (SqlStatementCounter.Counts) request.getAttribute(COUNTS_ATTRIBUTE);
+            SqlStatementCounter.resume(counts);
+        } else {
+            counts = SqlStatementCounter.start();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.clear();
+            if (isAsyncStarted(request)) {
+                request.setAttribute(COUNTS_ATTRIBUTE, counts);
+            } else {
+                report(counts, request, response);
+            }
+        }
+    }
+
+    private void report(SqlStatementCounter.Counts counts, HttpServletRequest request, HttpServletResponse response) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : "UNKNOWN";
+        DistributionSummary.builder("ecostream.http.sql.statements")
+                .description("JDBC statements per order API request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder("ecostream.http.sql.rows")
+                .description("JDBC rows fetched per order API request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(counts.getRows());
+        if (responseHeaders && !response.isCommitted()) {
+            response.setHeader(STATEMENTS_HEADER, Integer.toString(counts.getStatements()));
+            response.setHeader(ROWS_HEADER, Long.toString(counts.getRows()));
+        }
+    }
+}
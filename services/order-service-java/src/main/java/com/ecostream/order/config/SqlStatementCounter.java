@@ -0,0 +1,128 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.sql.ResultSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts JDBC statements and fetched rows on the application DataSource (wrapped by
+ * {@link SqlMetricsConfig}), globally in ecostream.sql.statements{type} and ecostream.sql.rows,
+ * and per unit of work on the current thread: an HTTP request ({@link SqlStatementCountFilter})
+ * or a block passed to {@link #count(Runnable)}. A JDBC batch counts as one statement, since it
+ * is one round trip; a row is a ResultSet.next() that returned true.
+ */
+public class SqlStatementCounter implements QueryExecutionListener, MethodExecutionListener {
+
+    /** Statements and rows of one unit of work. */
+    public static final class Counts {
+
+        private int statements;
+        private long rows;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private final Map<QueryType, Counter> statementsByType = new EnumMap<>(QueryType.class);
+    private final Counter rows;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        for (QueryType type : QueryType.values()) {
+            statementsByType.put(type, Counter.builder("ecostream.sql.statements")
+                    .description("JDBC statements executed (a batch counts once)")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.rows = Counter.builder("ecostream.sql.rows")
+                .description("Rows fetched from JDBC result sets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs work and returns the statements and rows it issued on this thread, e.g. to assert
+     * a query budget in a test. Work counted by a nested call also counts toward the enclosing one.
+     */
+    public static Counts count(Runnable work) {
+        Counts outer = CURRENT.get();
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        try {
+            work.run();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                outer.statements += counts.statements;
+                outer.rows += counts.rows;
+                CURRENT.set(outer);
+            }
+        }
+        return counts;
+    }
+
+    /** Starts counting for the current thread, replacing anything left over. */
+    static Counts start() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /** Continues counting for a request on the thread of its async dispatch. */
+    static void resume(Counts counts) {
+        CURRENT.set(counts);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryType type = queryInfoList.isEmpty() ? QueryType.OTHER : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        statementsByType.get(type).increment();
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            rows.increment();
+            Counts counts = CURRENT.get();
+            if (counts != null) {
+                counts.rows++;
+            }
+        }
+    }
+}
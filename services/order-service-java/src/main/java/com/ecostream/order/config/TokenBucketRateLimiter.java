@@ -0,0 +1,102 @@
+package com.ecostream.order.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket (rate tokens per second, up to burst tokens), implemented as GCRA:
+ * each client's whole bucket state is one long, the theoretical arrival time (TAT) at which its
+ * bucket would be full again, updated with a CAS. There is no lock and no refill thread; a
+ * request of cost c is admitted if pushing the TAT forward by c emission intervals keeps it
+ * within burst intervals of now.
+ * <p>
+ * Buckets live in a Caffeine cache bounded by max-clients and expiring after the time a bucket
+ * takes to refill completely, so an expired bucket was full anyway and millions of one-off
+ * clients cannot grow the map. Only a size eviction under that pressure can hand a busy client
+ * a fresh bucket. Cache maintenance runs on the calling thread rather than the common pool so
+ * a churn of new clients cannot queue unbounded eviction work. Limits are per instance.
+ */
+public class TokenBucketRateLimiter {
+
+    /** Outcome of one acquire, with what the quota headers report. */
+    public record Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burst;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+
+    public TokenBucketRateLimiter(String name, double ratePerSecond, int burst, long maxClients, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Invalid quota for " + name + ": rate=" + ratePerSecond
+                    + ", burst=" + burst + ", max-clients=" + maxClients);
+        }
+        this.name = name;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = burst;
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Takes cost tokens from the client's bucket if it holds that many.
+     *
+     * @param client the client key (API key or source address)
+     * @param cost   tokens the request costs, capped at the burst size
+     * @return whether the request is allowed, plus the quota state after it
+     */
+    public Decision tryAcquire(String client, int cost) {
+        long increment = emissionIntervalNanos * Math.min(Math.max(cost, 1), burst);
+        AtomicLong tat = buckets.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = start + increment;
+            long backlog = next - now;
+            if (backlog > burstNanos) {
+                limited.increment();
+                long untilFull = current == Long.MIN_VALUE ? 0 : Math.max(0, current - now);
+                return new Decision(false, burst, (burstNanos - untilFull) / emissionIntervalNanos,
+                        untilFull, backlog - burstNanos);
+            }
+            if (tat.compareAndSet(current, next)) {
+                allowed.increment();
+                return new Decision(true, burst, (burstNanos - backlog) / emissionIntervalNanos, backlog, 0);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getLimited() {
+        return limited.sum();
+    }
+
+    /** Approximate number of clients with a bucket. */
+    public long getClients() {
+        return buckets.estimatedSize();
+    }
+}
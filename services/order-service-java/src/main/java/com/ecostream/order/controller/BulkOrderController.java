@@ -0,0 +1,106 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.dto.BulkChangeResponseDTO;
+import com.ecostream.order.dto.BulkDeleteRequestDTO;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkStatusTransitionRequestDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.service.BulkOrderService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for bulk order operations.
+ * Items are validated individually by the service, so one bad item does not reject the whole request.
+ */
+@RestController
+@RequestMapping("/api/orders/bulk")
+@CrossOrigin(origins = "http://localhost:5173")
+@Slf4j
+public class BulkOrderController {
+
+    private final BulkOrderService bulkOrderService;
+    private final int maxItems;
+
+    public BulkOrderController(BulkOrderService bulkOrderService,
+                               @Value("${order.bulk.max-items:50000}") int maxItems) {
+        this.bulkOrderService = bulkOrderService;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Creates many orders in one request.
+     *
+     * @param requests the order creation requests
+     * @return per-item results with 200 OK status, 413 Payload Too Large above the configured item limit
+     */
+    @PostMapping
+    public ResponseEntity<BulkOperationResponseDTO> createOrders(@RequestBody List<OrderRequestDTO> requests) {
+        log.info("Received bulk create request with {} orders", requests.size());
+
+        if (requests.size() > maxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(bulkOrderService.createOrders(requests));
+    }
+
+    /**
+     * Updates many orders in one request.
+     *
+     * @param requests the update items, each with the ID of the order to update
+     * @return per-item results with 200 OK status, 413 Payload Too Large above the configured item limit
+     */
+    @PutMapping
+    public ResponseEntity<BulkOperationResponseDTO> updateOrders(@RequestBody List<BulkUpdateOrderRequestDTO> requests) {
+        log.info("Received bulk update request with {} orders", requests.size());
+
+        if (requests.size() > maxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(bulkOrderService.updateOrders(requests));
+    }
+
+    /**
+     * Moves many orders to a new status in set-based statements.
+     * Orders that are not found or whose current status may not move to the target are skipped.
+     *
+     * @param request the order IDs and the target status
+     * @return changed and skipped IDs with 200 OK status, 413 Payload Too Large above the configured item limit
+     */
+    @PostMapping("/status")
+    public ResponseEntity<BulkChangeResponseDTO> transitionStatus(@Valid @RequestBody BulkStatusTransitionRequestDTO request) {
+        log.info("Received bulk transition request for {} orders to {}", request.getIds().size(), request.getTargetStatus());
+
+        if (request.getIds().size() > maxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(bulkOrderService.transitionStatus(request.getIds(), request.getTargetStatus()));
+    }
+
+    /**
+     * Deletes many orders in set-based statements.
+     *
+     * @param request the order IDs
+     * @return deleted and not-found IDs with 200 OK status, 413 Payload Too Large above the configured item limit
+     */
+    @PostMapping("/delete")
+    public ResponseEntity<BulkChangeResponseDTO> deleteOrders(@Valid @RequestBody BulkDeleteRequestDTO request) {
+        log.info("Received bulk delete request for {} orders", request.getIds().size());
+
+        if (request.getIds().size() > maxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(bulkOrderService.deleteOrders(request.getIds()));
+    }
+}
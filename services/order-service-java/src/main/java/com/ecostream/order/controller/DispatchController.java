@@ -0,0 +1,54 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.dto.DispatchPlanDTO;
+import com.ecostream.order.service.DestinationClusterer;
+import com.ecostream.order.service.DispatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for dispatch planning.
+ * A plan clusters every waiting order, so it is charged like a full listing by the rate limiter.
+ */
+@RestController
+@RequestMapping("/api/orders/dispatch-batches")
+@CrossOrigin(origins = "http://localhost:5173")
+@Slf4j
+public class DispatchController {
+
+    static final int MAX_BATCHES = 10_000;
+
+    private final DispatchService dispatchService;
+    private final int maxBatchSize;
+
+    public DispatchController(DispatchService dispatchService,
+                              @Value("${order.dispatch.max-batch-size:500}") int maxBatchSize) {
+        this.dispatchService = dispatchService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Groups the PENDING and CONFIRMED orders into delivery batches.
+     *
+     * @param radiusKm  orders within this distance of each other share a batch (0.1 to 50 km)
+     * @param batchSize most orders per batch (1 to the configured maximum)
+     * @param limit     number of batches to return, most urgent first (1 to 10000)
+     * @return the plan with 200 OK status, 400 Bad Request for an invalid radius, batch size or limit
+     */
+    @GetMapping
+    public ResponseEntity<DispatchPlanDTO> planBatches(@RequestParam(defaultValue = "2") double radiusKm,
+                                                       @RequestParam(defaultValue = "50") int batchSize,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        log.info("Received dispatch planning request: radius {} km, batch size {}, limit {}", radiusKm, batchSize, limit);
+
+        if (!(radiusKm >= DestinationClusterer.MIN_RADIUS_KM && radiusKm <= DestinationClusterer.MAX_RADIUS_KM)
+                || batchSize < 1 || batchSize > maxBatchSize || limit < 1 || limit > MAX_BATCHES) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(dispatchService.planBatches(radiusKm, batchSize, limit));
+    }
+}
@@ -1,21 +1,37 @@
 package com.ecostream.order.controller;
 
 import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
 import com.ecostream.order.dto.OrderRequestDTO;
 import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.StaleTelemetryDTO;
 import com.ecostream.order.dto.TelemetryRequestDTO;
 import com.ecostream.order.dto.UpdateOrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
 import com.ecostream.order.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST controller for order management operations.
@@ -28,7 +44,20 @@ import java.util.UUID;
 @Slf4j
 public class OrderController {
 
+    /** Upper bound for the limit parameter of the change feed and the by-priority list. */
+    static final int MAX_LIST_LIMIT = 10_000;
+
+    /** Upper bound for the limit parameter of the spatial queries. */
+    static final int MAX_SPATIAL_LIMIT = 1_000;
+
+    /** Upper bound for the radius of a nearby query. */
+    static final double MAX_RADIUS_KM = 1_000;
+
     private final OrderService orderService;
+    private final SerializedResponseCache responseCache;
+
+    @Value("${order.async.request-timeout:10s}")
+    private Duration asyncRequestTimeout;
 
     /**
      * Creates a new order.
@@ -48,38 +77,194 @@ public class OrderController {
 
     /**
      * Retrieves an order by its unique identifier.
+     * The ETag is checked before the order is loaded, so a matching If-None-Match is answered
+     * with 304 Not Modified without AI forecast enrichment or JSON serialization.
+     * The response is completed asynchronously: the servlet thread is released while the AI
+     * forecast is in flight.
      *
      * @param id the UUID of the order to retrieve
-     * @return the order with 200 OK status if found, 404 Not Found otherwise
+     * @param webRequest the current request, used for the If-None-Match check
+     * @return the order with 200 OK status and an ETag if found, 304 Not Modified if unchanged,
+     *         404 Not Found otherwise, 503 Service Unavailable after the request timeout
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable UUID id) {
+    public DeferredResult<ResponseEntity<OrderResponseDTO>> getOrderById(@PathVariable UUID id, WebRequest webRequest) {
         log.debug("Received request to retrieve order with ID: {}", id);
-        
-        Optional<OrderResponseDTO> orderOptional = orderService.getOrderById(id);
-        
-        if (orderOptional.isEmpty()) {
-            log.debug("Order not found with ID: {}", id);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+        Optional<String> eTag = orderService.getOrderETag(id);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            log.debug("Order not modified with ID: {}", id);
+            return null;
         }
-        
-        log.debug("Order retrieved successfully with ID: {}", id);
-        return ResponseEntity.ok(orderOptional.get());
+
+        return deferred(orderService.getOrderByIdAsync(id).thenApply(orderOptional -> {
+            if (orderOptional.isEmpty()) {
+                log.debug("Order not found with ID: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+
+            log.debug("Order retrieved successfully with ID: {}", id);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            eTag.ifPresent(response::eTag);
+            return response.body(orderOptional.get());
+        }));
     }
 
     /**
      * Retrieves all orders in the system.
+     * A request with If-None-Match is first checked against an aggregate watermark (count,
+     * highest change version) and answered with 304 Not Modified without loading any order rows.
+     * Otherwise the ETag is derived from the loaded rows, so a plain listing is a single query.
+     * The AI forecasts for the orders are requested concurrently and the response is completed
+     * asynchronously, without holding a servlet thread.
      *
-     * @return list of all orders with 200 OK status
+     * @param webRequest the current request, used for the If-None-Match check
+     * @return list of orders with 200 OK status and an ETag, 304 Not Modified if unchanged,
+     *         503 Service Unavailable after the request timeout
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
+    public DeferredResult<ResponseEntity<List<OrderResponseDTO>>> getAllOrders(WebRequest webRequest) {
         log.debug("Received request to retrieve all orders");
-        
-        List<OrderResponseDTO> orders = orderService.getAllOrders();
-        
-        log.debug("Retrieved {} orders", orders.size());
-        return ResponseEntity.ok(orders);
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = orderService.getOrdersETag();
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                log.debug("Order list not modified");
+                return null;
+            }
+        }
+
+        return deferred(orderService.getAllOrdersAsync().thenApply(orders -> {
+            log.debug("Retrieved {} orders", orders.orders().size());
+            return ResponseEntity.ok().eTag(orders.eTag()).body(orders.orders());
+        }));
+    }
+
+    /**
+     * Retrieves all orders with a given status (e.g. every IN_TRANSIT order for the dashboard).
+     * Served from the serialized response cache: pollers of an unchanged list get pre-rendered
+     * (optionally gzipped) bytes, or 304 Not Modified on a matching If-None-Match.
+     *
+     * @param status the status to filter by
+     * @param request the current request, used for If-None-Match and Accept-Encoding
+     * @param response the response the cached JSON is written to
+     */
+    @GetMapping(params = "status")
+    public void getOrdersByStatus(@RequestParam OrderStatus status,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        log.debug("Received request to retrieve orders with status: {}", status);
+        responseCache.write("status:" + status, () -> orderService.getOrdersByStatus(status), request, response);
+    }
+
+    /**
+     * Retrieves the highest-priority orders, served from the serialized response cache.
+     *
+     * @param limit maximum number of orders to return (1 to 10000)
+     * @param request the current request, used for If-None-Match and Accept-Encoding
+     * @param response the response the cached JSON is written to
+     */
+    @GetMapping("/by-priority")
+    public void getTopOrdersByPriority(@RequestParam(defaultValue = "100") int limit,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        log.debug("Received request for top {} orders by priority", limit);
+
+        if (limit < 1 || limit > MAX_LIST_LIMIT) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        responseCache.write("priority:" + limit, () -> orderService.getTopOrdersByPriority(limit), request, response);
+    }
+
+    /**
+     * Retrieves the orders created, updated or deleted since a change version, so pollers
+     * download only what changed instead of the full order list.
+     *
+     * @param since change version from the previous poll's nextSince (0 for a full sync)
+     * @param limit maximum number of changes to return (1 to 10000)
+     * @return the changes with 200 OK status, 400 Bad Request for a negative since or out-of-range limit
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<OrderChangesResponseDTO> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "1000") int limit) {
+        log.debug("Received request for order changes since version {} (limit {})", since, limit);
+
+        if (since < 0 || limit < 1 || limit > MAX_LIST_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(orderService.getChangesSince(since, limit));
+    }
+
+    /**
+     * Retrieves orders whose destination lies in a latitude/longitude box, newest first, without
+     * AI forecasts.
+     *
+     * @param minLatitude southern edge in degrees
+     * @param minLongitude western edge in degrees
+     * @param maxLatitude northern edge in degrees
+     * @param maxLongitude eastern edge in degrees (boxes crossing the antimeridian are split by the caller)
+     * @param status statuses to include, comma-separated; all when absent
+     * @param limit maximum number of orders to return (1 to 1000)
+     * @return the orders with 200 OK status, 400 Bad Request for an invalid box or limit
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersWithin(
+            @RequestParam double minLatitude,
+            @RequestParam double minLongitude,
+            @RequestParam double maxLatitude,
+            @RequestParam double maxLongitude,
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received request for orders within [{}, {}] - [{}, {}]", minLatitude, minLongitude, maxLatitude, maxLongitude);
+
+        if (!isLatitude(minLatitude) || !isLatitude(maxLatitude) || !isLongitude(minLongitude) || !isLongitude(maxLongitude)
+                || minLatitude > maxLatitude || minLongitude > maxLongitude || limit < 1 || limit > MAX_SPATIAL_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(orderService.getOrdersWithin(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                status == null ? Set.of() : status, limit));
+    }
+
+    /**
+     * Retrieves orders whose destination lies within a radius of a point, nearest first, without
+     * AI forecasts.
+     *
+     * @param latitude centre latitude in degrees
+     * @param longitude centre longitude in degrees
+     * @param radiusKm radius in kilometres (up to 1000)
+     * @param status statuses to include, comma-separated; all when absent
+     * @param limit maximum number of orders to return (1 to 1000)
+     * @return the orders with 200 OK status, 400 Bad Request for an invalid point, radius or limit
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam double radiusKm,
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received request for orders within {} km of [{}, {}]", radiusKm, latitude, longitude);
+
+        if (!isLatitude(latitude) || !isLongitude(longitude) || !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)
+                || limit < 1 || limit > MAX_SPATIAL_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(orderService.getOrdersNearby(latitude, longitude, radiusKm,
+                status == null ? Set.of() : status, limit));
+    }
+
+    private static boolean isLatitude(double value) {
+        return value >= -90 && value <= 90;
+    }
+
+    private static boolean isLongitude(double value) {
+        return value >= -180 && value <= 180;
     }
 
     /**
@@ -146,4 +331,72 @@ public class OrderController {
         log.debug("Telemetry ingestion accepted for order ID: {}", id);
         return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
+
+    /**
+     * Retrieves the running motion statistics (speed, heading, distance, idle time) of an order.
+     *
+     * @param id the UUID of the order
+     * @return the statistics with 200 OK status, 404 Not Found if no telemetry has been received
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<MotionStatsDTO> getMotionStats(@PathVariable UUID id) {
+        log.debug("Received request for motion stats of order ID: {}", id);
+
+        Optional<MotionStatsDTO> stats = orderService.getMotionStats(id);
+
+        if (stats.isEmpty()) {
+            log.debug("No telemetry received yet for order ID: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        return ResponseEntity.ok(stats.get());
+    }
+
+    /**
+     * Retrieves the IN_TRANSIT orders whose vehicle has sent no telemetry for the configured
+     * interval (order.telemetry.stale.after), longest silent first.
+     *
+     * @param limit maximum number of orders to return (1 to 10000)
+     * @return the orders with 200 OK status, 400 Bad Request for an invalid limit
+     */
+    @GetMapping("/stale-telemetry")
+    public ResponseEntity<List<StaleTelemetryDTO>> getStaleTelemetryOrders(@RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received request for up to {} orders with stale telemetry", limit);
+
+        if (limit < 1 || limit > MAX_LIST_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(orderService.getStaleTelemetryOrders(limit));
+    }
+
+    /**
+     * Adapts a service future to async MVC with the per-request timeout
+     * (order.async.request-timeout); a request still waiting then gets 503 Service Unavailable.
+     */
+    private <T> DeferredResult<ResponseEntity<T>> deferred(CompletableFuture<ResponseEntity<T>> future) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(asyncRequestTimeout.toMillis(),
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        future.whenComplete((response, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                result.setResult(response);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Maps a concurrent modification detected by the optimistic-lock version to 409 Conflict.
+     *
+     * @param e the optimistic locking failure
+     * @return 409 Conflict status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentModification(OptimisticLockingFailureException e) {
+        log.warn("Concurrent order modification: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 }
@@ -0,0 +1,242 @@
+package com.ecostream.order.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ecostream.order.config.RequestTimings;
+import com.ecostream.order.config.RequestTimings.Phase;
+import com.ecostream.order.service.OrderChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized JSON of hot list responses (orders by status, top orders by priority)
+ * as ready-to-send bytes, with a gzip variant compressed once at fill time. Every poller of an
+ * unchanged list gets the same bytes written straight to the servlet output stream, skipping
+ * the DTO mapping, Jackson serialization and per-request compression. Each encoding has its
+ * own strong ETag (a SHA-256 of the JSON; the gzip one with a "-gz" suffix) and responses
+ * carry Vary: Accept-Encoding, so caches and conditional requests never mix the two bodies.
+ * All entries are dropped on any {@link OrderChangedEvent}. AI forecast and motion fields are
+ * TTL-only: a forecast stored by a read or by {@link com.ecostream.order.service.EtaRefresher}
+ * does not invalidate (the refresher alone would clear the cache several times a second), so a
+ * cached list may show an ETA up to the TTL older than the one stored. Fills racing an
+ * invalidation are not kept, so a list read before a change is never served after it.
+ * A miss is loaded by the request that found it, outside the cache's compute (the loader makes
+ * forecast calls); concurrent requests for the same key wait for that fill rather than repeat it.
+ */
+@Component
+@Slf4j
+public class SerializedResponseCache {
+
+    /** Serialized list: identity and gzip bodies, each with its strong ETag. */
+    record CachedResponse(byte[] json, byte[] gzip, String eTag, String gzipETag, long generation) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<String, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${order.response-cache.ttl:5s}") Duration ttl,
+                                   @Value("${order.response-cache.max-bytes:67108864}") long maxBytes,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.json().length + value.gzip().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "order-responses"));
+    }
+
+    /**
+     * Writes the cached response for the key, serializing the loader's result on a miss.
+     * Picks the gzip body when the client accepts it (q-values honoured) and answers a matching
+     * If-None-Match for that representation with 304.
+     *
+     * @param key      identifies the list (e.g. "status:IN_TRANSIT")
+     * @param loader   produces the response object on a miss
+     * @param request  the current request
+     * @param response the response to write to
+     */
+    public void write(String key, Supplier<?> loader, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CachedResponse cached = get(key, loader);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        String eTag = gzip ? cached.gzipETag() : cached.eTag();
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ifNoneMatch(request.getHeaders(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.json();
+        if (gzip) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    CachedResponse get(String key, Supplier<?> loader) {
+        CompletableFuture<CachedResponse> fill = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> future = cache.get(key, (k, executor) -> fill);
+        if (future == fill) {
+            // This request found the miss: load here, so the cache's compute never waits on forecast calls
+            long fillGeneration = generation.get();
+            try {
+                Object value = loader.get();
+                fill.complete(RequestTimings.time(Phase.SERIALIZATION, () -> serialize(value, fillGeneration)));
+            } catch (RuntimeException | Error e) {
+                fill.completeExceptionally(e);
+                throw e;
+            }
+        }
+        CachedResponse cached;
+        try {
+            cached = future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        if (cached.generation() != generation.get()) {
+            // Filled from data read before an invalidation; use it once but do not keep it
+            cache.asMap().remove(key, future);
+        }
+        return cached;
+    }
+
+    /** Runs after the publishing transaction commits, or immediately outside a transaction. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        generation.incrementAndGet();
+        cache.synchronous().invalidateAll();
+        log.debug("Invalidated cached list responses after change to {} orders", event.orderIds().size());
+    }
+
+    /**
+     * Whether If-None-Match names the ETag: "*", or any entity-tag in the (possibly repeated)
+     * comma-separated lists whose opaque part equals it, ignoring a W/ prefix (the weak
+     * comparison RFC 9110 prescribes for If-None-Match).
+     */
+    static boolean ifNoneMatch(Enumeration<String> headers, String eTag) {
+        if (headers == null) {
+            return false;
+        }
+        while (headers.hasMoreElements()) {
+            String header = headers.nextElement();
+            int i = 0;
+            while (i < header.length()) {
+                char c = header.charAt(i);
+                if (c == ',' || c == ' ' || c == '\t') {
+                    i++;
+                } else if (c == '*') {
+                    return true;
+                } else {
+                    int start = header.startsWith("W/", i) ? i + 2 : i;
+                    if (start >= header.length() || header.charAt(start) != '"') {
+                        return false; // malformed list
+                    }
+                    int end = header.indexOf('"', start + 1);
+                    if (end < 0) {
+                        return false;
+                    }
+                    if (header.regionMatches(start, eTag, 0, eTag.length()) && end + 1 - start == eTag.length()) {
+                        return true;
+                    }
+                    i = end + 1;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an Accept-Encoding header admits gzip: listed (or x-gzip) with a q-value above 0,
+     * or not listed while "*" has one.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        double any = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                        && parameter.charAt(1) == '=') {
+                    try {
+                        q = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        return (gzip != null ? gzip : any) > 0;
+    }
+
+    /** Fraction of lookups served from the cache since startup. */
+    public double hitRate() {
+        return cache.synchronous().stats().hitRate();
+    }
+
+    private CachedResponse serialize(Object value, long fillGeneration) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            String digest = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigest.getInstance("SHA-256").digest(json));
+            return new CachedResponse(json, compressed.toByteArray(),
+                    "\"" + digest + "\"", "\"" + digest + "-gz\"", fillGeneration);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cached response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecostream.order.controller;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Binary codec for the compact device telemetry frame accepted by {@link TelemetrySocketListener}.
+ * Layout (34 bytes, big-endian): magic 0xEC, version 1, orderId (16 bytes, msb then lsb),
+ * latitude (double), longitude (double). Roughly a tenth of an HTTP/JSON ingest request on the wire.
+ */
+public final class TelemetryFrameCodec {
+
+    public static final int FRAME_SIZE = 34;
+    public static final byte MAGIC = (byte) 0xEC;
+    public static final byte VERSION = 1;
+
+    private TelemetryFrameCodec() {
+    }
+
+    /** A decoded and validated telemetry point. */
+    public record TelemetryFrame(UUID orderId, double latitude, double longitude) {
+    }
+
+    /**
+     * Raised for frames that fail validation.
+     * Non-recoverable means the header is wrong, i.e. a stream has lost its framing.
+     */
+    public static final class MalformedFrameException extends RuntimeException {
+        private final boolean recoverable;
+
+        MalformedFrameException(String message, boolean recoverable) {
+            super(message, null, false, false);
+            this.recoverable = recoverable;
+        }
+
+        public boolean isRecoverable() {
+            return recoverable;
+        }
+    }
+
+    /**
+     * Encodes a frame at the buffer's position, advancing it by {@link #FRAME_SIZE}.
+     */
+    public static void encode(UUID orderId, double latitude, double longitude, ByteBuffer buffer) {
+        buffer.put(MAGIC)
+                .put(VERSION)
+                .putLong(orderId.getMostSignificantBits())
+                .putLong(orderId.getLeastSignificantBits())
+                .putDouble(latitude)
+                .putDouble(longitude);
+    }
+
+    /**
+     * Decodes and validates one frame at the buffer's position, always advancing it by {@link #FRAME_SIZE}.
+     *
+     * @param buffer buffer with at least FRAME_SIZE remaining bytes
+     * @return the decoded frame
+     * @throws MalformedFrameException if the header is wrong or coordinates are out of range
+     */
+    public static TelemetryFrame decode(ByteBuffer buffer) {
+        byte magic = buffer.get();
+        byte version = buffer.get();
+        long msb = buffer.getLong();
+        long lsb = buffer.getLong();
+        double latitude = buffer.getDouble();
+        double longitude = buffer.getDouble();
+
+        if (magic != MAGIC || version != VERSION) {
+            throw new MalformedFrameException("Bad frame header", false);
+        }
+        // Same ranges as TelemetryRequestDTO; the negated form also rejects NaN
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new MalformedFrameException("Coordinates out of range", true);
+        }
+        return new TelemetryFrame(new UUID(msb, lsb), latitude, longitude);
+    }
+}
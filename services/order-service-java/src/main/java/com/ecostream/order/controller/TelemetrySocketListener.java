@@ -0,0 +1,408 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.controller.TelemetryFrameCodec.MalformedFrameException;
+import com.ecostream.order.controller.TelemetryFrameCodec.TelemetryFrame;
+import com.ecostream.order.dto.TelemetryRequestDTO;
+import com.ecostream.order.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional NIO listener that accepts {@link TelemetryFrameCodec} frames straight from vehicle devices
+ * over TCP (a stream of back-to-back frames) and UDP (one or more frames per datagram).
+ * A single selector thread decodes and validates frames; a bounded worker pool feeds them into
+ * {@link OrderService#ingestTelemetry}, the same path as POST /api/orders/{id}/telemetry.
+ * Backpressure: a TCP connection with too many frames in flight (or a full worker queue) stops
+ * being read, so the kernel window fills and the device slows down; UDP frames are dropped instead.
+ */
+@Component
+@ConditionalOnProperty(name = "order.telemetry.listener.enabled", havingValue = "true")
+@Slf4j
+public class TelemetrySocketListener implements SmartLifecycle {
+
+    /** Selector timeout while connections are paused, bounds how late a paused connection resumes. */
+    private static final long PAUSED_POLL_MILLIS = 10;
+    private static final int CONNECTION_BUFFER_FRAMES = 512;
+    private static final int MAX_DATAGRAMS_PER_WAKEUP = 64;
+
+    private final OrderService orderService;
+    private final int tcpPort;
+    private final int udpPort;
+    private final int maxPendingPerConnection;
+    private final ThreadPoolExecutor workers;
+
+    private final Counter acceptedFrames;
+    private final Counter invalidFrames;
+    private final Counter droppedFrames;
+    private final Counter failedFrames;
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final List<Connection> pausedConnections = new ArrayList<>();
+    private final ByteBuffer datagramBuffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private DatagramChannel datagramChannel;
+    private Thread eventLoop;
+
+    public TelemetrySocketListener(
+            OrderService orderService,
+            @Value("${order.telemetry.listener.tcp-port:9090}") int tcpPort,
+            @Value("${order.telemetry.listener.udp-port:9091}") int udpPort,
+            @Value("${order.telemetry.listener.workers:8}") int workerThreads,
+            @Value("${order.telemetry.listener.queue-capacity:10000}") int queueCapacity,
+            @Value("${order.telemetry.listener.max-pending-per-connection:256}") int maxPendingPerConnection,
+            MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.tcpPort = tcpPort;
+        this.udpPort = udpPort;
+        this.maxPendingPerConnection = maxPendingPerConnection;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "telemetry-ingest-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        this.acceptedFrames = frameCounter(meterRegistry, "accepted");
+        this.invalidFrames = frameCounter(meterRegistry, "invalid");
+        this.droppedFrames = frameCounter(meterRegistry, "dropped");
+        this.failedFrames = frameCounter(meterRegistry, "failed");
+        Gauge.builder("ecostream.telemetry.listener.connections", openConnections, AtomicInteger::get)
+                .description("Open device TCP connections")
+                .register(meterRegistry);
+    }
+
+    private static Counter frameCounter(MeterRegistry registry, String result) {
+        return Counter.builder("ecostream.telemetry.listener.frames")
+                .description("Device telemetry frames by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            selector = Selector.open();
+            if (tcpPort >= 0) {
+                serverChannel = ServerSocketChannel.open();
+                serverChannel.configureBlocking(false);
+                serverChannel.bind(new InetSocketAddress(tcpPort));
+                serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            }
+            if (udpPort >= 0) {
+                datagramChannel = DatagramChannel.open();
+                datagramChannel.configureBlocking(false);
+                datagramChannel.bind(new InetSocketAddress(udpPort));
+                datagramChannel.register(selector, SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException("Failed to open telemetry listener", e);
+        }
+        running = true;
+        eventLoop = new Thread(this::runEventLoop, "telemetry-nio");
+        eventLoop.setDaemon(true);
+        eventLoop.start();
+        log.info("Telemetry listener started (tcp: {}, udp: {})", getTcpPort(), getUdpPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (eventLoop != null) {
+            try {
+                eventLoop.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeQuietly();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Telemetry listener stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Bound TCP port (useful when configured as 0), or -1 when TCP is disabled. */
+    public int getTcpPort() {
+        return serverChannel != null ? serverChannel.socket().getLocalPort() : -1;
+    }
+
+    /** Bound UDP port (useful when configured as 0), or -1 when UDP is disabled. */
+    public int getUdpPort() {
+        return datagramChannel != null ? datagramChannel.socket().getLocalPort() : -1;
+    }
+
+    private void runEventLoop() {
+        while (running) {
+            try {
+                selector.select(pausedConnections.isEmpty() ? 0 : PAUSED_POLL_MILLIS);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key);
+                }
+                resumePausedConnections();
+            } catch (IOException e) {
+                log.warn("Telemetry listener selector error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+        } else if (key.isReadable()) {
+            if (key.channel() == datagramChannel) {
+                readDatagrams();
+            } else {
+                Connection connection = (Connection) key.attachment();
+                try {
+                    readConnection(connection);
+                } catch (IOException e) {
+                    log.debug("Closing device connection: {}", e.getMessage());
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                openConnections.incrementAndGet();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to accept device connection: {}", e.getMessage());
+        }
+    }
+
+    private void readConnection(Connection connection) throws IOException {
+        int read = connection.channel.read(connection.buffer);
+        if (read < 0) {
+            connection.close();
+            return;
+        }
+        drainFrames(connection);
+    }
+
+    /** Decodes buffered frames until the buffer runs dry or the connection has to be paused. */
+    private void drainFrames(Connection connection) {
+        ByteBuffer buffer = connection.buffer;
+        buffer.flip();
+        while (buffer.remaining() >= TelemetryFrameCodec.FRAME_SIZE) {
+            if (connection.pending.get() >= maxPendingPerConnection) {
+                pause(connection);
+                break;
+            }
+            int frameStart = buffer.position();
+            TelemetryFrame frame;
+            try {
+                frame = TelemetryFrameCodec.decode(buffer);
+            } catch (MalformedFrameException e) {
+                invalidFrames.increment();
+                if (!e.isRecoverable()) {
+                    log.debug("Closing device connection after bad frame header");
+                    connection.close();
+                    return;
+                }
+                continue;
+            }
+            if (!submit(frame, connection)) {
+                // Worker queue is full: keep the frame and retry once the connection resumes
+                buffer.position(frameStart);
+                pause(connection);
+                break;
+            }
+        }
+        buffer.compact();
+    }
+
+    private void readDatagrams() {
+        try {
+            for (int i = 0; i < MAX_DATAGRAMS_PER_WAKEUP; i++) {
+                datagramBuffer.clear();
+                if (datagramChannel.receive(datagramBuffer) == null) {
+                    return;
+                }
+                datagramBuffer.flip();
+                if (datagramBuffer.remaining() == 0 || datagramBuffer.remaining() % TelemetryFrameCodec.FRAME_SIZE != 0) {
+                    invalidFrames.increment();
+                    continue;
+                }
+                while (datagramBuffer.hasRemaining()) {
+                    TelemetryFrame frame;
+                    try {
+                        frame = TelemetryFrameCodec.decode(datagramBuffer);
+                    } catch (MalformedFrameException e) {
+                        invalidFrames.increment();
+                        if (!e.isRecoverable()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (!submit(frame, null)) {
+                        droppedFrames.increment();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to receive telemetry datagram: {}", e.getMessage());
+        }
+    }
+
+    private boolean submit(TelemetryFrame frame, Connection connection) {
+        if (connection != null) {
+            connection.pending.incrementAndGet();
+        }
+        try {
+            workers.execute(() -> ingest(frame, connection));
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (connection != null) {
+                connection.pending.decrementAndGet();
+            }
+            return false;
+        }
+    }
+
+    private void ingest(TelemetryFrame frame, Connection connection) {
+        try {
+            orderService.ingestTelemetry(frame.orderId(), TelemetryRequestDTO.builder()
+                    .currentLatitude(frame.latitude())
+                    .currentLongitude(frame.longitude())
+                    .build());
+            acceptedFrames.increment();
+        } catch (Exception e) {
+            failedFrames.increment();
+            log.warn("Device telemetry ingestion failed for order {}: {}", frame.orderId(), e.getMessage());
+        } finally {
+            if (connection != null) {
+                connection.pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void pause(Connection connection) {
+        if (!connection.paused && connection.key.isValid()) {
+            connection.paused = true;
+            connection.key.interestOps(0);
+            pausedConnections.add(connection);
+        }
+    }
+
+    /** Re-enables reads on paused connections once half of their in-flight frames have completed. */
+    private void resumePausedConnections() {
+        if (pausedConnections.isEmpty()) {
+            return;
+        }
+        List<Connection> ready = new ArrayList<>();
+        pausedConnections.removeIf(connection -> {
+            if (!connection.key.isValid()) {
+                return true;
+            }
+            if (connection.pending.get() <= maxPendingPerConnection / 2) {
+                ready.add(connection);
+                return true;
+            }
+            return false;
+        });
+        for (Connection connection : ready) {
+            connection.paused = false;
+            connection.key.interestOps(SelectionKey.OP_READ);
+            drainFrames(connection);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (selector != null) {
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+                selector.close();
+            }
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (datagramChannel != null) {
+                datagramChannel.close();
+            }
+        } catch (IOException e) {
+            log.debug("Error closing telemetry listener: {}", e.getMessage());
+        }
+    }
+
+    /** Per-connection read state; owned by the selector thread except for the pending counter. */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE * CONNECTION_BUFFER_FRAMES);
+        private final AtomicInteger pending = new AtomicInteger();
+        private SelectionKey key;
+        private boolean paused;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void close() {
+            if (!channel.isOpen()) {
+                return;
+            }
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error closing device connection: {}", e.getMessage());
+            }
+            openConnections.decrementAndGet();
+        }
+    }
+}
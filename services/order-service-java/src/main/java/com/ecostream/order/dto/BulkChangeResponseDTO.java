@@ -0,0 +1,40 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for set-based bulk status transitions and deletes.
+ * Affected IDs come straight from the statement's RETURNING clause.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkChangeResponseDTO {
+
+    /**
+     * Number of distinct order IDs in the request.
+     */
+    private int requested;
+
+    /**
+     * Number of orders changed.
+     */
+    private int affected;
+
+    /**
+     * IDs of the orders changed.
+     */
+    private List<UUID> affectedIds;
+
+    /**
+     * IDs that were not changed (not found, or not in a status allowed to transition).
+     */
+    private List<UUID> skippedIds;
+}
@@ -0,0 +1,27 @@
+package com.ecostream.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for deleting a set of orders in one statement.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequestDTO {
+
+    /**
+     * IDs of the orders to delete.
+     */
+    @NotEmpty(message = "At least one order ID is required")
+    private List<@NotNull UUID> ids;
+}
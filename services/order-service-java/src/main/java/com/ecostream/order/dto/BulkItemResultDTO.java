@@ -0,0 +1,39 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for the result of one item in a bulk order operation.
+ * Results are returned in request order; index refers to the position in the request list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResultDTO {
+
+    /**
+     * Zero-based position of the item in the request list.
+     */
+    private int index;
+
+    /**
+     * Order ID (generated for created orders, echoed for updates; null if the item was rejected before persisting).
+     */
+    private UUID id;
+
+    /**
+     * Outcome of the item.
+     */
+    private BulkItemStatus status;
+
+    /**
+     * Validation or persistence error message (null on success).
+     */
+    private String error;
+}
@@ -0,0 +1,12 @@
+package com.ecostream.order.dto;
+
+/**
+ * Outcome of a single item in a bulk order operation.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    NOT_FOUND,
+    INVALID,
+    FAILED
+}
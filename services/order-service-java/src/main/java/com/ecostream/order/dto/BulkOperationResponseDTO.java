@@ -0,0 +1,39 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk order create/update responses.
+ * Carries aggregate counts plus one result per request item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOperationResponseDTO {
+
+    /**
+     * Number of items in the request.
+     */
+    private int requested;
+
+    /**
+     * Number of items created or updated.
+     */
+    private int succeeded;
+
+    /**
+     * Number of items that were invalid, not found or failed to persist.
+     */
+    private int failed;
+
+    /**
+     * Per-item results in request order.
+     */
+    private List<BulkItemResultDTO> results;
+}
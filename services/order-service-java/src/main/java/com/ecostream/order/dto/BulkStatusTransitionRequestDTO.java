@@ -0,0 +1,34 @@
+package com.ecostream.order.dto;
+
+import com.ecostream.order.entity.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for moving a set of orders to a new status in one statement.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusTransitionRequestDTO {
+
+    /**
+     * IDs of the orders to transition.
+     */
+    @NotEmpty(message = "At least one order ID is required")
+    private List<@NotNull UUID> ids;
+
+    /**
+     * Status to move the orders to; only orders in an allowed predecessor status are changed.
+     */
+    @NotNull(message = "Target status is required")
+    private OrderStatus targetStatus;
+}
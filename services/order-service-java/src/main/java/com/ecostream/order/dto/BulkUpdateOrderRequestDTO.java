@@ -0,0 +1,57 @@
+package com.ecostream.order.dto;
+
+import com.ecostream.order.entity.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one item of a bulk order update.
+ * Same optional fields as UpdateOrderRequestDTO plus the ID of the order to update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateOrderRequestDTO {
+
+    /**
+     * ID of the order to update.
+     */
+    @NotNull(message = "Order ID is required")
+    private UUID id;
+
+    /**
+     * New status for the order (optional).
+     */
+    private OrderStatus status;
+
+    /**
+     * New destination location coordinates (optional).
+     */
+    @Valid
+    private LocationDTO destination;
+
+    /**
+     * New priority level for the order (optional).
+     */
+    private Integer priority;
+
+    /**
+     * Converts this item into the single-order update request.
+     *
+     * @return an UpdateOrderRequestDTO with the same field values
+     */
+    public UpdateOrderRequestDTO toUpdateRequest() {
+        return UpdateOrderRequestDTO.builder()
+                .status(status)
+                .destination(destination)
+                .priority(priority)
+                .build();
+    }
+}
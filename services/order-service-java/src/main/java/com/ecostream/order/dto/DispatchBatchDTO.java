@@ -0,0 +1,45 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for one delivery batch of a dispatch plan.
+ * All orders share a priority class (Express or Standard) and lie close together.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchBatchDTO {
+
+    /**
+     * Whether the batch holds Express orders (priority 5 and above).
+     */
+    private boolean express;
+
+    /**
+     * Highest order priority in the batch.
+     */
+    private int maxPriority;
+
+    /**
+     * Mean of the batch's destinations.
+     */
+    private LocationDTO centroid;
+
+    /**
+     * Distance in kilometres from the centroid to the farthest destination.
+     */
+    private double radiusKm;
+
+    /**
+     * Order IDs, highest priority first.
+     */
+    private List<UUID> orderIds;
+}
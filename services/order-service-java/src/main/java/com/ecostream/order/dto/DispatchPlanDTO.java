@@ -0,0 +1,44 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a dispatch plan: PENDING and CONFIRMED orders grouped into
+ * delivery batches, most urgent batches first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchPlanDTO {
+
+    /**
+     * Number of orders clustered.
+     */
+    private int orders;
+
+    /**
+     * Whether more orders were waiting than the planner loads; the newest were left out.
+     */
+    private boolean truncated;
+
+    /**
+     * Number of batches the orders were grouped into.
+     */
+    private int totalBatches;
+
+    /**
+     * Time spent clustering, excluding loading the orders.
+     */
+    private long clusteringMillis;
+
+    /**
+     * The most urgent batches, up to the requested limit.
+     */
+    private List<DispatchBatchDTO> batches;
+}
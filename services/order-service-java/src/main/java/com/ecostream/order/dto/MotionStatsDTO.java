@@ -0,0 +1,52 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for running motion statistics of an order.
+ * Computed incrementally as telemetry points are ingested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MotionStatsDTO {
+
+    /**
+     * Smoothed current speed in km/h.
+     */
+    private Double speedKmh;
+
+    /**
+     * Average speed in km/h over the whole tracked period.
+     */
+    private Double averageSpeedKmh;
+
+    /**
+     * Heading in degrees clockwise from north (0-360), null until the vehicle has moved.
+     */
+    private Double headingDegrees;
+
+    /**
+     * Total distance travelled in km since the first telemetry point.
+     */
+    private Double distanceTravelledKm;
+
+    /**
+     * Total time in seconds spent below the idle speed threshold.
+     */
+    private Long idleSeconds;
+
+    /**
+     * Number of telemetry points folded into these statistics.
+     */
+    private Integer telemetryPoints;
+
+    /**
+     * Epoch milliseconds of the most recent telemetry point.
+     */
+    private Long lastUpdatedEpochMillis;
+}
@@ -0,0 +1,39 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of the order change feed.
+ * Consumers apply upserts and deletes in changeVersion order, then poll again with since=nextSince.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderChangesResponseDTO {
+
+    /**
+     * Orders created or updated since the requested version (without AI forecast fields).
+     */
+    private List<OrderResponseDTO> upserts;
+
+    /**
+     * Orders deleted since the requested version.
+     */
+    private List<OrderTombstoneDTO> deleted;
+
+    /**
+     * Version to pass as since on the next poll.
+     */
+    private long nextSince;
+
+    /**
+     * True if more changes are available beyond this page.
+     */
+    private boolean hasMore;
+}
@@ -48,4 +48,14 @@ public class OrderResponseDTO {
      * Estimated arrival time in minutes from AI forecasting service (null if unavailable).
      */
     private Double estimatedArrivalMinutes;
+
+    /**
+     * Running motion statistics from ingested telemetry (null until the first telemetry point).
+     */
+    private MotionStatsDTO motion;
+
+    /**
+     * Change version of the order's latest write (see GET /api/orders/changes).
+     */
+    private Long changeVersion;
 }
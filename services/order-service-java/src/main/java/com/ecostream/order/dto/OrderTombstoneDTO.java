@@ -0,0 +1,28 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for a deleted order in the change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderTombstoneDTO {
+
+    /**
+     * ID of the deleted order.
+     */
+    private UUID id;
+
+    /**
+     * Change version of the delete.
+     */
+    private long changeVersion;
+}
@@ -0,0 +1,34 @@
+package com.ecostream.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for an IN_TRANSIT order whose vehicle has stopped sending telemetry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaleTelemetryDTO {
+
+    /**
+     * The order UUID.
+     */
+    private UUID orderId;
+
+    /**
+     * Time of the last telemetry point (epoch millis), or of the status change or service start
+     * from which the order was watched if no point arrived since.
+     */
+    private long silentSinceEpochMillis;
+
+    /**
+     * Seconds since then.
+     */
+    private long silentSeconds;
+}
@@ -2,6 +2,9 @@ package com.ecostream.order.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
+
 import java.util.UUID;
 
 /**
@@ -9,7 +12,12 @@ import java.util.UUID;
  * Stores order details including destination coordinates and priority level.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_change_version", columnList = "change_version"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_status_destination_cell",
+                columnList = "status, destination_cell, destination_latitude, destination_longitude, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,10 +27,10 @@ public class Order {
 
     /**
      * Unique identifier for the order.
-     * Generated automatically if not provided.
+     * Generated automatically if not provided, as a time-ordered UUIDv7 ({@link UuidV7Generator}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -45,9 +53,41 @@ public class Order {
     @Column(name = "destination_longitude", nullable = false)
     private Double destinationLongitude;
 
+    /**
+     * Z-order cell of the destination ({@link ZOrder}), for index-backed spatial queries.
+     * Derived from the coordinates whenever the order is inserted or updated.
+     */
+    @Column(name = "destination_cell")
+    private Long destinationCell;
+
     /**
      * Priority level of the order (higher number = higher priority).
      */
     @Column(name = "priority", nullable = false)
     private Integer priority;
+
+    /**
+     * Position of the order's latest create/update in the change feed (GET /api/orders/changes).
+     * Drawn from the order_change_seq sequence on every write.
+     */
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    /**
+     * Optimistic-lock version, incremented on every update (including set-based status transitions).
+     * Also the basis of the order's ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /** Keeps {@link #destinationCell} in sync with the destination on every insert and update. */
+    @PrePersist
+    @PreUpdate
+    void updateDestinationCell() {
+        if (destinationLatitude != null && destinationLongitude != null) {
+            destinationCell = ZOrder.encode(destinationLatitude, destinationLongitude);
+        }
+    }
 }
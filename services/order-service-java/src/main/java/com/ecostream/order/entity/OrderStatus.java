@@ -1,5 +1,8 @@
 package com.ecostream.order.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Order status enumeration.
  * Represents the current state of an order in the delivery lifecycle.
@@ -9,5 +12,21 @@ public enum OrderStatus {
     CONFIRMED,
     IN_TRANSIT,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Statuses an order may move from into this status in a bulk transition
+     * (PENDING -> CONFIRMED -> IN_TRANSIT -> DELIVERED, and cancellation before delivery).
+     *
+     * @return the allowed source statuses; empty if nothing may transition into this status
+     */
+    public Set<OrderStatus> allowedPredecessors() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(OrderStatus.class);
+            case CONFIRMED -> EnumSet.of(PENDING);
+            case IN_TRANSIT -> EnumSet.of(CONFIRMED);
+            case DELIVERED -> EnumSet.of(IN_TRANSIT);
+            case CANCELLED -> EnumSet.of(PENDING, CONFIRMED, IN_TRANSIT);
+        };
+    }
 }
@@ -0,0 +1,40 @@
+package com.ecostream.order.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tombstone left behind when an order is deleted, so change feed consumers learn about deletes.
+ * Shares the order_change_seq version space with {@link Order#getChangeVersion()}.
+ */
+@Entity
+@Table(name = "order_tombstones", indexes = @Index(name = "idx_order_tombstones_change_version", columnList = "change_version"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderTombstone {
+
+    /**
+     * ID of the deleted order.
+     */
+    @Id
+    @Column(name = "order_id", updatable = false, nullable = false)
+    private UUID orderId;
+
+    /**
+     * Change version assigned when the order was deleted.
+     */
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    /**
+     * When the order was deleted.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,64 @@
+package com.ecostream.order.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) generator used for new order IDs.
+ * Layout: 48-bit Unix epoch millis, version 7, a 12-bit counter (rand_a, reseeded every
+ * millisecond and carried into the timestamp on overflow, so IDs from this JVM are strictly
+ * increasing), variant 2 and 62 random bits. PostgreSQL compares uuid values byte-wise, so
+ * new rows land at the right edge of the primary-key B-tree instead of on random pages.
+ * Existing random v4 IDs stay valid; they simply sort by their random bits.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    /** Last issued (millis << 12 | counter). */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    /**
+     * @return a new UUIDv7, greater than every UUIDv7 previously returned by this JVM
+     */
+    public static UUID next() {
+        long state;
+        while (true) {
+            long last = LAST.get();
+            long now = System.currentTimeMillis();
+            // Seed the counter in the lower half of its range so a burst has room to increment
+            state = now > (last >>> 12)
+                    ? (now << 12) | (RANDOM.get().nextInt() & 0x7FF)
+                    : last + 1;
+            if (LAST.compareAndSet(last, state)) {
+                break;
+            }
+        }
+        long msb = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        long lsb = RANDOM.get().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Extracts the creation time of a UUIDv7.
+     *
+     * @param uuid a version 7 UUID
+     * @return Unix epoch millis encoded in the UUID
+     * @throws IllegalArgumentException if the UUID is not version 7
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a UUIDv7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecostream.order.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Z-order (Morton) cell of a latitude/longitude: each coordinate is quantized to 31 bits and the
+ * bits are interleaved into one non-negative long, latitude on the odd bits. Nearby points share
+ * long cell prefixes, so a B-tree on the cell turns a bounding box into a few index range scans.
+ * At full precision a cell is under 1 cm; {@link #ranges} covers a box with whole cells at a
+ * coarser level, so range scans return a superset that the query still filters by coordinates.
+ */
+public final class ZOrder {
+
+    /** Bits per coordinate. */
+    static final int BITS = 31;
+    private static final long MAX_QUANTIZED = (1L << BITS) - 1;
+
+    /** Finest level {@link #ranges} descends to relative to the box: cells about 1/8 of its size. */
+    private static final int REFINEMENT = 3;
+
+    /**
+     * An inclusive range of cells.
+     *
+     * @param low  first cell
+     * @param high last cell
+     */
+    public record Range(long low, long high) {
+    }
+
+    private ZOrder() {
+    }
+
+    /**
+     * Cell of a point; coordinates outside [-90, 90] / [-180, 180] are clamped.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the Z-order cell
+     */
+    public static long encode(double latitude, double longitude) {
+        return interleave(quantize(longitude, 180), quantize(latitude, 90));
+    }
+
+    /**
+     * Cell ranges, in ascending order, that together cover the box; at most maxRanges of them
+     * (neighbouring ranges are merged across the smallest gaps first).
+     *
+     * @param minLatitude  southern edge in degrees
+     * @param minLongitude western edge in degrees (not crossing the antimeridian)
+     * @param maxLatitude  northern edge in degrees
+     * @param maxLongitude eastern edge in degrees
+     * @param maxRanges    upper bound on the number of ranges, at least 1
+     * @return covering ranges
+     */
+    public static List<Range> ranges(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                     int maxRanges) {
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude || maxRanges < 1) {
+            throw new IllegalArgumentException("Invalid box or range count");
+        }
+        long x0 = quantize(minLongitude, 180);
+        long x1 = quantize(maxLongitude, 180);
+        long y0 = quantize(minLatitude, 90);
+        long y1 = quantize(maxLatitude, 90);
+        long extent = Math.max(x1 - x0, y1 - y0) + 1;
+        int maxLevel = Math.min(BITS, BITS - (63 - Long.numberOfLeadingZeros(extent)) + REFINEMENT);
+
+        List<Range> ranges = new ArrayList<>();
+        cover(0, 0, 0, x0, x1, y0, y1, maxLevel, ranges);
+        return mergeTo(ranges, maxRanges);
+    }
+
+    /** Visits quadtree cells in Z order, emitting those inside the box or at the finest level. */
+    private static void cover(int level, long xPrefix, long yPrefix, long x0, long x1, long y0, long y1,
+                              int maxLevel, List<Range> out) {
+        int shift = BITS - level;
+        long cellX0 = xPrefix << shift;
+        long cellX1 = cellX0 + (1L << shift) - 1;
+        long cellY0 = yPrefix << shift;
+        long cellY1 = cellY0 + (1L << shift) - 1;
+        if (cellX0 > x1 || cellX1 < x0 || cellY0 > y1 || cellY1 < y0) {
+            return;
+        }
+        boolean inside = cellX0 >= x0 && cellX1 <= x1 && cellY0 >= y0 && cellY1 <= y1;
+        if (inside || level == maxLevel) {
+            long low = interleave(cellX0, cellY0);
+            long high = low | ((1L << (2 * shift)) - 1);
+            if (!out.isEmpty() && out.get(out.size() - 1).high() + 1 == low) {
+                out.set(out.size() - 1, new Range(out.get(out.size() - 1).low(), high));
+            } else {
+                out.add(new Range(low, high));
+            }
+            return;
+        }
+        for (int child = 0; child < 4; child++) {
+            cover(level + 1, (xPrefix << 1) | (child & 1), (yPrefix << 1) | (child >> 1),
+                    x0, x1, y0, y1, maxLevel, out);
+        }
+    }
+
+    /** Merges neighbouring ranges across the smallest gaps until at most maxRanges remain. */
+    private static List<Range> mergeTo(List<Range> ranges, int maxRanges) {
+        List<Range> merged = new ArrayList<>(ranges);
+        while (merged.size() > maxRanges) {
+            int smallest = 0;
+            for (int i = 1; i < merged.size() - 1; i++) {
+                if (merged.get(i + 1).low() - merged.get(i).high() < merged.get(smallest + 1).low() - merged.get(smallest).high()) {
+                    smallest = i;
+                }
+            }
+            merged.set(smallest, new Range(merged.get(smallest).low(), merged.get(smallest + 1).high()));
+            merged.remove(smallest + 1);
+        }
+        return merged;
+    }
+
+    private static long quantize(double degrees, double bound) {
+        double clamped = Math.max(-bound, Math.min(bound, degrees));
+        return Math.min(MAX_QUANTIZED, (long) ((clamped + bound) / (2 * bound) * (1L << BITS)));
+    }
+
+    private static long interleave(long x, long y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    /** Spreads the low 32 bits of v to the even bit positions. */
+    private static long spread(long v) {
+        v &= 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+}
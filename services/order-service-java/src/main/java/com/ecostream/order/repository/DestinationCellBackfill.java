@@ -0,0 +1,54 @@
+package com.ecostream.order.repository;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.ZOrder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Gives orders written before destination_cell existed their Z-order cell, so spatial queries
+ * see every order. The cell is computed in Java (see {@link ZOrder}) and written in batches of
+ * one statement each, walking the orders by ID, without bumping the orders' versions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DestinationCellBackfill {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingCells() {
+        long updated = 0;
+        UUID cursor = null;
+        while (true) {
+            List<Order> batch = cursor == null
+                    ? orderRepository.findByDestinationCellIsNullOrderByIdAsc(Limit.of(BATCH_SIZE))
+                    : orderRepository.findByDestinationCellIsNullAndIdGreaterThanOrderByIdAsc(cursor, Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            UUID[] ids = new UUID[batch.size()];
+            long[] cells = new long[batch.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Order order = batch.get(i);
+                ids[i] = order.getId();
+                cells[i] = ZOrder.encode(order.getDestinationLatitude(), order.getDestinationLongitude());
+            }
+            updated += orderRepository.updateDestinationCells(ids, cells);
+            cursor = ids[ids.length - 1];
+        }
+        if (updated > 0) {
+            log.info("Assigned destination cells to {} existing orders", updated);
+        }
+    }
+}
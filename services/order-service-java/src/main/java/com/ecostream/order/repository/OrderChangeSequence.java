@@ -0,0 +1,125 @@
+package com.ecostream.order.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Allocates change versions from the order_change_seq PostgreSQL sequence (created by schema.sql).
+ * Set-based statements in {@link OrderRepository} call next_order_change_version() directly;
+ * entity writes take their versions from here, inside the transaction that writes the row.
+ * <p>
+ * Versions are drawn before commit, so a version can become visible after a higher one has:
+ * {@link #settledVersion()} tells the change feed how far it can safely advance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderChangeSequence {
+
+    /** Samples kept while waiting to settle; older ones only ever give a lower horizon. */
+    private static final int MAX_PENDING_SAMPLES = 1024;
+
+    private final EntityManager entityManager;
+
+    /** (sequence value, snapshot xmax) samples not yet settled; guarded by itself. */
+    private final Deque<long[]> pendingSamples = new ArrayDeque<>();
+    /** Guarded by pendingSamples. */
+    private long settled;
+
+    /**
+     * Must run in the transaction that writes the version, which is what makes it visible
+     * as in flight to {@link #settledVersion()}.
+     *
+     * @return the next change version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return ((Number) entityManager.createNativeQuery("SELECT next_order_change_version()")
+                .getSingleResult()).longValue();
+    }
+
+    /**
+     * Allocates several change versions in one round trip.
+     *
+     * @param count number of versions to allocate
+     * @return the versions in ascending order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long[] next(int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        List<?> values = entityManager.createNativeQuery("SELECT next_order_change_version() FROM generate_series(1, :count)")
+                .setParameter("count", count)
+                .getResultList();
+        long[] versions = values.stream().mapToLong(v -> ((Number) v).longValue()).toArray();
+        Arrays.sort(versions);
+        return versions;
+    }
+
+    /**
+     * Gives orders written before change versions existed a version, so a consumer starting
+     * from since=0 sees every order. Runs before other startup listeners (e.g. cache warm-up).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillMissingVersions() {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE orders SET change_version = next_order_change_version() WHERE change_version IS NULL")
+                .executeUpdate();
+        if (updated > 0) {
+            log.info("Assigned change versions to {} existing orders", updated);
+        }
+    }
+
+    /**
+     * Highest change version at or below which no change can still appear: every transaction
+     * that drew such a version has committed or rolled back. Every version is drawn after its
+     * transaction got an ID, so reading the sequence and then the snapshot's xmax gives a pair
+     * (v, x) where all holders of versions up to v have IDs below x; once a later snapshot's
+     * xmin reaches x they have all finished. Pairs are sampled on each call and kept until
+     * they settle, so the horizon trails the sequence by about the longest write transaction.
+     * Must run on the primary, in a READ COMMITTED transaction (each statement a new snapshot).
+     *
+     * @return the settled change version
+     */
+    public long settledVersion() {
+        long drawn = ((Number) entityManager.createNativeQuery(
+                        "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM order_change_seq")
+                .getSingleResult()).longValue();
+        Object[] snapshot = (Object[]) entityManager.createNativeQuery(
+                        "SELECT CAST(CAST(pg_snapshot_xmin(s) AS text) AS bigint), "
+                                + "CAST(CAST(pg_snapshot_xmax(s) AS text) AS bigint) FROM pg_current_snapshot() s")
+                .getSingleResult();
+        long xmin = ((Number) snapshot[0]).longValue();
+        long xmax = ((Number) snapshot[1]).longValue();
+        synchronized (pendingSamples) {
+            if (pendingSamples.size() == MAX_PENDING_SAMPLES) {
+                pendingSamples.pollFirst();
+            }
+            pendingSamples.addLast(new long[] {drawn, xmax});
+            pendingSamples.removeIf(sample -> {
+                if (sample[1] > xmin) {
+                    return false;
+                }
+                settled = Math.max(settled, sample[0]);
+                return true;
+            });
+            return settled;
+        }
+    }
+}
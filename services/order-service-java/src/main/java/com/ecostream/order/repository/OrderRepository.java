@@ -2,9 +2,15 @@ package com.ecostream.order.repository;
 
 import com.ecostream.order.entity.Order;
 import com.ecostream.order.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,7 +19,7 @@ import java.util.UUID;
  * Provides CRUD operations and custom query methods for order management.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderSpatialQueries {
 
     /**
      * Find all orders with a specific status.
@@ -22,9 +28,162 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     List<Order> findByStatus(OrderStatus status);
 
+    /**
+     * Find orders whose status is not one of the given statuses.
+     * @param statuses statuses to exclude
+     * @param limit maximum number of orders to return
+     * @return matching orders
+     */
+    List<Order> findByStatusNotIn(Collection<OrderStatus> statuses, Limit limit);
+
+    /**
+     * First page of a keyset walk over the orders in a status, by ID.
+     * @param status the order status to filter by
+     * @param limit maximum number of orders to return
+     * @return orders sorted by ID
+     */
+    List<Order> findByStatusOrderByIdAsc(OrderStatus status, Limit limit);
+
+    /**
+     * Next page of a keyset walk over the orders in a status: served from idx_orders_status_id
+     * without an offset, so every page costs the same however far the walk has got.
+     * @param status the order status to filter by
+     * @param afterId exclusive lower bound, the last ID of the previous page
+     * @param limit maximum number of orders to return
+     * @return orders sorted by ID
+     */
+    List<Order> findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus status, UUID afterId, Limit limit);
+
+    /**
+     * Which of the given orders are in a status, without loading them.
+     * @param status the order status to filter by
+     * @param ids the order IDs to check
+     * @return the IDs of the orders found in the status
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.id IN :ids")
+    List<UUID> findIdsByStatusAndIdIn(@Param("status") OrderStatus status, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * First page of orders written before destination_cell existed, for the backfill.
+     * @param limit maximum number of orders to return
+     * @return orders without a destination cell, ordered by ID
+     */
+    List<Order> findByDestinationCellIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Next page of orders without a destination cell after the given ID (keyset pagination).
+     * @param afterId ID of the last order of the previous page
+     * @param limit maximum number of orders to return
+     * @return orders without a destination cell, ordered by ID
+     */
+    List<Order> findByDestinationCellIsNullAndIdGreaterThanOrderByIdAsc(UUID afterId, Limit limit);
+
+    /**
+     * Sets the destination cell of existing orders without touching their versions.
+     * @param ids order IDs
+     * @param cells cell of each order, in the same order
+     * @return number of orders updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE orders o SET destination_cell = c.cell "
+            + "FROM unnest(CAST(:ids AS uuid[]), CAST(:cells AS bigint[])) AS c(id, cell) WHERE o.id = c.id",
+            nativeQuery = true)
+    int updateDestinationCells(@Param("ids") UUID[] ids, @Param("cells") long[] cells);
+
     /**
      * Find all orders ordered by priority (descending).
      * @return List of orders sorted by priority
      */
     List<Order> findAllByOrderByPriorityDesc();
+
+    /**
+     * Find the highest-priority orders.
+     * @param limit maximum number of orders to return
+     * @return orders sorted by priority (descending)
+     */
+    List<Order> findAllByOrderByPriorityDesc(Limit limit);
+
+    /**
+     * Aggregate watermark of the orders table. The highest change version alone misses a write
+     * that commits after a higher version (versions are drawn before commit), so the watermark
+     * also sums a 32-bit hash of every (id, change version) pair: any create, update or delete
+     * changes the digest, whatever the commit order. Same digest as {@code OrderServiceImpl.rowDigest}.
+     * @return row count, highest change version and digest (0 when empty)
+     */
+    @Query(value = "SELECT COUNT(*) AS count, COALESCE(MAX(change_version), 0) AS maxChangeVersion, "
+            + "COALESCE(SUM(CAST(CAST('x' || SUBSTRING(md5(CAST(id AS text) || '/' || CAST(COALESCE(change_version, 0) AS text)), 1, 8) "
+            + "AS bit(32)) AS integer)), 0) AS digest FROM orders", nativeQuery = true)
+    Watermark findWatermark();
+
+    /**
+     * Find orders created or updated within a range of change versions, oldest change first.
+     * @param after exclusive lower bound
+     * @param upTo inclusive upper bound (the settled version, see OrderChangeSequence)
+     * @param limit maximum number of orders to return
+     * @return orders ordered by change version
+     */
+    List<Order> findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+            long after, long upTo, Limit limit);
+
+    /**
+     * Moves the given orders to a new status in one statement.
+     * The transition is validated in SQL: only rows currently in one of the allowed
+     * predecessor statuses are changed, everything else is left untouched.
+     * Changed rows get a new change version and optimistic-lock version.
+     * Not @Modifying because RETURNING makes it a result-producing statement.
+     *
+     * @param ids            IDs of the orders to transition
+     * @param targetStatus   name of the status to move to
+     * @param fromStatuses   names of the statuses allowed to move to targetStatus (must not be empty)
+     * @return IDs of the orders actually changed
+     */
+    @Transactional
+    @Query(value = "UPDATE orders SET status = :targetStatus, change_version = next_order_change_version(), "
+            + "version = version + 1 "
+            + "WHERE id IN (:ids) AND status IN (:fromStatuses) RETURNING id", nativeQuery = true)
+    List<UUID> transitionStatus(@Param("ids") Collection<UUID> ids,
+                                @Param("targetStatus") String targetStatus,
+                                @Param("fromStatuses") Collection<String> fromStatuses);
+
+    /**
+     * Same as {@link #transitionStatus}, but returns each changed order's destination as well,
+     * so the caller can track it without a second read (which may go to a lagging replica).
+     *
+     * @return one [id (UUID), destination latitude (Double), destination longitude (Double)] row per changed order
+     */
+    @Transactional
+    @Query(value = "UPDATE orders SET status = :targetStatus, change_version = next_order_change_version(), "
+            + "version = version + 1 "
+            + "WHERE id IN (:ids) AND status IN (:fromStatuses) "
+            + "RETURNING id, destination_latitude, destination_longitude", nativeQuery = true)
+    List<Object[]> transitionStatusReturningDestinations(@Param("ids") Collection<UUID> ids,
+                                                         @Param("targetStatus") String targetStatus,
+                                                         @Param("fromStatuses") Collection<String> fromStatuses);
+
+    /**
+     * Deletes the given orders in one statement, writing a tombstone with a new change
+     * version for each deleted order so change feed consumers see the delete.
+     *
+     * @param ids IDs of the orders to delete
+     * @return IDs of the orders actually deleted
+     */
+    @Transactional
+    @Query(value = "WITH deleted AS (DELETE FROM orders WHERE id IN (:ids) RETURNING id) "
+            + "INSERT INTO order_tombstones (order_id, change_version, deleted_at) "
+            + "SELECT id, next_order_change_version(), now() FROM deleted "
+            + "ON CONFLICT (order_id) DO UPDATE SET change_version = EXCLUDED.change_version, deleted_at = EXCLUDED.deleted_at "
+            + "RETURNING order_id", nativeQuery = true)
+    List<UUID> deleteAllByIdReturning(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Projection for {@link #findWatermark()}.
+     */
+    interface Watermark {
+        long getCount();
+
+        long getMaxChangeVersion();
+
+        long getDigest();
+    }
 }
@@ -0,0 +1,73 @@
+package com.ecostream.order.repository;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.ZOrder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Box and radius queries over the destination cell (see {@link ZOrder}), backed by the
+ * idx_orders_status_destination_cell index, and a bulk load of destinations for dispatch
+ * planning; implemented by {@link OrderSpatialQueriesImpl} and exposed through {@link OrderRepository}.
+ */
+public interface OrderSpatialQueries {
+
+    /**
+     * Destinations as parallel primitive arrays: entry i is order ids[i].
+     *
+     * @param ids        order IDs, oldest first
+     * @param latitudes  destination latitudes
+     * @param longitudes destination longitudes
+     * @param priorities order priorities
+     */
+    record Destinations(UUID[] ids, double[] latitudes, double[] longitudes, int[] priorities) {
+
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    /**
+     * Orders in the given statuses whose destination lies in a box, newest first.
+     *
+     * @param statuses statuses to include (must not be empty)
+     * @param ranges cell ranges covering the box, from {@link ZOrder#ranges}
+     * @param minLatitude southern edge
+     * @param minLongitude western edge
+     * @param maxLatitude northern edge
+     * @param maxLongitude eastern edge
+     * @param limit maximum number of orders to return
+     * @return matching orders
+     */
+    List<Order> findInCellRanges(Collection<OrderStatus> statuses, List<ZOrder.Range> ranges,
+                                 double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                 int limit);
+
+    /**
+     * Orders in the given statuses whose destination lies within a great-circle radius of a
+     * point, nearest first.
+     *
+     * @param statuses statuses to include (must not be empty)
+     * @param ranges cell ranges covering the circle's bounding box, from {@link ZOrder#ranges}
+     * @param latitude centre latitude
+     * @param longitude centre longitude
+     * @param radiusKm radius in kilometres
+     * @param limit maximum number of orders to return
+     * @return matching orders
+     */
+    List<Order> findWithinRadius(Collection<OrderStatus> statuses, List<ZOrder.Range> ranges,
+                                 double latitude, double longitude, double radiusKm, int limit);
+
+    /**
+     * Destinations of the orders in the given statuses, read as a stream of scalar rows
+     * straight into arrays (no entities).
+     *
+     * @param statuses statuses to include (must not be empty)
+     * @param limit maximum number of orders to load, oldest (lowest ID) first
+     * @return the destinations
+     */
+    Destinations findDestinations(Collection<OrderStatus> statuses, int limit);
+}
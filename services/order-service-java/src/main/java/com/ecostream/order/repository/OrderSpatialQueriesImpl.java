@@ -0,0 +1,138 @@
+package com.ecostream.order.repository;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.ZOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Native SQL for {@link OrderSpatialQueries}. Every cell range is its own UNION ALL branch
+ * reading only idx_orders_status_destination_cell, which carries the coordinates and the ID:
+ * an index-only range scan per range, with a row estimate from the column statistics for the
+ * bound values. Only the orders that make the limit are then read from the table.
+ * The alternatives measured on 10M orders read far more: ranges bound as arrays and joined with
+ * unnest hide the values from the planner, which then scans the whole table (1.4 s for a 2 km
+ * box); ranges OR-ed in one WHERE clause become a bitmap scan that visits a table page for
+ * every candidate row, i.e. every order in the box (7 s for a 20 km box in a dense city,
+ * 0.1 s here). Index-only scans skip the table for pages autovacuum has marked all-visible.
+ * There is one statement shape per range count, at most maxRanges.
+ * Destinations are streamed in fetch-size chunks (inside a read-only transaction, which the
+ * PostgreSQL driver needs for a cursor) into growing primitive arrays.
+ */
+@RequiredArgsConstructor
+public class OrderSpatialQueriesImpl implements OrderSpatialQueries {
+
+    private static final String DISTANCE_KM = "2 * 6371.0088 * asin(sqrt("
+            + "power(sin(radians(o.destination_latitude - :latitude) / 2), 2) "
+            + "+ cos(radians(:latitude)) * cos(radians(o.destination_latitude)) "
+            + "* power(sin(radians(o.destination_longitude - :longitude) / 2), 2)))";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Order> findInCellRanges(Collection<OrderStatus> statuses, List<ZOrder.Range> ranges,
+                                        double minLatitude, double minLongitude, double maxLatitude,
+                                        double maxLongitude, int limit) {
+        String candidates = perRange(ranges, "SELECT o.id FROM orders o WHERE o.status IN (:statuses)"
+                + " AND o.destination_cell BETWEEN :low# AND :high#"
+                + " AND o.destination_latitude BETWEEN :minLatitude AND :maxLatitude"
+                + " AND o.destination_longitude BETWEEN :minLongitude AND :maxLongitude");
+        Query query = entityManager.createNativeQuery("SELECT o.* FROM orders o WHERE o.id IN ("
+                + "SELECT id FROM (" + candidates + ") candidates ORDER BY id DESC LIMIT :limit)"
+                + " ORDER BY o.id DESC", Order.class);
+        bindCells(query, statuses, ranges);
+        return query.setParameter("minLatitude", minLatitude)
+                .setParameter("minLongitude", minLongitude)
+                .setParameter("maxLatitude", maxLatitude)
+                .setParameter("maxLongitude", maxLongitude)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Order> findWithinRadius(Collection<OrderStatus> statuses, List<ZOrder.Range> ranges,
+                                        double latitude, double longitude, double radiusKm, int limit) {
+        String candidates = perRange(ranges, "SELECT o.id, " + DISTANCE_KM + " AS distance_km FROM orders o"
+                + " WHERE o.status IN (:statuses) AND o.destination_cell BETWEEN :low# AND :high#");
+        Query query = entityManager.createNativeQuery("SELECT o.* FROM orders o JOIN ("
+                + "SELECT id, distance_km FROM (" + candidates + ") candidates WHERE distance_km <= :radiusKm"
+                + " ORDER BY distance_km LIMIT :limit) nearest ON nearest.id = o.id"
+                + " ORDER BY nearest.distance_km", Order.class);
+        bindCells(query, statuses, ranges);
+        return query.setParameter("latitude", latitude)
+                .setParameter("longitude", longitude)
+                .setParameter("radiusKm", radiusKm)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Destinations findDestinations(Collection<OrderStatus> statuses, int limit) {
+        Query query = entityManager.createNativeQuery("SELECT o.id, o.destination_latitude, o.destination_longitude,"
+                        + " o.priority FROM orders o WHERE o.status IN (:statuses) ORDER BY o.id LIMIT :limit")
+                .setParameter("statuses", statuses.stream().map(Enum::name).toList())
+                .setParameter("limit", limit)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        int capacity = Math.min(limit, FETCH_SIZE);
+        UUID[] ids = new UUID[capacity];
+        double[] latitudes = new double[capacity];
+        double[] longitudes = new double[capacity];
+        int[] priorities = new int[capacity];
+        int size = 0;
+        try (Stream<Object[]> rows = query.getResultStream()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                if (size == ids.length) {
+                    capacity = (int) Math.min(limit, 2L * capacity);
+                    ids = Arrays.copyOf(ids, capacity);
+                    latitudes = Arrays.copyOf(latitudes, capacity);
+                    longitudes = Arrays.copyOf(longitudes, capacity);
+                    priorities = Arrays.copyOf(priorities, capacity);
+                }
+                ids[size] = (UUID) row[0];
+                latitudes[size] = ((Number) row[1]).doubleValue();
+                longitudes[size] = ((Number) row[2]).doubleValue();
+                priorities[size] = ((Number) row[3]).intValue();
+                size++;
+            }
+        }
+        return new Destinations(Arrays.copyOf(ids, size), Arrays.copyOf(latitudes, size),
+                Arrays.copyOf(longitudes, size), Arrays.copyOf(priorities, size));
+    }
+
+    /** The branch once per range, joined with UNION ALL, '#' replaced by the range's index. */
+    private static String perRange(List<ZOrder.Range> ranges, String branch) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one cell range is required");
+        }
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            sql.append(i == 0 ? "" : " UNION ALL ").append(branch.replace("#", Integer.toString(i)));
+        }
+        return sql.toString();
+    }
+
+    private static void bindCells(Query query, Collection<OrderStatus> statuses, List<ZOrder.Range> ranges) {
+        query.setParameter("statuses", statuses.stream().map(Enum::name).toList());
+        for (int i = 0; i < ranges.size(); i++) {
+            query.setParameter("low" + i, ranges.get(i).low());
+            query.setParameter("high" + i, ranges.get(i).high());
+        }
+    }
+}
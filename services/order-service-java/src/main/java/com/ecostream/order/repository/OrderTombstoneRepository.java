@@ -0,0 +1,27 @@
+package com.ecostream.order.repository;
+
+import com.ecostream.order.entity.OrderTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for OrderTombstone entity.
+ * Tombstones are written by the delete statements in {@link OrderRepository}.
+ */
+@Repository
+public interface OrderTombstoneRepository extends JpaRepository<OrderTombstone, UUID> {
+
+    /**
+     * Find tombstones written within a range of change versions, oldest first.
+     * @param after exclusive lower bound
+     * @param upTo inclusive upper bound (the settled version, see OrderChangeSequence)
+     * @param limit maximum number of tombstones to return
+     * @return tombstones ordered by change version
+     */
+    List<OrderTombstone> findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+            long after, long upTo, Limit limit);
+}
@@ -1,8 +1,11 @@
 package com.ecostream.order.repository;
 
 import com.ecostream.order.entity.Telemetry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -13,27 +16,43 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Repository for Telemetry entity operations in DynamoDB.
  * Uses AWS SDK v2 Enhanced Client for simplified DynamoDB operations.
+ * Each call is timed in ecostream.telemetry.store (tagged by operation and outcome);
+ * query result sizes go to ecostream.telemetry.store.items.
  */
 @Repository
-@RequiredArgsConstructor
 @Slf4j
 public class TelemetryRepository {
 
     private static final String TABLE_NAME = "ecostream-telemetry-local";
+
     private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
 
     /**
-     * Gets the DynamoDB table for telemetry data.
-     *
-     * @return DynamoDbTable instance for Telemetry
+     * Table handle built once, on first use rather than in the constructor: the enhanced client
+     * is a lazy proxy, so the AWS SDK client is only created when DynamoDB is first needed (or by
+     * the background warm-up in DynamoDbConfig) instead of on the startup path. The SDK already
+     * caches the bean schema per class, so this saves the schema lookup and table allocation per write.
      */
-    private DynamoDbTable<Telemetry> getTable() {
-        return dynamoDbEnhancedClient.table(TABLE_NAME, TableSchema.fromBean(Telemetry.class));
+    private volatile DynamoDbTable<Telemetry> table;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary queryItems;
+
+    public TelemetryRepository(@Lazy DynamoDbEnhancedClient dynamoDbEnhancedClient, MeterRegistry meterRegistry) {
+        this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
+        this.meterRegistry = meterRegistry;
+        this.queryItems = DistributionSummary.builder("ecostream.telemetry.store.items")
+                .description("Telemetry items returned per query")
+                .tag("operation", "query")
+                .register(meterRegistry);
     }
 
     /**
@@ -44,8 +63,10 @@ public class TelemetryRepository {
      */
     public Telemetry save(Telemetry telemetry) {
         log.debug("Saving telemetry for orderId: {}, timestamp: {}", telemetry.getOrderId(), telemetry.getTimestamp());
-        DynamoDbTable<Telemetry> table = getTable();
-        table.putItem(telemetry);
+        timed("save", () -> {
+            table().putItem(telemetry);
+            return telemetry;
+        });
         log.debug("Telemetry saved successfully");
         return telemetry;
     }
@@ -59,7 +80,6 @@ public class TelemetryRepository {
     public List<Telemetry> findByOrderId(String orderId) {
         log.debug("Querying telemetry for orderId: {}", orderId);
         
-        DynamoDbTable<Telemetry> table = getTable();
         Key key = Key.builder()
                 .partitionValue(orderId)
                 .build();
@@ -69,10 +89,11 @@ public class TelemetryRepository {
                 .queryConditional(queryConditional)
                 .build();
         
-        List<Telemetry> results = table.query(queryRequest)
+        List<Telemetry> results = timed("query", () -> table().query(queryRequest)
                 .items()
                 .stream()
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        queryItems.record(results.size());
         
         log.debug("Found {} telemetry records for orderId: {}", results.size(), orderId);
         return results;
@@ -88,13 +109,12 @@ public class TelemetryRepository {
     public Telemetry findByOrderIdAndTimestamp(String orderId, Long timestamp) {
         log.debug("Retrieving telemetry for orderId: {}, timestamp: {}", orderId, timestamp);
         
-        DynamoDbTable<Telemetry> table = getTable();
         Key key = Key.builder()
                 .partitionValue(orderId)
                 .sortValue(timestamp)
                 .build();
         
-        Telemetry result = table.getItem(key);
+        Telemetry result = timed("get", () -> table().getItem(key));
         
         if (result != null) {
             log.debug("Telemetry record found");
@@ -104,4 +124,53 @@ public class TelemetryRepository {
         
         return result;
     }
+
+    /**
+     * Retrieves the timestamp of the newest telemetry record for an order, whichever instance
+     * ingested it (one item read, newest first by sort key).
+     *
+     * @param orderId the order ID
+     * @return the newest timestamp (epoch seconds), empty if the order has no telemetry
+     */
+    public Optional<Long> findLatestTimestamp(String orderId) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(orderId).build()))
+                .scanIndexForward(false)
+                .limit(1)
+                .build();
+        return timed("latest", () -> table().query(queryRequest).items().stream()
+                .findFirst()
+                .map(Telemetry::getTimestamp));
+    }
+
+    private DynamoDbTable<Telemetry> table() {
+        DynamoDbTable<Telemetry> current = table;
+        if (current == null) {
+            synchronized (this) {
+                current = table;
+                if (current == null) {
+                    current = dynamoDbEnhancedClient.table(TABLE_NAME, TableSchema.fromBean(Telemetry.class));
+                    table = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Runs a DynamoDB call and records its latency tagged by operation and outcome. */
+    private <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("ecostream.telemetry.store")
+                    .description("DynamoDB telemetry table call latency")
+                    .tags("operation", operation, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.BulkChangeResponseDTO;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for bulk order operations used by upstream import jobs.
+ * Items are validated individually and written in chunked transactions with JDBC batching;
+ * results are reported per item rather than failing the whole request.
+ * Status transitions and deletes are set-based: one statement per up to 10k IDs.
+ */
+public interface BulkOrderService {
+
+    /**
+     * Creates many orders at once. Like createOrder, every new order starts as PENDING.
+     *
+     * @param requests the order creation requests
+     * @return aggregate counts and one result per request item, in request order
+     */
+    BulkOperationResponseDTO createOrders(List<OrderRequestDTO> requests);
+
+    /**
+     * Applies partial updates to many orders at once.
+     *
+     * @param requests the update items, each carrying the ID of the order to update
+     * @return aggregate counts and one result per request item, in request order
+     */
+    BulkOperationResponseDTO updateOrders(List<BulkUpdateOrderRequestDTO> requests);
+
+    /**
+     * Moves many orders to a new status with set-based UPDATEs.
+     * Orders not in an allowed predecessor status of the target (see
+     * {@link OrderStatus#allowedPredecessors()}) or not found are skipped.
+     *
+     * @param ids          the order IDs; duplicates are ignored
+     * @param targetStatus the status to move to
+     * @return counts plus the IDs changed and skipped
+     */
+    BulkChangeResponseDTO transitionStatus(List<UUID> ids, OrderStatus targetStatus);
+
+    /**
+     * Deletes many orders with set-based DELETEs.
+     *
+     * @param ids the order IDs; duplicates are ignored
+     * @return counts plus the IDs deleted and the IDs that were not found
+     */
+    BulkChangeResponseDTO deleteOrders(List<UUID> ids);
+}
@@ -0,0 +1,323 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.BulkChangeResponseDTO;
+import com.ecostream.order.dto.BulkItemResultDTO;
+import com.ecostream.order.dto.BulkItemStatus;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderChangeSequence;
+import com.ecostream.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BulkOrderService.
+ * Each chunk runs in its own transaction: entities are persisted/modified through the EntityManager,
+ * flushed once (Hibernate groups the statements into JDBC batches of hibernate.jdbc.batch_size),
+ * then the persistence context is cleared so memory stays flat across large imports.
+ * A failing chunk is rolled back and reported as FAILED without affecting other chunks.
+ * Status transitions and deletes skip the entity round-trip entirely: they run as
+ * UPDATE/DELETE ... RETURNING id over up to {@link #MAX_IDS_PER_STATEMENT} IDs per statement,
+ * all inside one transaction.
+ */
+@Service
+@Slf4j
+public class BulkOrderServiceImpl implements BulkOrderService {
+
+    /** Keeps IN lists well below the PostgreSQL bind parameter limit. */
+    static final int MAX_IDS_PER_STATEMENT = 10_000;
+
+    private final OrderRepository orderRepository;
+    private final MotionTracker motionTracker;
+    private final OrderChangeSequence orderChangeSequence;
+    private final OrderCache orderCache;
+    private final DestinationTable destinationTable;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BulkOrderServiceImpl(OrderRepository orderRepository,
+                                MotionTracker motionTracker,
+                                OrderChangeSequence orderChangeSequence,
+                                OrderCache orderCache,
+                                DestinationTable destinationTable,
+                                ApplicationEventPublisher eventPublisher,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                @Value("${order.bulk.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.motionTracker = motionTracker;
+        this.orderChangeSequence = orderChangeSequence;
+        this.orderCache = orderCache;
+        this.destinationTable = destinationTable;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkOperationResponseDTO createOrders(List<OrderRequestDTO> requests) {
+        log.debug("Bulk creating {} orders", requests.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[requests.size()];
+        List<Integer> valid = validate(requests, results);
+
+        for (List<Integer> chunk : chunks(valid)) {
+            List<Order> orders = new ArrayList<>(chunk.size());
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    long[] versions = orderChangeSequence.next(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Order order = OrderServiceImpl.toNewEntity(requests.get(chunk.get(i)));
+                        order.setChangeVersion(versions[i]);
+                        entityManager.persist(order);
+                        orders.add(order);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                publishChanged(orders.stream().map(Order::getId).toList());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = result(chunk.get(i), orders.get(i).getId(), BulkItemStatus.CREATED, null);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Bulk create chunk of {} orders failed: {}", chunk.size(), e.getMessage());
+                for (int index : chunk) {
+                    results[index] = result(index, null, BulkItemStatus.FAILED, e.getMessage());
+                }
+            }
+        }
+
+        BulkOperationResponseDTO response = toResponse(results);
+        log.info("Bulk create finished: {} created, {} failed", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    public BulkOperationResponseDTO updateOrders(List<BulkUpdateOrderRequestDTO> requests) {
+        log.debug("Bulk updating {} orders", requests.size());
+        BulkItemResultDTO[] results = new BulkItemResultDTO[requests.size()];
+        List<Integer> valid = validate(requests, results);
+
+        for (List<Integer> chunk : chunks(valid)) {
+            Set<UUID> ids = new HashSet<>();
+            chunk.forEach(index -> ids.add(requests.get(index).getId()));
+            Set<UUID> wereInTransit = new HashSet<>();
+            try {
+                Map<UUID, Order> updated = transactionTemplate.execute(tx -> {
+                    // One SELECT ... WHERE id IN (...) per chunk instead of a findById per order
+                    Map<UUID, Order> orders = orderRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(Order::getId, Function.identity()));
+                    long[] versions = orderChangeSequence.next(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        BulkUpdateOrderRequestDTO request = requests.get(chunk.get(i));
+                        Order order = orders.get(request.getId());
+                        if (order != null) {
+                            if (order.getStatus() == OrderStatus.IN_TRANSIT) {
+                                wereInTransit.add(order.getId());
+                            }
+                            OrderServiceImpl.applyUpdate(order, request.toUpdateRequest());
+                            order.setChangeVersion(versions[i]);
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return orders;
+                });
+                Set<UUID> found = updated.keySet();
+                orderCache.invalidateAll(found);
+                updated.values().forEach(destinationTable::sync);
+                updated.values().stream()
+                        .filter(order -> wereInTransit.contains(order.getId()) && order.getStatus() != OrderStatus.IN_TRANSIT)
+                        .forEach(order -> motionTracker.remove(order.getId()));
+                publishChanged(found);
+                for (int index : chunk) {
+                    UUID id = requests.get(index).getId();
+                    results[index] = found.contains(id)
+                            ? result(index, id, BulkItemStatus.UPDATED, null)
+                            : result(index, id, BulkItemStatus.NOT_FOUND, "Order not found");
+                }
+            } catch (RuntimeException e) {
+                log.warn("Bulk update chunk of {} orders failed: {}", chunk.size(), e.getMessage());
+                for (int index : chunk) {
+                    results[index] = result(index, requests.get(index).getId(), BulkItemStatus.FAILED, e.getMessage());
+                }
+            }
+        }
+
+        BulkOperationResponseDTO response = toResponse(results);
+        log.info("Bulk update finished: {} updated, {} failed", response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    @Override
+    public BulkChangeResponseDTO transitionStatus(List<UUID> ids, OrderStatus targetStatus) {
+        log.debug("Bulk transitioning {} orders to {}", ids.size(), targetStatus);
+        List<String> fromStatuses = targetStatus.allowedPredecessors().stream().map(Enum::name).toList();
+        // Destinations come back from the UPDATE itself: a read after commit may hit a lagging replica
+        List<Object[]> destinations = new ArrayList<>();
+        BulkChangeResponseDTO response = fromStatuses.isEmpty()
+                ? toChangeResponse(new LinkedHashSet<>(ids), List.of())
+                : applySetBased(ids, chunk -> targetStatus == OrderStatus.IN_TRANSIT
+                        ? transitionReturningDestinations(chunk, fromStatuses, destinations)
+                        : orderRepository.transitionStatus(chunk, targetStatus.name(), fromStatuses));
+        orderCache.invalidateAll(response.getAffectedIds());
+        if (targetStatus == OrderStatus.IN_TRANSIT) {
+            destinations.forEach(row -> destinationTable.put((UUID) row[0],
+                    ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()));
+        } else {
+            response.getAffectedIds().forEach(destinationTable::remove);
+        }
+        if (targetStatus.allowedPredecessors().contains(OrderStatus.IN_TRANSIT)) {
+            response.getAffectedIds().forEach(motionTracker::remove);
+        }
+        publishChanged(response.getAffectedIds());
+        log.info("Bulk transition to {} finished: {} changed, {} skipped",
+                targetStatus, response.getAffected(), response.getSkippedIds().size());
+        return response;
+    }
+
+    @Override
+    public BulkChangeResponseDTO deleteOrders(List<UUID> ids) {
+        log.debug("Bulk deleting {} orders", ids.size());
+        BulkChangeResponseDTO response = applySetBased(ids, orderRepository::deleteAllByIdReturning);
+        orderCache.invalidateAll(response.getAffectedIds());
+        response.getAffectedIds().forEach(motionTracker::remove);
+        response.getAffectedIds().forEach(destinationTable::remove);
+        publishChanged(response.getAffectedIds());
+        log.info("Bulk delete finished: {} deleted, {} not found",
+                response.getAffected(), response.getSkippedIds().size());
+        return response;
+    }
+
+    /** Moves a chunk to IN_TRANSIT, collecting the changed orders' destinations for the arrival table. */
+    private List<UUID> transitionReturningDestinations(List<UUID> chunk, List<String> fromStatuses,
+                                                       List<Object[]> destinations) {
+        List<Object[]> rows = orderRepository.transitionStatusReturningDestinations(
+                chunk, OrderStatus.IN_TRANSIT.name(), fromStatuses);
+        destinations.addAll(rows);
+        return rows.stream().map(row -> (UUID) row[0]).toList();
+    }
+
+    /**
+     * Runs a set-based statement over the distinct IDs, one statement per
+     * {@link #MAX_IDS_PER_STATEMENT} IDs, in a single transaction.
+     */
+    private BulkChangeResponseDTO applySetBased(List<UUID> ids, UnaryOperator<List<UUID>> statement) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids);
+        List<UUID> all = new ArrayList<>(distinct);
+        List<UUID> affected = transactionTemplate.execute(tx -> {
+            List<UUID> changed = new ArrayList<>();
+            for (int from = 0; from < all.size(); from += MAX_IDS_PER_STATEMENT) {
+                changed.addAll(statement.apply(all.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, all.size()))));
+            }
+            return changed;
+        });
+        return toChangeResponse(distinct, affected);
+    }
+
+    private static BulkChangeResponseDTO toChangeResponse(Set<UUID> requested, List<UUID> affected) {
+        Set<UUID> affectedSet = new HashSet<>(affected);
+        List<UUID> skipped = requested.stream().filter(id -> !affectedSet.contains(id)).toList();
+        return BulkChangeResponseDTO.builder()
+                .requested(requested.size())
+                .affected(affected.size())
+                .affectedIds(affected)
+                .skippedIds(skipped)
+                .build();
+    }
+
+    /**
+     * Runs Bean Validation on every item, recording INVALID results for failures.
+     *
+     * @return indexes of the items that passed validation
+     */
+    private <T> List<Integer> validate(List<T> requests, BulkItemResultDTO[] results) {
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            T request = requests.get(i);
+            if (request == null) {
+                results[i] = result(i, null, BulkItemStatus.INVALID, "Item is null");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = result(i, null, BulkItemStatus.INVALID, message);
+            }
+        }
+        return valid;
+    }
+
+    /** Lets derived views (cached list responses) drop state for committed changes. */
+    private void publishChanged(Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new OrderChangedEvent(ids));
+        }
+    }
+
+    /** Splits item indexes into transaction-sized chunks. */
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private static BulkItemResultDTO result(int index, UUID id, BulkItemStatus status, String error) {
+        return BulkItemResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private static BulkOperationResponseDTO toResponse(BulkItemResultDTO[] results) {
+        int succeeded = 0;
+        for (BulkItemResultDTO result : results) {
+            if (result.getStatus() == BulkItemStatus.CREATED || result.getStatus() == BulkItemStatus.UPDATED) {
+                succeeded++;
+            }
+        }
+        return BulkOperationResponseDTO.builder()
+                .requested(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+}
@@ -0,0 +1,336 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.ZOrder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Groups destinations into dispatch batches: destinations within radius of each other (directly
+ * or through a chain of such neighbours) share a cluster, Express and Standard orders never do,
+ * and a cluster larger than the batch size is cut into spatially compact pieces along the
+ * Z-order curve.
+ * <p>
+ * Works on primitive coordinate arrays and is grid-accelerated: destinations are bucketed into
+ * cells of radius/sqrt(2) (each row of cells is widened so no cell is wider than that on the
+ * ground), so all destinations in one cell are within radius of each other and only cells up to
+ * two rows/columns away need distance checks. Clusters are then a union-find over cells rather
+ * than destinations. Every phase except two linear passes runs in parallel on this component's
+ * fork-join pool (order.dispatch.parallelism, default one worker per core): the cell sort, the
+ * neighbour checks (lock-free union-find) and the splitting of large clusters.
+ * Distances are equirectangular, accurate to well under 1% at the radii allowed; clusters do not
+ * cross the antimeridian.
+ */
+@Component
+public class DestinationClusterer implements DisposableBean {
+
+    /** Smallest radius: keeps cell keys and point indices within one long (see {@link #cluster}). */
+    public static final double MIN_RADIUS_KM = 0.1;
+    public static final double MAX_RADIUS_KM = 50;
+    /** Largest number of destinations per call (indices are packed into 24 bits). */
+    public static final int MAX_POINTS = 1 << 24;
+
+    private static final double KM_PER_DEGREE = 6371.0088 * Math.PI / 180;
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    /**
+     * Batches as index lists: the destinations of batch b are members[starts[b]] up to (excluding)
+     * members[starts[b + 1]], as indices into the arrays passed to {@link #cluster}.
+     *
+     * @param members destination indices grouped by batch
+     * @param starts  offset of each batch in members, plus the total at the end
+     */
+    public record Batches(int[] members, int[] starts) {
+
+        public int count() {
+            return starts.length - 1;
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    public DestinationClusterer(@Value("${order.dispatch.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Clusters destinations into batches.
+     *
+     * @param latitudes    destination latitudes in degrees
+     * @param longitudes   destination longitudes in degrees
+     * @param express      whether each destination belongs to an Express order
+     * @param radiusKm     neighbour distance, from {@link #MIN_RADIUS_KM} to {@link #MAX_RADIUS_KM}
+     * @param maxBatchSize most destinations per batch, at least 1
+     * @return the batches; each destination is in exactly one
+     */
+    public Batches cluster(double[] latitudes, double[] longitudes, boolean[] express, double radiusKm,
+                           int maxBatchSize) {
+        int n = latitudes.length;
+        if (longitudes.length != n || express.length != n || n > MAX_POINTS
+                || !(radiusKm >= MIN_RADIUS_KM && radiusKm <= MAX_RADIUS_KM) || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Invalid clustering input: points=" + n + ", radius-km=" + radiusKm
+                    + ", max-batch-size=" + maxBatchSize);
+        }
+        // Parallel streams and parallelSort started from a worker run on that worker's pool
+        return pool.submit(() -> new Run(latitudes, longitudes, express, radiusKm, maxBatchSize).execute()).join();
+    }
+
+    /** State of one clustering call. */
+    private static final class Run {
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final boolean[] express;
+        private final double radiusKm;
+        private final int maxBatchSize;
+        private final int n;
+
+        private final double rowHeight;
+        private final long columnsPerRow;
+        private final long rowsPerLane;
+
+        /** Cell key and destination index per destination, sorted by cell. */
+        private long[] sorted;
+        /** Coordinates in sorted order, for cache-friendly neighbour checks. */
+        private double[] sortedLatitudes;
+        private double[] sortedLongitudes;
+        /** Key and first sorted position of each non-empty cell (plus n at the end). */
+        private long[] cellKeys;
+        private int[] cellStarts;
+
+        Run(double[] latitudes, double[] longitudes, boolean[] express, double radiusKm, int maxBatchSize) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.express = express;
+            this.radiusKm = radiusKm;
+            this.maxBatchSize = maxBatchSize;
+            this.n = latitudes.length;
+            this.rowHeight = radiusKm / Math.sqrt(2) / KM_PER_DEGREE;
+            this.columnsPerRow = (long) Math.ceil(360 / rowHeight) + 1;
+            this.rowsPerLane = (long) Math.ceil(180 / rowHeight) + 1;
+        }
+
+        Batches execute() {
+            sortByCell();
+            indexCells();
+            int[] clusterOfCell = clusterCells();
+            return split(clusterOfCell);
+        }
+
+        private void sortByCell() {
+            sorted = new long[n];
+            IntStream.range(0, n).parallel().forEach(i -> sorted[i] =
+                    cellKey(express[i], row(latitudes[i]), latitudes[i], longitudes[i]) << INDEX_BITS | i);
+            Arrays.parallelSort(sorted);
+            sortedLatitudes = new double[n];
+            sortedLongitudes = new double[n];
+            IntStream.range(0, n).parallel().forEach(k -> {
+                int i = (int) (sorted[k] & INDEX_MASK);
+                sortedLatitudes[k] = latitudes[i];
+                sortedLongitudes[k] = longitudes[i];
+            });
+        }
+
+        private void indexCells() {
+            long[] keys = new long[n];
+            int[] starts = new int[n + 1];
+            int cells = 0;
+            for (int k = 0; k < n; k++) {
+                long key = sorted[k] >>> INDEX_BITS;
+                if (cells == 0 || keys[cells - 1] != key) {
+                    keys[cells] = key;
+                    starts[cells++] = k;
+                }
+            }
+            starts[cells] = n;
+            cellKeys = Arrays.copyOf(keys, cells);
+            cellStarts = Arrays.copyOf(starts, cells + 1);
+        }
+
+        /** Union-find over cells: links every cell to the later cells holding a destination within radius. */
+        private int[] clusterCells() {
+            int cells = cellKeys.length;
+            AtomicIntegerArray parent = new AtomicIntegerArray(cells);
+            IntStream.range(0, cells).parallel().forEach(c -> parent.set(c, c));
+            IntStream.range(0, cells).parallel().forEach(c -> linkNeighbours(c, parent));
+            int[] roots = new int[cells];
+            IntStream.range(0, cells).parallel().forEach(c -> roots[c] = find(parent, c));
+            return roots;
+        }
+
+        private void linkNeighbours(int cell, AtomicIntegerArray parent) {
+            long key = cellKeys[cell];
+            long lane = key / (rowsPerLane * columnsPerRow);
+            long row = key / columnsPerRow % rowsPerLane;
+            long column = key % columnsPerRow;
+            double width = columnWidth(row);
+            double west = column * width - 180;
+            double east = west + width;
+            for (long other = row; other <= row + 2 && other < rowsPerLane; other++) {
+                // Longitude reach of radius at the latitude (of the two rows) farthest from the equator
+                double cos = Math.min(minCos(row), minCos(other));
+                double reach = cos * KM_PER_DEGREE * 360 <= radiusKm ? 360 : radiusKm / (KM_PER_DEGREE * cos);
+                double otherWidth = columnWidth(other);
+                long first = Math.max(0, (long) Math.floor((west - reach + 180) / otherWidth));
+                long last = Math.min(columnsPerRow - 1, (long) Math.floor((east + reach + 180) / otherWidth));
+                long base = (lane * rowsPerLane + other) * columnsPerRow;
+                // Each pair of cells is checked once, from the cell with the smaller key
+                long from = Math.max(base + first, key + 1);
+                for (int c = ceiling(from); c < cellKeys.length && cellKeys[c] <= base + last; c++) {
+                    if (find(parent, cell) != find(parent, c) && withinRadius(cell, c)) {
+                        union(parent, cell, c);
+                    }
+                }
+            }
+        }
+
+        private boolean withinRadius(int a, int b) {
+            double limit = radiusKm * radiusKm;
+            for (int i = cellStarts[a]; i < cellStarts[a + 1]; i++) {
+                for (int j = cellStarts[b]; j < cellStarts[b + 1]; j++) {
+                    double meanLatitude = Math.toRadians((sortedLatitudes[i] + sortedLatitudes[j]) / 2);
+                    double dx = (sortedLongitudes[i] - sortedLongitudes[j]) * Math.cos(meanLatitude) * KM_PER_DEGREE;
+                    double dy = (sortedLatitudes[i] - sortedLatitudes[j]) * KM_PER_DEGREE;
+                    if (dx * dx + dy * dy <= limit) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Gathers each cluster's destinations and cuts clusters above the batch size into
+         * ceil(size / max) near-equal pieces along the Z-order curve.
+         */
+        private Batches split(int[] clusterOfCell) {
+            int cells = cellKeys.length;
+            int[] clusterIds = new int[cells];
+            Arrays.fill(clusterIds, -1);
+            int clusters = 0;
+            for (int c = 0; c < cells; c++) {
+                int root = clusterOfCell[c];
+                if (clusterIds[root] < 0) {
+                    clusterIds[root] = clusters++;
+                }
+            }
+            int[] clusterStarts = new int[clusters + 1];
+            for (int c = 0; c < cells; c++) {
+                clusterStarts[clusterIds[clusterOfCell[c]] + 1] += cellStarts[c + 1] - cellStarts[c];
+            }
+            Arrays.parallelPrefix(clusterStarts, Integer::sum);
+            int[] members = new int[n];
+            int[] fill = Arrays.copyOf(clusterStarts, clusters);
+            for (int c = 0; c < cells; c++) {
+                int cluster = clusterIds[clusterOfCell[c]];
+                for (int k = cellStarts[c]; k < cellStarts[c + 1]; k++) {
+                    members[fill[cluster]++] = (int) (sorted[k] & INDEX_MASK);
+                }
+            }
+
+            int[] batchesBefore = new int[clusters + 1];
+            for (int cluster = 0; cluster < clusters; cluster++) {
+                int size = clusterStarts[cluster + 1] - clusterStarts[cluster];
+                batchesBefore[cluster + 1] = batchesBefore[cluster] + (size + maxBatchSize - 1) / maxBatchSize;
+            }
+            int[] starts = new int[batchesBefore[clusters] + 1];
+            starts[starts.length - 1] = n;
+            IntStream.range(0, clusters).parallel().forEach(cluster -> {
+                int from = clusterStarts[cluster];
+                int size = clusterStarts[cluster + 1] - from;
+                int pieces = batchesBefore[cluster + 1] - batchesBefore[cluster];
+                if (pieces > 1) {
+                    sortAlongCurve(members, from, size);
+                }
+                for (int p = 0; p < pieces; p++) {
+                    starts[batchesBefore[cluster] + p] = from + (int) ((long) size * p / pieces);
+                }
+            });
+            return new Batches(members, starts);
+        }
+
+        /** Sorts members[from, from + size) by Z-order cell (to about 40 m), keeping nearby destinations together. */
+        private void sortAlongCurve(int[] members, int from, int size) {
+            long[] order = new long[size];
+            for (int k = 0; k < size; k++) {
+                int i = members[from + k];
+                order[k] = ZOrder.encode(latitudes[i], longitudes[i]) >>> INDEX_BITS << INDEX_BITS | k;
+            }
+            Arrays.sort(order);
+            int[] original = Arrays.copyOfRange(members, from, from + size);
+            for (int k = 0; k < size; k++) {
+                members[from + k] = original[(int) (order[k] & INDEX_MASK)];
+            }
+        }
+
+        private long row(double latitude) {
+            return Math.min(rowsPerLane - 1, (long) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / rowHeight));
+        }
+
+        private long cellKey(boolean expressLane, long row, double latitude, double longitude) {
+            double clamped = Math.max(-180, Math.min(180, longitude));
+            long column = Math.min(columnsPerRow - 1, (long) Math.floor((clamped + 180) / columnWidth(row)));
+            return ((expressLane ? 1 : 0) * rowsPerLane + row) * columnsPerRow + column;
+        }
+
+        /** Column width of a row in degrees: rowHeight on the ground at the row's edge nearest the equator. */
+        private double columnWidth(long row) {
+            return Math.min(360, rowHeight / maxCos(row));
+        }
+
+        private double maxCos(long row) {
+            double south = row * rowHeight - 90;
+            double north = south + rowHeight;
+            return south <= 0 && north >= 0 ? 1 : Math.cos(Math.toRadians(Math.min(Math.abs(south), Math.abs(north))));
+        }
+
+        private double minCos(long row) {
+            double south = row * rowHeight - 90;
+            double north = Math.min(90, south + rowHeight);
+            return Math.cos(Math.toRadians(Math.min(90, Math.max(Math.abs(south), Math.abs(north)))));
+        }
+
+        /** Index of the first cell with a key of at least key. */
+        private int ceiling(long key) {
+            int found = Arrays.binarySearch(cellKeys, key);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+
+    /** Root of x, halving the path on the way (safe under concurrent updates). */
+    private static int find(AtomicIntegerArray parent, int x) {
+        int p;
+        while ((p = parent.get(x)) != x) {
+            int grandparent = parent.get(p);
+            parent.compareAndSet(x, p, grandparent);
+            x = grandparent;
+        }
+        return x;
+    }
+
+    /** Links the roots of a and b, the larger index under the smaller, retrying if another thread got there first. */
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            int rootA = find(parent, a);
+            int rootB = find(parent, b);
+            if (rootA == rootB) {
+                return;
+            }
+            int child = Math.max(rootA, rootB);
+            if (parent.compareAndSet(child, child, Math.min(rootA, rootB))) {
+                return;
+            }
+        }
+    }
+}
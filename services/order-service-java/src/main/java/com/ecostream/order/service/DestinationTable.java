@@ -0,0 +1,344 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderSpatialQueries.Destinations;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Destinations of the IN_TRANSIT orders, in memory, so each telemetry point can be checked
+ * against its order's arrival geofence without a database lookup. An open-addressing hash table
+ * over primitive arrays (the UUID as two longs, coordinates and the cosine of the latitude as
+ * floats, about 1 m precision): 29 bytes per slot, 40 to 80 bytes per order, no object per entry.
+ * Lookups are lock-free (an optimistic {@link StampedLock} read, retried under the read lock
+ * only if a write overlapped) and allocate nothing; writes take the write lock.
+ * Kept in step by the order write paths ({@link #sync} after create/update and bulk changes,
+ * {@link #remove} on delete and arrival), loaded from the database at startup, and reconciled
+ * with writes made through other instances by {@link OrderChangeFollower}. Traffic may already
+ * be served while a load or reconcile reads, so orders written here meanwhile keep their newer
+ * state.
+ */
+@Component
+@Slf4j
+public class DestinationTable {
+
+    private static final double METRES_PER_DEGREE = 6_371_008.8 * Math.PI / 180;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte REMOVED = 2;
+
+    /** The arrays of one capacity; replaced as a whole when the table grows. */
+    private static final class Slots {
+
+        final long[] msb;
+        final long[] lsb;
+        final float[] latitudes;
+        final float[] longitudes;
+        final float[] cosLatitudes;
+        final byte[] states;
+        final int mask;
+
+        Slots(int capacity) {
+            msb = new long[capacity];
+            lsb = new long[capacity];
+            latitudes = new float[capacity];
+            longitudes = new float[capacity];
+            cosLatitudes = new float[capacity];
+            states = new byte[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private final OrderRepository orderRepository;
+    private final double radiusMetres;
+    private final StampedLock lock = new StampedLock();
+
+    /** Guarded by lock. */
+    private Slots slots = new Slots(INITIAL_CAPACITY);
+    private int size;
+    private int used;
+    /** Orders put or removed while a snapshot is read, which that older snapshot must not touch; else null. */
+    private Set<UUID> writtenDuringRead;
+    /** Serializes snapshot reads, so a reconcile never overlaps the startup load. */
+    private final Object snapshotLock = new Object();
+
+    public DestinationTable(OrderRepository orderRepository,
+                            @Value("${order.arrival.radius-m:100}") double radiusMetres,
+                            MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.radiusMetres = radiusMetres;
+        Gauge.builder("ecostream.arrival.destinations", this, DestinationTable::size)
+                .description("IN_TRANSIT destinations held for arrival detection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Order states read from the database: destinations to hold and orders to drop.
+     *
+     * @param destinations IN_TRANSIT orders and their destinations
+     * @param removed      orders that are no longer IN_TRANSIT or were deleted
+     */
+    public record Snapshot(Destinations destinations, Collection<UUID> removed) {
+    }
+
+    /** Loads the destinations of all IN_TRANSIT orders. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int applied = applySnapshot(() -> new Snapshot(
+                orderRepository.findDestinations(List.of(OrderStatus.IN_TRANSIT), Integer.MAX_VALUE), List.of()));
+        log.info("Loaded {} IN_TRANSIT destinations for arrival detection", applied);
+    }
+
+    /**
+     * Reads order states with the given query and applies them. Orders synced or removed here
+     * after the read started are skipped: their write is at least as new as the snapshot (writes
+     * sync after commit), so a delivery or delete racing the query does not bring a destination back.
+     *
+     * @param read the query, run on the calling thread
+     * @return number of orders applied
+     */
+    public int applySnapshot(Supplier<Snapshot> read) {
+        synchronized (snapshotLock) {
+            long stamp = lock.writeLock();
+            try {
+                writtenDuringRead = new HashSet<>();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            Snapshot snapshot = null;
+            int applied = 0;
+            try {
+                snapshot = read.get();
+            } finally {
+                stamp = lock.writeLock();
+                try {
+                    if (snapshot != null) {
+                        applied = applyLocked(snapshot);
+                    }
+                    writtenDuringRead = null;
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            return applied;
+        }
+    }
+
+    private int applyLocked(Snapshot snapshot) {
+        int applied = 0;
+        Destinations destinations = snapshot.destinations();
+        for (int i = 0; i < destinations.size(); i++) {
+            if (!writtenDuringRead.contains(destinations.ids()[i])) {
+                putLocked(destinations.ids()[i], destinations.latitudes()[i], destinations.longitudes()[i]);
+                applied++;
+            }
+        }
+        for (UUID orderId : snapshot.removed()) {
+            if (!writtenDuringRead.contains(orderId)) {
+                removeLocked(orderId);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Whether a vehicle position lies within the arrival radius (order.arrival.radius-m) of its
+     * order's destination. False for orders not IN_TRANSIT and when the radius is 0 (disabled).
+     *
+     * @param orderId   the order UUID
+     * @param latitude  vehicle latitude
+     * @param longitude vehicle longitude
+     * @return whether the vehicle has arrived
+     */
+    public boolean hasArrived(UUID orderId, double latitude, double longitude) {
+        if (radiusMetres <= 0) {
+            return false;
+        }
+        long msb = orderId.getMostSignificantBits();
+        long lsb = orderId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        boolean arrived = withinRadius(slots, msb, lsb, latitude, longitude);
+        if (lock.validate(stamp)) {
+            return arrived;
+        }
+        stamp = lock.readLock();
+        try {
+            return withinRadius(slots, msb, lsb, latitude, longitude);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds, moves or drops an order's destination according to its current status.
+     *
+     * @param order the order as just written
+     */
+    public void sync(Order order) {
+        if (order.getStatus() == OrderStatus.IN_TRANSIT) {
+            put(order.getId(), order.getDestinationLatitude(), order.getDestinationLongitude());
+        } else {
+            remove(order.getId());
+        }
+    }
+
+    /**
+     * Adds or replaces an order's destination.
+     *
+     * @param orderId   the order UUID
+     * @param latitude  destination latitude
+     * @param longitude destination longitude
+     */
+    public void put(UUID orderId, double latitude, double longitude) {
+        long stamp = lock.writeLock();
+        try {
+            putLocked(orderId, latitude, longitude);
+            recordWriteLocked(orderId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops an order's destination, if held.
+     *
+     * @param orderId the order UUID
+     */
+    public void remove(UUID orderId) {
+        long stamp = lock.writeLock();
+        try {
+            removeLocked(orderId);
+            recordWriteLocked(orderId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void removeLocked(UUID orderId) {
+        int slot = find(slots, orderId.getMostSignificantBits(), orderId.getLeastSignificantBits());
+        if (slot >= 0) {
+            slots.states[slot] = REMOVED;
+            size--;
+        }
+    }
+
+    private void recordWriteLocked(UUID orderId) {
+        if (writtenDuringRead != null) {
+            writtenDuringRead.add(orderId);
+        }
+    }
+
+    /** Number of destinations held. */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean withinRadius(Slots table, long msb, long lsb, double latitude, double longitude) {
+        int slot = find(table, msb, lsb);
+        if (slot < 0) {
+            return false;
+        }
+        double dLongitude = longitude - table.longitudes[slot];
+        if (dLongitude > 180) {
+            dLongitude -= 360;
+        } else if (dLongitude < -180) {
+            dLongitude += 360;
+        }
+        double dx = dLongitude * table.cosLatitudes[slot] * METRES_PER_DEGREE;
+        double dy = (latitude - table.latitudes[slot]) * METRES_PER_DEGREE;
+        return dx * dx + dy * dy <= radiusMetres * radiusMetres;
+    }
+
+    /** Slot holding the key, or -1. Bounded by the capacity, as an optimistic read may see a table mid-write. */
+    private static int find(Slots table, long msb, long lsb) {
+        int slot = hash(msb, lsb) & table.mask;
+        for (int probes = 0; probes <= table.mask; probes++) {
+            byte state = table.states[slot];
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (state == FULL && table.msb[slot] == msb && table.lsb[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & table.mask;
+        }
+        return -1;
+    }
+
+    private void putLocked(UUID orderId, double latitude, double longitude) {
+        long msb = orderId.getMostSignificantBits();
+        long lsb = orderId.getLeastSignificantBits();
+        int slot = find(slots, msb, lsb);
+        if (slot < 0) {
+            // Keep at least a quarter of the slots empty (counting removed ones) so probes stay short
+            if ((used + 1) * 4L > slots.states.length * 3L) {
+                rehash(size + 1 > slots.states.length / 2 ? slots.states.length * 2 : slots.states.length);
+            }
+            slot = hash(msb, lsb) & slots.mask;
+            while (slots.states[slot] == FULL) {
+                slot = (slot + 1) & slots.mask;
+            }
+            if (slots.states[slot] == EMPTY) {
+                used++;
+            }
+            size++;
+            slots.msb[slot] = msb;
+            slots.lsb[slot] = lsb;
+        }
+        slots.latitudes[slot] = (float) latitude;
+        slots.longitudes[slot] = (float) longitude;
+        slots.cosLatitudes[slot] = (float) Math.cos(Math.toRadians(latitude));
+        slots.states[slot] = FULL;
+    }
+
+    /** Copies the held entries into fresh arrays of the given capacity, dropping removed slots. */
+    private void rehash(int capacity) {
+        Slots old = slots;
+        Slots fresh = new Slots(capacity);
+        for (int i = 0; i < old.states.length; i++) {
+            if (old.states[i] != FULL) {
+                continue;
+            }
+            int slot = hash(old.msb[i], old.lsb[i]) & fresh.mask;
+            while (fresh.states[slot] == FULL) {
+                slot = (slot + 1) & fresh.mask;
+            }
+            fresh.msb[slot] = old.msb[i];
+            fresh.lsb[slot] = old.lsb[i];
+            fresh.latitudes[slot] = old.latitudes[i];
+            fresh.longitudes[slot] = old.longitudes[i];
+            fresh.cosLatitudes[slot] = old.cosLatitudes[i];
+            fresh.states[slot] = FULL;
+        }
+        slots = fresh;
+        used = size;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
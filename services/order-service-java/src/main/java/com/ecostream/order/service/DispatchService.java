@@ -0,0 +1,23 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.DispatchPlanDTO;
+
+/**
+ * Service interface for dispatch planning: groups the orders waiting to ship (PENDING and
+ * CONFIRMED) into delivery batches by destination proximity and priority class, in process and
+ * fast enough to re-plan during the day.
+ */
+public interface DispatchService {
+
+    /**
+     * Clusters the waiting orders into batches (see {@link DestinationClusterer}) and ranks the
+     * batches by their highest priority, then by size.
+     *
+     * @param radiusKm     orders whose destinations are within this distance (directly or through
+     *                     other orders) share a batch
+     * @param maxBatchSize most orders per batch; larger clusters are split into compact pieces
+     * @param limit        number of batches to return, most urgent first
+     * @return the plan
+     */
+    DispatchPlanDTO planBatches(double radiusKm, int maxBatchSize, int limit);
+}
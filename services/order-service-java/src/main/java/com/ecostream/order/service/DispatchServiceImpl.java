@@ -0,0 +1,159 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.DispatchBatchDTO;
+import com.ecostream.order.dto.DispatchPlanDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderSpatialQueries.Destinations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of DispatchService.
+ * Loads the destinations of up to order.dispatch.max-orders waiting orders as primitive arrays
+ * (oldest first, in one read-only transaction, so from the replica when routing is enabled),
+ * clusters them on the {@link DestinationClusterer}'s pool, and builds DTOs only for the batches
+ * returned: ranking keeps a heap of the top batches rather than sorting all of them.
+ */
+@Service
+@Slf4j
+public class DispatchServiceImpl implements DispatchService {
+
+    /** Same threshold as the Express/Standard class sent to the AI service. */
+    static final int EXPRESS_PRIORITY = 5;
+
+    private static final List<OrderStatus> WAITING = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final OrderRepository orderRepository;
+    private final DestinationClusterer clusterer;
+    private final int maxOrders;
+
+    public DispatchServiceImpl(OrderRepository orderRepository,
+                               DestinationClusterer clusterer,
+                               @Value("${order.dispatch.max-orders:2000000}") int maxOrders) {
+        this.orderRepository = orderRepository;
+        this.clusterer = clusterer;
+        this.maxOrders = Math.min(maxOrders, DestinationClusterer.MAX_POINTS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DispatchPlanDTO planBatches(double radiusKm, int maxBatchSize, int limit) {
+        Destinations destinations = orderRepository.findDestinations(WAITING, maxOrders + 1);
+        boolean truncated = destinations.size() > maxOrders;
+        if (truncated) {
+            log.warn("More than {} orders waiting for dispatch; planning the oldest {}", maxOrders, maxOrders);
+            destinations = new Destinations(Arrays.copyOf(destinations.ids(), maxOrders),
+                    Arrays.copyOf(destinations.latitudes(), maxOrders),
+                    Arrays.copyOf(destinations.longitudes(), maxOrders),
+                    Arrays.copyOf(destinations.priorities(), maxOrders));
+        }
+        int[] priorities = destinations.priorities();
+        boolean[] express = new boolean[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            express[i] = priorities[i] >= EXPRESS_PRIORITY;
+        }
+
+        long start = System.nanoTime();
+        DestinationClusterer.Batches batches = clusterer.cluster(destinations.latitudes(), destinations.longitudes(),
+                express, radiusKm, maxBatchSize);
+        long clusteringMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Clustered {} orders into {} dispatch batches in {} ms", destinations.size(), batches.count(),
+                clusteringMillis);
+
+        int[] maxPriority = maxPriorities(batches, priorities);
+        List<DispatchBatchDTO> top = new ArrayList<>();
+        for (int batch : mostUrgent(batches, maxPriority, limit)) {
+            top.add(toDto(batches, batch, maxPriority[batch], destinations, express));
+        }
+        return DispatchPlanDTO.builder()
+                .orders(destinations.size())
+                .truncated(truncated)
+                .totalBatches(batches.count())
+                .clusteringMillis(clusteringMillis)
+                .batches(top)
+                .build();
+    }
+
+    private static int[] maxPriorities(DestinationClusterer.Batches batches, int[] priorities) {
+        int[] maxPriority = new int[batches.count()];
+        for (int batch = 0; batch < batches.count(); batch++) {
+            int max = Integer.MIN_VALUE;
+            for (int k = batches.starts()[batch]; k < batches.starts()[batch + 1]; k++) {
+                max = Math.max(max, priorities[batches.members()[k]]);
+            }
+            maxPriority[batch] = max;
+        }
+        return maxPriority;
+    }
+
+    /** The limit batches with the highest maximum priority, then the most orders, most urgent first. */
+    private static int[] mostUrgent(DestinationClusterer.Batches batches, int[] maxPriority, int limit) {
+        Comparator<Integer> urgency = Comparator.<Integer>comparingInt(batch -> maxPriority[batch])
+                .thenComparingInt(batch -> batches.starts()[batch + 1] - batches.starts()[batch])
+                .thenComparing(Comparator.<Integer>naturalOrder().reversed());
+        // Min-heap of the most urgent batches seen so far; its head is the least urgent of them
+        PriorityQueue<Integer> heap = new PriorityQueue<>(urgency);
+        for (int batch = 0; batch < batches.count(); batch++) {
+            heap.add(batch);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        return heap.stream().sorted(urgency.reversed()).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static DispatchBatchDTO toDto(DestinationClusterer.Batches batches, int batch, int maxPriority,
+                                          Destinations destinations, boolean[] express) {
+        int from = batches.starts()[batch];
+        int to = batches.starts()[batch + 1];
+        int[] members = batches.members();
+        double latitude = 0;
+        double longitude = 0;
+        for (int k = from; k < to; k++) {
+            latitude += destinations.latitudes()[members[k]];
+            longitude += destinations.longitudes()[members[k]];
+        }
+        latitude /= to - from;
+        longitude /= to - from;
+        double radiusKm = 0;
+        for (int k = from; k < to; k++) {
+            radiusKm = Math.max(radiusKm, distanceKm(latitude, longitude,
+                    destinations.latitudes()[members[k]], destinations.longitudes()[members[k]]));
+        }
+        List<UUID> orderIds = IntStream.range(from, to)
+                .map(k -> members[k])
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> destinations.priorities()[i]).reversed())
+                .map(i -> destinations.ids()[i])
+                .toList();
+        return DispatchBatchDTO.builder()
+                .express(express[members[from]])
+                .maxPriority(maxPriority)
+                .centroid(new LocationDTO(latitude, longitude))
+                .radiusKm(radiusKm)
+                .orderIds(orderIds)
+                .build();
+    }
+
+    /** Great-circle (haversine) distance in kilometres. */
+    private static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(dLatitude / 2), 2) + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(dLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,251 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.client.ForecastResponseDTO;
+import com.ecostream.order.client.ForecastShedException;
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the ETAs of IN_TRANSIT orders fresh in the background, so reads are answered from
+ * {@link EtaStore} instead of calling the AI service: one thread walks the orders in keyset
+ * batches by ID and refreshes one forecast at a time, at most calls-per-second (each gap
+ * jittered so instances do not synchronize), then waits until interval has passed since the
+ * walk began before starting the next one. The forecaster therefore sees a steady load set by
+ * this rate rather than by dashboard traffic.
+ * The rate follows the forecastService circuit breaker: scaled down by the failure rate while
+ * closed, to half-open-factor while half-open, and one attempt per second while open (rejected by
+ * the breaker without a network call until it lets a trial call through).
+ * Each call goes through the forecast scheduler in its order's lane, so refreshes never take
+ * slots ahead of waiting Express reads; a shed call counts as outcome=shed and is retried on a
+ * later walk. Off unless order.eta-refresh.enabled is set.
+ * Exposes ecostream.eta.refresh.calls{outcome}, ecostream.eta.refresh.rate and
+ * ecostream.eta.refresh.cycle (time to walk all IN_TRANSIT orders).
+ */
+@Component
+@ConditionalOnProperty(name = "order.eta-refresh.enabled", havingValue = "true")
+@Slf4j
+public class EtaRefresher implements SmartLifecycle {
+
+    private static final long OPEN_PROBE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RETRY_AFTER_ERROR_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final OrderRepository orderRepository;
+    private final ForecastingClient forecastingClient;
+    private final EtaStore etaStore;
+    private final CircuitBreaker circuitBreaker;
+    private final long intervalNanos;
+    private final double callsPerSecond;
+    private final int batchSize;
+    private final double jitter;
+    private final double halfOpenFactor;
+
+    private final Counter refreshed;
+    private final Counter failed;
+    private final Counter shed;
+    private final Timer cycleTimer;
+
+    /** Walk state, only touched by the refresher thread. */
+    private final Deque<Order> batch = new ArrayDeque<>();
+    private UUID cursor;
+    private boolean walking;
+    private long walkStart;
+
+    private volatile double currentRate;
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public EtaRefresher(OrderRepository orderRepository,
+                        ForecastingClient forecastingClient,
+                        EtaStore etaStore,
+                        CircuitBreakerRegistry circuitBreakerRegistry,
+                        @Value("${order.eta-refresh.interval:60s}") Duration interval,
+                        @Value("${order.eta-refresh.calls-per-second:10}") double callsPerSecond,
+                        @Value("${order.eta-refresh.batch-size:200}") int batchSize,
+                        @Value("${order.eta-refresh.jitter:0.2}") double jitter,
+                        @Value("${order.eta-refresh.half-open-factor:0.1}") double halfOpenFactor,
+                        MeterRegistry meterRegistry) {
+        if (callsPerSecond <= 0 || batchSize < 1 || jitter < 0 || jitter >= 1 || halfOpenFactor <= 0) {
+            throw new IllegalArgumentException("Invalid ETA refresh settings: calls-per-second=" + callsPerSecond
+                    + ", batch-size=" + batchSize + ", jitter=" + jitter + ", half-open-factor=" + halfOpenFactor);
+        }
+        this.orderRepository = orderRepository;
+        this.forecastingClient = forecastingClient;
+        this.etaStore = etaStore;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("forecastService");
+        this.intervalNanos = interval.toNanos();
+        this.callsPerSecond = callsPerSecond;
+        this.batchSize = batchSize;
+        this.jitter = jitter;
+        this.halfOpenFactor = halfOpenFactor;
+        this.refreshed = callCounter("refreshed", meterRegistry);
+        this.failed = callCounter("failed", meterRegistry);
+        this.shed = callCounter("shed", meterRegistry);
+        this.cycleTimer = Timer.builder("ecostream.eta.refresh.cycle")
+                .description("Time to refresh the ETAs of all IN_TRANSIT orders once")
+                .register(meterRegistry);
+        Gauge.builder("ecostream.eta.refresh.rate", this, EtaRefresher::getCurrentRate)
+                .description("Current ETA refresh rate in forecast calls per second")
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(String outcome, MeterRegistry registry) {
+        return Counter.builder("ecostream.eta.refresh.calls")
+                .description("Background ETA refresh calls by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "eta-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        executor.schedule(this::run, jittered(TimeUnit.SECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+        log.info("ETA refresh started (up to {} calls/s, every {} s)", callsPerSecond,
+                TimeUnit.NANOSECONDS.toSeconds(intervalNanos));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long delay;
+        try {
+            delay = step();
+        } catch (RuntimeException e) {
+            log.warn("ETA refresh step failed: {}", e.getMessage());
+            walking = false;
+            batch.clear();
+            delay = RETRY_AFTER_ERROR_NANOS;
+        }
+        if (running) {
+            executor.schedule(this::run, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Refreshes at most one order.
+     *
+     * @return nanoseconds to wait before the next step
+     */
+    long step() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        double rate = rateFor(state);
+        currentRate = rate;
+        Order order = nextOrder();
+        if (order == null) {
+            return Math.max(0, walkStart + intervalNanos - System.nanoTime());
+        }
+        if (!refresh(order) && isOpen(state)) {
+            batch.addFirst(order); // the breaker rejected it without a call; retry once it lets calls through
+        }
+        return jittered((long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    }
+
+    /** Calls per second for the breaker state: the health signal the refresh adapts to. */
+    double rateFor(CircuitBreaker.State state) {
+        if (isOpen(state)) {
+            return Math.min(callsPerSecond, TimeUnit.SECONDS.toNanos(1) / (double) OPEN_PROBE_NANOS);
+        }
+        if (state == CircuitBreaker.State.HALF_OPEN) {
+            return callsPerSecond * halfOpenFactor;
+        }
+        float failureRate = circuitBreaker.getMetrics().getFailureRate(); // -1 until enough calls
+        double healthy = failureRate > 0 ? 1 - failureRate / 100.0 : 1;
+        return callsPerSecond * Math.max(halfOpenFactor, healthy);
+    }
+
+    private static boolean isOpen(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /** Next order of the current walk, loading the next keyset batch as needed; null once the walk is done. */
+    private Order nextOrder() {
+        if (batch.isEmpty()) {
+            if (!walking) {
+                walking = true;
+                walkStart = System.nanoTime();
+                cursor = null;
+            }
+            List<Order> page = cursor == null
+                    ? orderRepository.findByStatusOrderByIdAsc(OrderStatus.IN_TRANSIT, Limit.of(batchSize))
+                    : orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.IN_TRANSIT, cursor, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                walking = false;
+                cycleTimer.record(System.nanoTime() - walkStart, TimeUnit.NANOSECONDS);
+                return null;
+            }
+            batch.addAll(page);
+            cursor = page.get(page.size() - 1).getId();
+        }
+        return batch.poll();
+    }
+
+    /** Fetches and stores one forecast; false if none was received. */
+    private boolean refresh(Order order) {
+        String priority = OrderServiceImpl.priorityForAi(order);
+        try {
+            ForecastResponseDTO forecast = forecastingClient.getForecast(order.getId(),
+                    order.getDestinationLatitude(), order.getDestinationLongitude(), priority);
+            if (forecast != null) {
+                etaStore.put(order, priority, forecast);
+                refreshed.increment();
+                return true;
+            }
+        } catch (ForecastShedException e) {
+            log.debug("ETA refresh for order {} shed: {}", order.getId(), e.getMessage());
+            shed.increment();
+            return false;
+        } catch (RuntimeException e) {
+            log.debug("ETA refresh failed for order {}: {}", order.getId(), e.getMessage());
+        }
+        failed.increment();
+        return false;
+    }
+
+    private long jittered(long nanos) {
+        return (long) (nanos * (1 + jitter * ThreadLocalRandom.current().nextDouble(-1, 1)));
+    }
+
+    /** Current refresh rate in calls per second. */
+    public double getCurrentRate() {
+        return currentRate;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.client.ForecastResponseDTO;
+import com.ecostream.order.entity.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Last good AI forecast per order, written by reads and by {@link EtaRefresher}. A forecast
+ * younger than fresh-for answers reads without calling the AI service; an older one is only
+ * served when a fresh call is shed under load or fails.
+ * An entry only answers for the destination and priority class it was computed for, so an order
+ * whose destination or priority changed is never given the old ETA; entries are not invalidated
+ * on writes and expire after max-age. Reads answered without a call are counted in
+ * ecostream.forecast.fresh-hits, fallback lookups in ecostream.forecast.last-known by outcome
+ * (served, missing); size and evictions in the cache.* metrics tagged cache=etas.
+ */
+@Component
+public class EtaStore {
+
+    private record Entry(Double destinationLatitude, Double destinationLongitude, String priority,
+                         ForecastResponseDTO forecast, long storedAtNanos) {
+
+        boolean matches(Order order, String priority) {
+            return Objects.equals(destinationLatitude, order.getDestinationLatitude())
+                    && Objects.equals(destinationLongitude, order.getDestinationLongitude())
+                    && Objects.equals(this.priority, priority);
+        }
+    }
+
+    private final Cache<UUID, Entry> cache;
+    private final long freshForNanos;
+    private final Counter freshHits;
+    private final Counter served;
+    private final Counter missing;
+
+    public EtaStore(@Value("${order.eta-store.maximum-size:100000}") int maximumSize,
+                    @Value("${order.eta-store.max-age:15m}") Duration maxAge,
+                    @Value("${order.eta-store.fresh-for:2m}") Duration freshFor,
+                    MeterRegistry meterRegistry) {
+        this.freshForNanos = freshFor.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "etas");
+        this.served = lookupCounter("served", meterRegistry);
+        this.missing = lookupCounter("missing", meterRegistry);
+        this.freshHits = Counter.builder("ecostream.forecast.fresh-hits")
+                .description("Forecasts answered from the store without calling the AI service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a forecast just received for the order.
+     *
+     * @param order    the order the forecast was requested for
+     * @param priority the priority class sent to the AI service ("Express" or "Standard")
+     * @param forecast the forecast
+     */
+    public void put(Order order, String priority, ForecastResponseDTO forecast) {
+        cache.put(order.getId(), new Entry(order.getDestinationLatitude(), order.getDestinationLongitude(),
+                priority, forecast, System.nanoTime()));
+    }
+
+    /**
+     * Returns the forecast for the order's current destination and priority class if it was
+     * stored less than fresh-for ago, so the caller can skip the AI call.
+     *
+     * @param order    the order as it is now
+     * @param priority the priority class that would be sent to the AI service
+     * @return the fresh forecast, empty if there is none
+     */
+    public Optional<ForecastResponseDTO> fresh(Order order, String priority) {
+        Entry entry = cache.getIfPresent(order.getId());
+        if (entry == null || System.nanoTime() - entry.storedAtNanos() >= freshForNanos || !entry.matches(order, priority)) {
+            return Optional.empty();
+        }
+        freshHits.increment();
+        return Optional.of(entry.forecast());
+    }
+
+    /**
+     * Returns the last forecast recorded for the order's current destination and priority class.
+     *
+     * @param order    the order as it is now
+     * @param priority the priority class that would be sent to the AI service
+     * @return the last known forecast, empty if none matches
+     */
+    public Optional<ForecastResponseDTO> lastKnown(Order order, String priority) {
+        Entry entry = cache.getIfPresent(order.getId());
+        if (entry == null || !entry.matches(order, priority)) {
+            missing.increment();
+            return Optional.empty();
+        }
+        served.increment();
+        return Optional.of(entry.forecast());
+    }
+
+    private static Counter lookupCounter(String outcome, MeterRegistry registry) {
+        return Counter.builder("ecostream.forecast.last-known")
+                .description("Last known forecasts looked up because a fresh one was unavailable")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
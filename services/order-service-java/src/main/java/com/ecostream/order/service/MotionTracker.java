@@ -0,0 +1,188 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running motion statistics (speed, heading, distance, idle time) per order.
+ * Each telemetry point is folded in with an O(1) update over primitive fields, so consumers
+ * never have to replay the DynamoDB history to know how fast a vehicle is moving.
+ * State is about 72 bytes per order (plus the map entry), i.e. a few MB at 100k active orders.
+ * State is dropped when an order leaves IN_TRANSIT or is deleted; the map is also bounded by
+ * max-orders and idle expiry, so telemetry for unknown or forgotten order IDs cannot grow it.
+ */
+@Component
+public class MotionTracker {
+
+    private static final double EARTH_RADIUS_M = 6_371_000.0;
+
+    /** Weight of the newest segment in the exponentially smoothed speed. */
+    private static final double SPEED_SMOOTHING = 0.3;
+
+    /** Segments shorter than this are GPS jitter and do not change the heading. */
+    private static final double MIN_HEADING_DISTANCE_M = 2.0;
+
+    private final double idleSpeedThresholdMps;
+    private final Cache<UUID, MotionState> states;
+    private final LongAdder updates = new LongAdder();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    public MotionTracker(@Value("${order.motion.idle-speed-threshold-kmh:1.0}") double idleSpeedThresholdKmh,
+                         @Value("${order.motion.max-orders:200000}") long maxOrders,
+                         @Value("${order.motion.idle-expiry:1h}") Duration idleExpiry) {
+        this.idleSpeedThresholdMps = idleSpeedThresholdKmh / 3.6;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxOrders)
+                .expireAfterAccess(idleExpiry)
+                .executor(Runnable::run)
+                // Evicted or removed statistics disappear from responses, which is a change too
+                .removalListener((id, state, cause) -> updates.increment())
+                .build();
+    }
+
+    /**
+     * Folds a telemetry point into the running statistics of an order.
+     *
+     * @param orderId     the order UUID
+     * @param latitude    current latitude
+     * @param longitude   current longitude
+     * @param epochMillis time the point was received
+     */
+    public void record(UUID orderId, double latitude, double longitude, long epochMillis) {
+        states.get(orderId, id -> new MotionState())
+                .update(latitude, longitude, epochMillis, idleSpeedThresholdMps);
+        updates.increment();
+    }
+
+    /**
+     * Returns a snapshot of the statistics for an order, empty if no telemetry was received.
+     *
+     * @param orderId the order UUID
+     * @return the current statistics
+     */
+    public Optional<MotionStatsDTO> getStats(UUID orderId) {
+        MotionState state = states.getIfPresent(orderId);
+        return state == null ? Optional.empty() : Optional.of(state.snapshot());
+    }
+
+    /**
+     * Drops the statistics of an order (when it is deleted or leaves IN_TRANSIT).
+     *
+     * @param orderId the order UUID
+     */
+    public void remove(UUID orderId) {
+        states.invalidate(orderId);
+    }
+
+    /**
+     * Telemetry points recorded plus statistics dropped; changes whenever any order's statistics
+     * change. Only meaningful together with {@link #getEpoch()}.
+     */
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    /**
+     * Random identifier of this tracker's lifetime. The statistics live only in this JVM, so
+     * validators derived from them include it: another instance, or this one after a restart
+     * (when update counts start again from zero), never reproduces the same value.
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /** Number of orders currently tracked. */
+    public long size() {
+        return states.estimatedSize();
+    }
+
+    /**
+     * Great-circle distance in meters between two coordinates (Haversine).
+     */
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Initial bearing in degrees (0-360, clockwise from north) from the first to the second coordinate.
+     */
+    static double bearingDegrees(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double y = Math.sin(dLon) * Math.cos(phi2);
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(dLon);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360.0) % 360.0;
+    }
+
+    /**
+     * Mutable per-order state; all access is guarded by the instance monitor,
+     * which is uncontended unless the same order reports from several threads at once.
+     */
+    private static final class MotionState {
+        private double lastLatitude;
+        private double lastLongitude;
+        private long firstMillis;
+        private long lastMillis;
+        private double distanceMeters;
+        private long idleMillis;
+        private float speedMps;
+        private float headingDegrees = Float.NaN;
+        private int points;
+
+        synchronized void update(double latitude, double longitude, long epochMillis, double idleThresholdMps) {
+            if (points == 0) {
+                firstMillis = epochMillis;
+            } else {
+                double segment = MotionTracker.distanceMeters(lastLatitude, lastLongitude, latitude, longitude);
+                distanceMeters += segment;
+                long dtMillis = epochMillis - lastMillis;
+                if (dtMillis > 0) {
+                    double segmentSpeed = segment * 1000.0 / dtMillis;
+                    speedMps = points == 1
+                            ? (float) segmentSpeed
+                            : (float) (SPEED_SMOOTHING * segmentSpeed + (1 - SPEED_SMOOTHING) * speedMps);
+                    if (segmentSpeed < idleThresholdMps) {
+                        idleMillis += dtMillis;
+                    }
+                }
+                if (segment >= MIN_HEADING_DISTANCE_M) {
+                    headingDegrees = (float) MotionTracker.bearingDegrees(
+                            lastLatitude, lastLongitude, latitude, longitude);
+                }
+            }
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+            lastMillis = Math.max(lastMillis, epochMillis);
+            points++;
+        }
+
+        synchronized MotionStatsDTO snapshot() {
+            long elapsedMillis = lastMillis - firstMillis;
+            double averageKmh = elapsedMillis > 0 ? distanceMeters / elapsedMillis * 3600.0 : 0.0;
+            return MotionStatsDTO.builder()
+                    .speedKmh(speedMps * 3.6)
+                    .averageSpeedKmh(averageKmh)
+                    .headingDegrees(Float.isNaN(headingDegrees) ? null : (double) headingDegrees)
+                    .distanceTravelledKm(distanceMeters / 1000.0)
+                    .idleSeconds(idleMillis / 1000)
+                    .telemetryPoints(points)
+                    .lastUpdatedEpochMillis(lastMillis)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of Order rows in front of OrderRepository.findById.
+ * Entries are detached entities that are only ever mapped to DTOs, never modified.
+ * Writers invalidate after their change is committed; because Caffeine blocks an invalidate
+ * on a key until an in-flight load of that key finishes, a load racing a write cannot leave
+ * the old row behind. That invalidation is local to this instance: writes made through other
+ * instances, or by plain SQL, are dropped by {@link OrderChangeFollower} once they reach the
+ * change feed (an interval plus the settling delay), and the TTL bounds staleness should the
+ * follower be disabled or fall behind.
+ * Exposes cache.gets/puts/evictions metrics tagged cache=orders.
+ */
+@Component
+@Slf4j
+public class OrderCache {
+
+    private static final EnumSet<OrderStatus> INACTIVE = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final Cache<UUID, Order> cache;
+    private final boolean enabled;
+    private final boolean warmUp;
+    private final int maximumSize;
+
+    public OrderCache(OrderRepository orderRepository,
+                      @Value("${order.cache.enabled:true}") boolean enabled,
+                      @Value("${order.cache.maximum-size:10000}") int maximumSize,
+                      @Value("${order.cache.ttl:30s}") Duration ttl,
+                      @Value("${order.cache.warm-up:false}") boolean warmUp,
+                      MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.warmUp = warmUp;
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    /**
+     * Returns the order, loading it with the given function on a miss. Missing orders are not cached.
+     *
+     * @param id     the order UUID
+     * @param loader loads the order from the database
+     * @return the order, empty if it does not exist
+     */
+    public Optional<Order> get(UUID id, Function<UUID, Optional<Order>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Drops one order; call after the write that changed it has committed.
+     *
+     * @param id the order UUID
+     */
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drops several orders; call after the write that changed them has committed.
+     *
+     * @param ids the order UUIDs
+     */
+    public void invalidateAll(Collection<UUID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /** Fraction of lookups served from the cache since startup. */
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * Loads up to maximum-size active (not DELIVERED or CANCELLED) orders when order.cache.warm-up is set,
+     * so the first reads of in-transit orders after a deploy do not all go to Postgres.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || !warmUp) {
+            return;
+        }
+        List<Order> active = orderRepository.findByStatusNotIn(INACTIVE, Limit.of(maximumSize));
+        active.forEach(order -> cache.put(order.getId(), order));
+        log.info("Order cache warmed with {} active orders", active.size());
+    }
+}
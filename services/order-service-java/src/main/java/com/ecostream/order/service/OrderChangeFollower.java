@@ -0,0 +1,204 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.OrderTombstone;
+import com.ecostream.order.repository.OrderChangeSequence;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderSpatialQueries.Destinations;
+import com.ecostream.order.repository.OrderTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the change feed (orders and tombstones by change_version, up to the settled version)
+ * and applies every change to this instance's in-memory state: the {@link DestinationTable} is
+ * updated and the changed orders are dropped from the {@link OrderCache}, so orders written
+ * through other instances, or by plain SQL, reach arrival detection and single-order reads
+ * within an interval. Local writes have already done both and come back here as no-ops (plus
+ * one cache miss). The cursor starts at the settled version read before the startup load, so
+ * nothing committed after the load's snapshot is missed.
+ */
+@Component
+@Slf4j
+public class OrderChangeFollower implements SmartLifecycle {
+
+    private final OrderRepository orderRepository;
+    private final OrderTombstoneRepository orderTombstoneRepository;
+    private final OrderChangeSequence orderChangeSequence;
+    private final DestinationTable destinationTable;
+    private final OrderCache orderCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    /** Highest change version applied; -1 until started. Only touched under this. */
+    private long cursor = -1;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public OrderChangeFollower(OrderRepository orderRepository,
+                               OrderTombstoneRepository orderTombstoneRepository,
+                               OrderChangeSequence orderChangeSequence,
+                               DestinationTable destinationTable,
+                               OrderCache orderCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${order.change-feed.follow.enabled:true}") boolean enabled,
+                               @Value("${order.change-feed.follow.interval:2s}") Duration interval,
+                               @Value("${order.change-feed.follow.batch-size:1000}") int batchSize) {
+        if (interval.toMillis() < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Invalid change feed follow settings: interval=" + interval
+                    + ", batch-size=" + batchSize);
+        }
+        this.orderRepository = orderRepository;
+        this.orderTombstoneRepository = orderTombstoneRepository;
+        this.orderChangeSequence = orderChangeSequence;
+        this.destinationTable = destinationTable;
+        this.orderCache = orderCache;
+        // Not read-only: the settled version must be read on the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.intervalMillis = interval.toMillis();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the starting cursor, after the change version backfill and before
+     * {@link DestinationTable#load()}; changes above it are replayed on the first poll.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    public void startFollowing() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            cursor = transactionTemplate.execute(status -> orderChangeSequence.settledVersion());
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-change-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        executor.scheduleWithFixedDelay(this::pollSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Following the order change feed from version {} every {} ms", cursor, intervalMillis);
+    }
+
+    @Override
+    public void start() {
+        // Started by startFollowing, once the change versions are backfilled
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Order change feed poll failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Applies the changes settled since the last poll, a page at a time. Only called from the
+     * follower thread (or a test).
+     *
+     * @return number of changes applied
+     */
+    synchronized int poll() {
+        if (cursor < 0) {
+            return 0;
+        }
+        int applied = 0;
+        boolean more = true;
+        while (more) {
+            long[] next = new long[1];
+            boolean[] full = new boolean[1];
+            List<UUID> changed = new ArrayList<>();
+            applied += destinationTable.applySnapshot(() -> transactionTemplate.execute(status -> {
+                long upTo = orderChangeSequence.settledVersion();
+                List<Order> orders = orderRepository
+                        .findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                                cursor, upTo, Limit.of(batchSize));
+                List<OrderTombstone> tombstones = orderTombstoneRepository
+                        .findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                                cursor, upTo, Limit.of(batchSize));
+                // A full page may stop short of upTo; the other side is reapplied from there (idempotent)
+                next[0] = upTo;
+                if (orders.size() == batchSize) {
+                    next[0] = Math.min(next[0], orders.get(orders.size() - 1).getChangeVersion());
+                    full[0] = true;
+                }
+                if (tombstones.size() == batchSize) {
+                    next[0] = Math.min(next[0], tombstones.get(tombstones.size() - 1).getChangeVersion());
+                    full[0] = true;
+                }
+                orders.forEach(order -> changed.add(order.getId()));
+                tombstones.forEach(tombstone -> changed.add(tombstone.getOrderId()));
+                return toSnapshot(orders, tombstones);
+            }));
+            // Committed and read on the primary, which is where the cache loads from
+            orderCache.invalidateAll(changed);
+            cursor = Math.max(cursor, next[0]);
+            more = full[0] && running;
+        }
+        return applied;
+    }
+
+    private static DestinationTable.Snapshot toSnapshot(List<Order> orders, List<OrderTombstone> tombstones) {
+        List<Order> inTransit = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getStatus() == OrderStatus.IN_TRANSIT) {
+                inTransit.add(order);
+            } else {
+                removed.add(order.getId());
+            }
+        }
+        for (OrderTombstone tombstone : tombstones) {
+            removed.add(tombstone.getOrderId());
+        }
+        UUID[] ids = new UUID[inTransit.size()];
+        double[] latitudes = new double[inTransit.size()];
+        double[] longitudes = new double[inTransit.size()];
+        int[] priorities = new int[inTransit.size()];
+        for (int i = 0; i < inTransit.size(); i++) {
+            Order order = inTransit.get(i);
+            ids[i] = order.getId();
+            latitudes[i] = order.getDestinationLatitude();
+            longitudes[i] = order.getDestinationLongitude();
+            priorities[i] = order.getPriority();
+        }
+        return new DestinationTable.Snapshot(new Destinations(ids, latitudes, longitudes, priorities), removed);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecostream.order.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published after orders were created, updated or deleted (once the change is committed),
+ * so derived views such as cached list responses can be invalidated.
+ *
+ * @param orderIds IDs of the orders that changed
+ */
+public record OrderChangedEvent(Collection<UUID> orderIds) {
+}
@@ -0,0 +1,14 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.OrderResponseDTO;
+
+import java.util.List;
+
+/**
+ * A full order list together with its ETag, derived from the same rows.
+ *
+ * @param orders the orders as OrderResponseDTOs
+ * @param eTag   the list validator (unquoted), same format as {@link OrderService#getOrdersETag()}
+ */
+public record OrderList(List<OrderResponseDTO> orders, String eTag) {
+}
@@ -1,12 +1,18 @@
 package com.ecostream.order.service;
 
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
 import com.ecostream.order.dto.OrderRequestDTO;
 import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.StaleTelemetryDTO;
 import com.ecostream.order.dto.UpdateOrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for order management operations.
@@ -30,6 +36,15 @@ public interface OrderService {
      */
     Optional<OrderResponseDTO> getOrderById(UUID id);
 
+    /**
+     * Non-blocking variant of {@link #getOrderById(UUID)}: the order is loaded on the calling
+     * thread (a bounded, fast JDBC call) and the AI forecast is requested without holding it.
+     *
+     * @param id the UUID of the order to retrieve
+     * @return a future of the order, completed once the forecast has arrived or failed
+     */
+    CompletableFuture<Optional<OrderResponseDTO>> getOrderByIdAsync(UUID id);
+
     /**
      * Retrieves all orders in the system.
      *
@@ -37,6 +52,87 @@ public interface OrderService {
      */
     List<OrderResponseDTO> getAllOrders();
 
+    /**
+     * Retrieves all orders and derives the list ETag from the loaded rows, so a full listing
+     * costs one query instead of a watermark query plus the load.
+     *
+     * @return all orders with the ETag {@link #getOrdersETag()} would return for the same data
+     */
+    OrderList getAllOrdersWithETag();
+
+    /**
+     * Non-blocking variant of {@link #getAllOrdersWithETag()}: the rows are loaded on the calling
+     * thread and the forecasts for all orders are requested concurrently rather than one by one.
+     *
+     * @return a future of all orders with their ETag, completed once every forecast has arrived or failed
+     */
+    CompletableFuture<OrderList> getAllOrdersAsync();
+
+    /**
+     * Retrieves all orders with a specific status.
+     *
+     * @param status the status to filter by
+     * @return the matching orders as OrderResponseDTOs
+     */
+    List<OrderResponseDTO> getOrdersByStatus(OrderStatus status);
+
+    /**
+     * Retrieves the highest-priority orders.
+     *
+     * @param limit maximum number of orders to return
+     * @return orders sorted by priority (descending) as OrderResponseDTOs
+     */
+    List<OrderResponseDTO> getTopOrdersByPriority(int limit);
+
+    /**
+     * Retrieves orders whose destination lies in a latitude/longitude box, newest first, using
+     * the destination cell index rather than a table scan. Orders are returned without AI
+     * forecasts.
+     *
+     * @param minLatitude southern edge in degrees
+     * @param minLongitude western edge in degrees
+     * @param maxLatitude northern edge in degrees
+     * @param maxLongitude eastern edge in degrees (the box must not cross the antimeridian)
+     * @param statuses statuses to include; empty for all
+     * @param limit maximum number of orders to return
+     * @return the matching orders as OrderResponseDTOs
+     */
+    List<OrderResponseDTO> getOrdersWithin(double minLatitude, double minLongitude, double maxLatitude,
+                                           double maxLongitude, Set<OrderStatus> statuses, int limit);
+
+    /**
+     * Retrieves orders whose destination lies within a great-circle radius of a point, nearest
+     * first, using the destination cell index. Orders are returned without AI forecasts.
+     *
+     * @param latitude centre latitude in degrees
+     * @param longitude centre longitude in degrees
+     * @param radiusKm radius in kilometres
+     * @param statuses statuses to include; empty for all
+     * @param limit maximum number of orders to return
+     * @return the matching orders as OrderResponseDTOs
+     */
+    List<OrderResponseDTO> getOrdersNearby(double latitude, double longitude, double radiusKm,
+                                           Set<OrderStatus> statuses, int limit);
+
+    /**
+     * Returns a cheap validator for the representation of one order, served from the order
+     * cache when possible and without calling the AI service. Changes when the order row (optimistic-lock version)
+     * or its motion statistics change; AI forecast fields are not covered.
+     *
+     * @param id the UUID of the order
+     * @return an Optional containing the ETag value (unquoted), empty if the order does not exist
+     */
+    Optional<String> getOrderETag(UUID id);
+
+    /**
+     * Returns a cheap validator for the full order list, computed from the row count,
+     * the highest change version, a digest of every (id, change version) pair and the
+     * motion statistics update count.
+     *
+     * @return the ETag value (unquoted)
+     */
+    String getOrdersETag();
+
     /**
      * Updates an existing order with the provided request data.
      *
@@ -62,4 +158,33 @@ public interface OrderService {
      * @param request the telemetry request with currentLatitude and currentLongitude
      */
     void ingestTelemetry(UUID orderId, com.ecostream.order.dto.TelemetryRequestDTO request);
+
+    /**
+     * Returns the running motion statistics of an order computed from ingested telemetry.
+     *
+     * @param orderId the UUID of the order
+     * @return an Optional containing the statistics, empty if no telemetry has been received
+     */
+    Optional<MotionStatsDTO> getMotionStats(UUID orderId);
+
+    /**
+     * Returns the IN_TRANSIT orders that have sent no telemetry for the configured interval
+     * (see {@link StaleTelemetryDetector}), longest silent first.
+     *
+     * @param limit maximum number of orders to return
+     * @return the flagged orders
+     */
+    List<StaleTelemetryDTO> getStaleTelemetryOrders(int limit);
+
+    /**
+     * Returns the orders created, updated or deleted after a change version, oldest change first.
+     * Versions are assigned when a write happens, not when it commits, so changes are only
+     * returned up to the highest version no in-flight transaction can still commit below;
+     * a change appears once every write that started before it has finished.
+     *
+     * @param since exclusive lower bound; 0 returns every order
+     * @param limit maximum number of changes (upserts plus deletes) to return
+     * @return the changes and the version to poll from next
+     */
+    OrderChangesResponseDTO getChangesSince(long since, int limit);
 }
@@ -1,37 +1,86 @@
 package com.ecostream.order.service;
 
+import com.ecostream.order.client.ForecastFanOut;
 import com.ecostream.order.client.ForecastResponseDTO;
+import com.ecostream.order.client.ForecastShedException;
 import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.config.DataSourceRouting;
+import com.ecostream.order.config.RequestTimings;
+import com.ecostream.order.config.RequestTimings.Phase;
 import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
 import com.ecostream.order.dto.OrderRequestDTO;
 import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.OrderTombstoneDTO;
+import com.ecostream.order.dto.StaleTelemetryDTO;
 import com.ecostream.order.dto.TelemetryRequestDTO;
 import com.ecostream.order.dto.UpdateOrderRequestDTO;
 import com.ecostream.order.entity.Order;
 import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.OrderTombstone;
 import com.ecostream.order.entity.Telemetry;
+import com.ecostream.order.entity.ZOrder;
+import com.ecostream.order.repository.OrderChangeSequence;
 import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderTombstoneRepository;
 import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Implementation of OrderService interface.
  * Provides business logic for order management operations.
+ * Reads run in read-only transactions (Spring Data's repository defaults, or explicit
+ * readOnly = true here) so they can be served by the read replica when routing is enabled.
+ * Methods that call the AI service are deliberately not transactional so no database
+ * connection is held during the HTTP call.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    /** Mean Earth radius used by the radius query. */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    /** Cell ranges per spatial query: more ranges read fewer rows outside the box but cost more index scans. */
+    private static final int MAX_CELL_RANGES = 16;
+
     private final OrderRepository orderRepository;
     private final TelemetryRepository telemetryRepository;
     private final ForecastingClient forecastingClient;
+    private final MotionTracker motionTracker;
+    private final OrderTombstoneRepository orderTombstoneRepository;
+    private final OrderChangeSequence orderChangeSequence;
+    private final OrderCache orderCache;
+    private final EtaStore etaStore;
+    private final StaleTelemetryDetector staleTelemetryDetector;
+    private final DestinationTable destinationTable;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Creates a new order from the provided request DTO.
@@ -45,15 +94,15 @@ public class OrderServiceImpl implements OrderService {
         log.debug("Creating new order with priority: {}", request.getPriority());
 
         // Map DTO to Entity, setting status to PENDING
-        Order order = Order.builder()
-                .status(OrderStatus.PENDING) // Always set to PENDING for new orders
-                .destinationLatitude(request.getDestination().getLatitude())
-                .destinationLongitude(request.getDestination().getLongitude())
-                .priority(request.getPriority())
-                .build();
+        Order order = toNewEntity(request);
 
-        // Save order to database
-        Order savedOrder = orderRepository.save(order);
+        // Save order to database, with a change version drawn in the same transaction
+        Order savedOrder = transactionTemplate.execute(tx -> {
+            order.setChangeVersion(orderChangeSequence.next());
+            return orderRepository.save(order);
+        });
+        destinationTable.sync(savedOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(List.of(savedOrder.getId())));
         log.info("Order created successfully with ID: {}", savedOrder.getId());
 
         // Map Entity to Response DTO
@@ -64,7 +113,7 @@ public class OrderServiceImpl implements OrderService {
     public Optional<OrderResponseDTO> getOrderById(UUID id) {
         log.debug("Retrieving order with ID: {}", id);
 
-        Optional<Order> orderOptional = orderRepository.findById(id);
+        Optional<Order> orderOptional = orderCache.get(id, this::findOnPrimary);
 
         if (orderOptional.isEmpty()) {
             log.debug("Order not found with ID: {}", id);
@@ -72,51 +121,321 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order order = orderOptional.get();
-        OrderResponseDTO dto = mapToResponseDTO(order);
+        OrderResponseDTO dto = RequestTimings.time(Phase.MAPPING, () -> mapToResponseDTO(order));
         enrichWithForecast(order.getId(), order, dto);
         log.info("Order retrieved successfully with ID: {}", id);
         return Optional.of(dto);
     }
 
+    @Override
+    public CompletableFuture<Optional<OrderResponseDTO>> getOrderByIdAsync(UUID id) {
+        log.debug("Retrieving order with ID: {} (async)", id);
+
+        Optional<Order> orderOptional = orderCache.get(id, this::findOnPrimary);
+
+        if (orderOptional.isEmpty()) {
+            log.debug("Order not found with ID: {}", id);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        Order order = orderOptional.get();
+        OrderResponseDTO dto = RequestTimings.time(Phase.MAPPING, () -> mapToResponseDTO(order));
+        RequestTimings.Recorder timings = RequestTimings.recorder();
+        long start = System.nanoTime();
+        return enrichWithForecastAsync(order, dto).thenApply(ignored -> {
+            timings.record(Phase.FORECAST, System.nanoTime() - start);
+            log.info("Order retrieved successfully with ID: {}", id);
+            return Optional.of(dto);
+        });
+    }
+
     @Override
     public List<OrderResponseDTO> getAllOrders() {
         log.debug("Retrieving all orders");
         List<Order> orders = orderRepository.findAll();
         log.info("Retrieved {} orders", orders.size());
-        return orders.stream()
+        return mapWithForecast(orders, "all");
+    }
+
+    @Override
+    public OrderList getAllOrdersWithETag() {
+        // Read before the rows, so the ETag can only be older than the body, never newer
+        long motionUpdates = motionTracker.getUpdateCount();
+        List<Order> orders = orderRepository.findAll();
+        log.info("Retrieved {} orders", orders.size());
+        return new OrderList(mapWithForecast(orders, "all"), ordersETag(orders, motionUpdates));
+    }
+
+    @Override
+    public CompletableFuture<OrderList> getAllOrdersAsync() {
+        log.debug("Retrieving all orders (async)");
+        // Read before the rows, so the ETag can only be older than the body, never newer
+        long motionUpdates = motionTracker.getUpdateCount();
+        List<Order> orders = orderRepository.findAll();
+        log.info("Retrieved {} orders", orders.size());
+        String eTag = ordersETag(orders, motionUpdates);
+
+        recordListRows("all", orders.size());
+        Timer.Sample enrichment = Timer.start(meterRegistry);
+        RequestTimings.Recorder timings = RequestTimings.recorder();
+        long start = System.nanoTime();
+        List<OrderResponseDTO> dtos = new ArrayList<>(orders.size());
+        CompletableFuture<?>[] forecasts = new CompletableFuture<?>[orders.size()];
+        // One group, so the forecast scheduler does not shed the tail of a long list as queue full
+        try (ForecastFanOut ignored = ForecastFanOut.open()) {
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                OrderResponseDTO dto = RequestTimings.time(Phase.MAPPING, () -> mapToResponseDTO(order));
+                dtos.add(dto);
+                forecasts[i] = enrichWithForecastAsync(order, dto);
+            }
+        }
+        return CompletableFuture.allOf(forecasts).thenApply(ignored -> {
+            // The forecasts overlap, so their wall-clock time is charged once rather than summed
+            timings.record(Phase.FORECAST, System.nanoTime() - start);
+            enrichment.stop(enrichmentTimer("all"));
+            return new OrderList(dtos, eTag);
+        });
+    }
+
+    @Override
+    public List<OrderResponseDTO> getOrdersByStatus(OrderStatus status) {
+        log.debug("Retrieving orders with status: {}", status);
+        List<Order> orders = orderRepository.findByStatus(status);
+        log.info("Retrieved {} orders with status {}", orders.size(), status);
+        return mapWithForecast(orders, "status");
+    }
+
+    @Override
+    public List<OrderResponseDTO> getTopOrdersByPriority(int limit) {
+        log.debug("Retrieving top {} orders by priority", limit);
+        List<Order> orders = orderRepository.findAllByOrderByPriorityDesc(Limit.of(limit));
+        log.info("Retrieved {} orders by priority", orders.size());
+        return mapWithForecast(orders, "priority");
+    }
+
+    @Override
+    public List<OrderResponseDTO> getOrdersWithin(double minLatitude, double minLongitude, double maxLatitude,
+                                                  double maxLongitude, Set<OrderStatus> statuses, int limit) {
+        log.debug("Retrieving up to {} orders within [{}, {}] - [{}, {}]", limit, minLatitude, minLongitude,
+                maxLatitude, maxLongitude);
+        List<ZOrder.Range> ranges = ZOrder.ranges(minLatitude, minLongitude, maxLatitude, maxLongitude, MAX_CELL_RANGES);
+        List<Order> orders = orderRepository.findInCellRanges(orAll(statuses), ranges,
+                minLatitude, minLongitude, maxLatitude, maxLongitude, limit);
+        recordListRows("within", orders.size());
+        return orders.stream().map(this::mapToResponseDTO).toList();
+    }
+
+    @Override
+    public List<OrderResponseDTO> getOrdersNearby(double latitude, double longitude, double radiusKm,
+                                                  Set<OrderStatus> statuses, int limit) {
+        log.debug("Retrieving up to {} orders within {} km of [{}, {}]", limit, radiusKm, latitude, longitude);
+        // Bounding box of the circle; it widens to all longitudes near a pole or across the antimeridian
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double minLatitude = Math.max(-90, latitude - Math.toDegrees(angular));
+        double maxLatitude = Math.min(90, latitude + Math.toDegrees(angular));
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        double sinSpan = Math.sin(angular) / Math.cos(Math.toRadians(latitude));
+        if (minLatitude > -90 && maxLatitude < 90 && sinSpan < 1) {
+            double span = Math.toDegrees(Math.asin(sinSpan));
+            if (longitude - span >= -180 && longitude + span <= 180) {
+                minLongitude = longitude - span;
+                maxLongitude = longitude + span;
+            }
+        }
+        List<ZOrder.Range> ranges = ZOrder.ranges(minLatitude, minLongitude, maxLatitude, maxLongitude, MAX_CELL_RANGES);
+        List<Order> orders = orderRepository.findWithinRadius(orAll(statuses), ranges, latitude, longitude, radiusKm, limit);
+        recordListRows("nearby", orders.size());
+        return orders.stream().map(this::mapToResponseDTO).toList();
+    }
+
+    /** All statuses when none are given, so the (status, destination_cell) index still applies. */
+    private static Set<OrderStatus> orAll(Set<OrderStatus> statuses) {
+        return statuses.isEmpty() ? EnumSet.allOf(OrderStatus.class) : statuses;
+    }
+
+    /**
+     * Maps a list query's rows and enriches each with a forecast, recording the row count and
+     * the enrichment time tagged by query ("all", "status", "priority").
+     */
+    private List<OrderResponseDTO> mapWithForecast(List<Order> orders, String query) {
+        recordListRows(query, orders.size());
+        return enrichmentTimer(query).record(() -> orders.stream()
                 .map(order -> {
-                    OrderResponseDTO dto = mapToResponseDTO(order);
+                    OrderResponseDTO dto = RequestTimings.time(Phase.MAPPING, () -> mapToResponseDTO(order));
                     enrichWithForecast(order.getId(), order, dto);
                     return dto;
                 })
-                .toList();
+                .toList());
+    }
+
+    private void recordListRows(String query, int rows) {
+        DistributionSummary.builder("ecostream.orders.list.rows")
+                .description("Rows returned by order list queries")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    private Timer enrichmentTimer(String query) {
+        return Timer.builder("ecostream.orders.list.enrichment")
+                .description("Time to map a list of orders and enrich them with AI forecasts")
+                .tag("query", query)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads an order from the primary, never the replica: used to fill the cache right after a
+     * write invalidated it and to read the row an update is about to modify.
+     */
+    private Optional<Order> findOnPrimary(UUID id) {
+        return DataSourceRouting.onPrimary(() -> orderRepository.findById(id));
+    }
+
+    @Override
+    public Optional<String> getOrderETag(UUID id) {
+        // Motion statistics live only in this JVM, so when they are part of the body the ETag names the tracker's epoch
+        return orderCache.get(id, this::findOnPrimary).map(Order::getVersion).map(version -> motionTracker.getStats(id)
+                .map(motion -> version + "-" + motionTracker.getEpoch() + "-" + motion.getLastUpdatedEpochMillis())
+                .orElse(String.valueOf(version)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getOrdersETag() {
+        OrderRepository.Watermark watermark = orderRepository.findWatermark();
+        return ordersETag(watermark.getCount(), watermark.getMaxChangeVersion(), watermark.getDigest(),
+                motionTracker.getUpdateCount());
     }
 
     /**
-     * Fetches ETA/distance from AI service and sets them on the DTO when available.
+     * Persisted watermark, plus this JVM's motion epoch and update count once any motion
+     * statistics exist (before that every motion field is null, so the rows alone decide).
+     */
+    private String ordersETag(long count, long maxChangeVersion, long digest, long motionUpdates) {
+        String persisted = count + "-" + maxChangeVersion + "-" + Long.toHexString(digest);
+        return motionUpdates == 0 ? persisted : persisted + "-" + motionTracker.getEpoch() + "-" + motionUpdates;
+    }
+
+    /** The list ETag computed from the loaded rows instead of the watermark query. */
+    private String ordersETag(List<Order> orders, long motionUpdates) {
+        MessageDigest md5 = md5();
+        long maxChangeVersion = 0;
+        long digest = 0;
+        for (Order order : orders) {
+            long changeVersion = order.getChangeVersion() == null ? 0 : order.getChangeVersion();
+            maxChangeVersion = Math.max(maxChangeVersion, changeVersion);
+            digest += rowDigest(md5, order.getId(), changeVersion);
+        }
+        return ordersETag(orders.size(), maxChangeVersion, digest, motionUpdates);
+    }
+
+    /**
+     * One row's share of the list digest: the first 32 bits of md5("id/changeVersion"), signed,
+     * as {@link OrderRepository#findWatermark()} computes it in SQL.
+     */
+    static int rowDigest(MessageDigest md5, UUID id, long changeVersion) {
+        byte[] hash = md5.digest((id + "/" + changeVersion).getBytes(StandardCharsets.US_ASCII));
+        return ByteBuffer.wrap(hash).getInt();
+    }
+
+    static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    /**
+     * Sets ETA/distance on the DTO from a fresh stored forecast, or from the AI service, falling
+     * back to the order's last known forecast.
      */
     private void enrichWithForecast(UUID orderId, Order order, OrderResponseDTO dto) {
+        String priority = priorityForAi(order);
+        Optional<ForecastResponseDTO> fresh = etaStore.fresh(order, priority);
+        if (fresh.isPresent()) {
+            applyForecast(dto, fresh.get());
+            return;
+        }
+        ForecastResponseDTO forecast = null;
         try {
-            String priorityForAi = order.getPriority() != null && order.getPriority() >= 5 ? "Express" : "Standard";
-            ForecastResponseDTO forecast = forecastingClient.getForecast(
+            forecast = forecastingClient.getForecast(
                     orderId,
                     order.getDestinationLatitude(),
                     order.getDestinationLongitude(),
-                    priorityForAi);
-            if (forecast != null) {
-                dto.setDistanceKm(forecast.distanceKm());
-                dto.setEstimatedArrivalMinutes(forecast.estimatedArrivalMinutes());
-            }
+                    priority);
+        } catch (ForecastShedException e) {
+            log.debug("AI forecast for order {} shed: {}", orderId, e.getMessage());
         } catch (Exception e) {
             log.warn("AI forecasting unavailable for order {}: {}", orderId, e.getMessage());
         }
+        applyForecastOrLastKnown(order, priority, dto, forecast);
+    }
+
+    /**
+     * Sets ETA/distance on the DTO from a fresh stored forecast, or requests them without
+     * blocking, falling back to the order's last known forecast when the call is shed or fails;
+     * the returned future never fails, so one unavailable forecast does not fail a whole list.
+     */
+    private CompletableFuture<Void> enrichWithForecastAsync(Order order, OrderResponseDTO dto) {
+        String priority = priorityForAi(order);
+        Optional<ForecastResponseDTO> fresh = etaStore.fresh(order, priority);
+        if (fresh.isPresent()) {
+            applyForecast(dto, fresh.get());
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<ForecastResponseDTO> forecast;
+        try {
+            forecast = forecastingClient.getForecastAsync(
+                    order.getId(),
+                    order.getDestinationLatitude(),
+                    order.getDestinationLongitude(),
+                    priority);
+        } catch (Exception e) {
+            forecast = CompletableFuture.failedFuture(e);
+        }
+        return forecast.handle((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof ForecastShedException) {
+                log.debug("AI forecast for order {} shed: {}", order.getId(), cause.getMessage());
+            } else if (cause != null) {
+                log.warn("AI forecasting unavailable for order {}: {}", order.getId(), cause.getMessage());
+            }
+            applyForecastOrLastKnown(order, priority, dto, result);
+            return null;
+        });
+    }
+
+    /** Applies a fresh forecast and remembers it, or applies the last known one when there is none. */
+    private void applyForecastOrLastKnown(Order order, String priority, OrderResponseDTO dto,
+                                          ForecastResponseDTO forecast) {
+        if (forecast != null) {
+            etaStore.put(order, priority, forecast);
+            applyForecast(dto, forecast);
+        } else {
+            etaStore.lastKnown(order, priority).ifPresent(lastKnown -> applyForecast(dto, lastKnown));
+        }
+    }
+
+    /** Priority class sent to the AI service, which also decides the forecast scheduling lane. */
+    static String priorityForAi(Order order) {
+        return order.getPriority() != null && order.getPriority() >= 5 ? "Express" : "Standard";
+    }
+
+    private static void applyForecast(OrderResponseDTO dto, ForecastResponseDTO forecast) {
+        if (forecast != null) {
+            dto.setDistanceKm(forecast.distanceKm());
+            dto.setEstimatedArrivalMinutes(forecast.estimatedArrivalMinutes());
+        }
     }
 
     @Override
     public Optional<OrderResponseDTO> updateOrder(UUID id, UpdateOrderRequestDTO request) {
         log.debug("Updating order with ID: {}", id);
         
-        Optional<Order> orderOptional = orderRepository.findById(id);
+        Optional<Order> orderOptional = findOnPrimary(id);
         
         if (orderOptional.isEmpty()) {
             log.debug("Order not found with ID: {}", id);
@@ -124,26 +443,22 @@ public class OrderServiceImpl implements OrderService {
         }
         
         Order order = orderOptional.get();
+        boolean wasInTransit = order.getStatus() == OrderStatus.IN_TRANSIT;
         
         // Update fields if provided in request
-        if (request.getStatus() != null) {
-            order.setStatus(request.getStatus());
-            log.debug("Updated status to: {}", request.getStatus());
-        }
-        
-        if (request.getDestination() != null) {
-            order.setDestinationLatitude(request.getDestination().getLatitude());
-            order.setDestinationLongitude(request.getDestination().getLongitude());
-            log.debug("Updated destination coordinates");
-        }
+        applyUpdate(order, request);
         
-        if (request.getPriority() != null) {
-            order.setPriority(request.getPriority());
-            log.debug("Updated priority to: {}", request.getPriority());
+        // Save updated order, with a change version drawn in the same transaction
+        Order updatedOrder = transactionTemplate.execute(tx -> {
+            order.setChangeVersion(orderChangeSequence.next());
+            return orderRepository.save(order);
+        });
+        orderCache.invalidate(id);
+        destinationTable.sync(updatedOrder);
+        if (wasInTransit && updatedOrder.getStatus() != OrderStatus.IN_TRANSIT) {
+            motionTracker.remove(id);
         }
-        
-        // Save updated order
-        Order updatedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(List.of(id)));
         log.info("Order updated successfully with ID: {}", id);
         
         return Optional.of(mapToResponseDTO(updatedOrder));
@@ -153,12 +468,15 @@ public class OrderServiceImpl implements OrderService {
     public boolean deleteOrder(UUID id) {
         log.debug("Deleting order with ID: {}", id);
         
-        if (!orderRepository.existsById(id)) {
+        if (orderRepository.deleteAllByIdReturning(List.of(id)).isEmpty()) {
             log.debug("Order not found with ID: {}", id);
             return false;
         }
         
-        orderRepository.deleteById(id);
+        orderCache.invalidate(id);
+        motionTracker.remove(id);
+        destinationTable.remove(id);
+        eventPublisher.publishEvent(new OrderChangedEvent(List.of(id)));
         log.info("Order deleted successfully with ID: {}", id);
         return true;
     }
@@ -167,7 +485,8 @@ public class OrderServiceImpl implements OrderService {
     public void ingestTelemetry(UUID orderId, TelemetryRequestDTO request) {
         log.debug("Ingesting telemetry for orderId: {}", orderId);
 
-        long timestamp = java.time.Instant.now().getEpochSecond();
+        Instant now = Instant.now();
+        long timestamp = now.getEpochSecond();
 
         Telemetry telemetry = Telemetry.builder()
                 .orderId(orderId.toString())
@@ -177,17 +496,145 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         telemetryRepository.save(telemetry);
+        motionTracker.record(orderId, request.getCurrentLatitude(), request.getCurrentLongitude(), now.toEpochMilli());
+        staleTelemetryDetector.rearm(orderId, now.toEpochMilli());
+        if (destinationTable.hasArrived(orderId, request.getCurrentLatitude(), request.getCurrentLongitude())) {
+            markDelivered(orderId);
+        }
 
         log.info("Telemetry ingested for orderId: {}, timestamp: {}", orderId, timestamp);
     }
 
+    /**
+     * Moves an order whose vehicle entered the arrival geofence from IN_TRANSIT to DELIVERED.
+     * Points that arrive while this runs may repeat it; only the first changes the row. If the
+     * update fails the destination stays in the table and the next point retries.
+     */
+    private void markDelivered(UUID orderId) {
+        List<UUID> changed;
+        try {
+            changed = orderRepository.transitionStatus(List.of(orderId), OrderStatus.DELIVERED.name(),
+                    List.of(OrderStatus.IN_TRANSIT.name()));
+        } catch (RuntimeException e) {
+            log.warn("Could not mark order {} as delivered on arrival: {}", orderId, e.toString());
+            return;
+        }
+        destinationTable.remove(orderId);
+        motionTracker.remove(orderId);
+        if (changed.isEmpty()) {
+            return;
+        }
+        orderCache.invalidate(orderId);
+        eventPublisher.publishEvent(new OrderChangedEvent(changed));
+        meterRegistry.counter("ecostream.telemetry.arrivals").increment();
+        log.info("Order {} delivered: vehicle reached the destination", orderId);
+    }
+
+    @Override
+    public Optional<MotionStatsDTO> getMotionStats(UUID orderId) {
+        return motionTracker.getStats(orderId);
+    }
+
+    @Override
+    public List<StaleTelemetryDTO> getStaleTelemetryOrders(int limit) {
+        return staleTelemetryDetector.getStaleOrders(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * Runs on the primary (not read-only): the settled version describes the primary's
+     * in-flight transactions, and a replica may not have applied every change up to it.
+     */
+    @Override
+    @Transactional
+    public OrderChangesResponseDTO getChangesSince(long since, int limit) {
+        log.debug("Retrieving up to {} order changes since version {}", limit, since);
+
+        long settled = orderChangeSequence.settledVersion();
+        // Fetch one extra from each side to know whether another page exists
+        List<Order> orders = orderRepository.findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                since, settled, Limit.of(limit + 1));
+        List<OrderTombstone> tombstones = orderTombstoneRepository
+                .findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                        since, settled, Limit.of(limit + 1));
+
+        List<OrderResponseDTO> upserts = new ArrayList<>();
+        List<OrderTombstoneDTO> deleted = new ArrayList<>();
+        long nextSince = since;
+        int o = 0;
+        int t = 0;
+        while (upserts.size() + deleted.size() < limit && (o < orders.size() || t < tombstones.size())) {
+            boolean takeOrder = t == tombstones.size()
+                    || (o < orders.size() && orders.get(o).getChangeVersion() < tombstones.get(t).getChangeVersion());
+            if (takeOrder) {
+                Order order = orders.get(o++);
+                upserts.add(mapToResponseDTO(order));
+                nextSince = order.getChangeVersion();
+            } else {
+                OrderTombstone tombstone = tombstones.get(t++);
+                deleted.add(OrderTombstoneDTO.builder()
+                        .id(tombstone.getOrderId())
+                        .changeVersion(tombstone.getChangeVersion())
+                        .build());
+                nextSince = tombstone.getChangeVersion();
+            }
+        }
+
+        boolean hasMore = o < orders.size() || t < tombstones.size();
+        log.info("Returning {} upserts and {} deletes since version {}", upserts.size(), deleted.size(), since);
+        return OrderChangesResponseDTO.builder()
+                .upserts(upserts)
+                .deleted(deleted)
+                .nextSince(nextSince)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Maps a creation request to a new Order entity; new orders always start as PENDING.
+     *
+     * @param request the order creation request
+     * @return the unsaved Order entity
+     */
+    static Order toNewEntity(OrderRequestDTO request) {
+        return Order.builder()
+                .status(OrderStatus.PENDING) // Always set to PENDING for new orders
+                .destinationLatitude(request.getDestination().getLatitude())
+                .destinationLongitude(request.getDestination().getLongitude())
+                .priority(request.getPriority())
+                .build();
+    }
+
+    /**
+     * Applies the non-null fields of an update request to an Order entity.
+     *
+     * @param order the entity to modify
+     * @param request the partial update
+     */
+    static void applyUpdate(Order order, UpdateOrderRequestDTO request) {
+        if (request.getStatus() != null) {
+            order.setStatus(request.getStatus());
+            log.debug("Updated status to: {}", request.getStatus());
+        }
+
+        if (request.getDestination() != null) {
+            order.setDestinationLatitude(request.getDestination().getLatitude());
+            order.setDestinationLongitude(request.getDestination().getLongitude());
+            log.debug("Updated destination coordinates");
+        }
+
+        if (request.getPriority() != null) {
+            order.setPriority(request.getPriority());
+            log.debug("Updated priority to: {}", request.getPriority());
+        }
+    }
+
     /**
      * Maps an Order entity to an OrderResponseDTO.
      *
      * @param order the Order entity to map
      * @return the mapped OrderResponseDTO
      */
-    private OrderResponseDTO mapToResponseDTO(Order order) {
+    OrderResponseDTO mapToResponseDTO(Order order) {
         LocationDTO locationDTO = LocationDTO.builder()
                 .latitude(order.getDestinationLatitude())
                 .longitude(order.getDestinationLongitude())
@@ -200,6 +647,8 @@ public class OrderServiceImpl implements OrderService {
                 .priority(order.getPriority())
                 .distanceKm(null)
                 .estimatedArrivalMinutes(null)
+                .motion(motionTracker.getStats(order.getId()).orElse(null))
+                .changeVersion(order.getChangeVersion())
                 .build();
     }
 }
@@ -0,0 +1,390 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.StaleTelemetryDTO;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flags IN_TRANSIT orders whose vehicle has sent no telemetry for a while, without scanning the
+ * telemetry store. Every order with recent activity has one timer in a hashed timing wheel
+ * (wheel-size slots of tick each); each telemetry point rearms it by moving its deadline forward
+ * with one CAS, so a rearm costs O(1), allocates nothing and never touches the wheel. The
+ * detector thread visits one slot per tick: timers whose deadline has moved on go to the slot of
+ * their new deadline, the rest expire. Expired orders are checked against the database in one
+ * query per tick; one still IN_TRANSIT is then checked against the shared telemetry store, since
+ * timers only see the points ingested by this instance: if another instance received a point
+ * since, the timer is rearmed from that point instead, otherwise the order is flagged. The next
+ * telemetry point clears the flag.
+ * Order changes (after commit) arm a timer for orders without one, so an order that goes
+ * IN_TRANSIT and never reports is flagged too, and send flagged orders back for a status
+ * recheck. IN_TRANSIT orders are armed at startup, since timers live in memory.
+ * A timer is about 100 bytes with its map entry. Exposes ecostream.telemetry.stale.orders,
+ * ecostream.telemetry.stale.flagged and ecostream.telemetry.timers.
+ */
+@Component
+@Slf4j
+public class StaleTelemetryDetector implements SmartLifecycle {
+
+    /** Deadline of a timer that has expired or been dropped; it is never rearmed, only replaced. */
+    static final long EXPIRED = Long.MIN_VALUE;
+
+    private static final int ARM_BATCH_SIZE = 1000;
+    private static final int MAX_IDS_PER_QUERY = 10_000;
+
+    private static final VarHandle DEADLINE;
+
+    static {
+        try {
+            DEADLINE = MethodHandles.lookup().findVarHandle(Timer.class, "deadline", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** A per-order timer; next links it into its slot and is only touched by the detector thread. */
+    static final class Timer {
+
+        final UUID orderId;
+        volatile long deadline;
+        Timer next;
+
+        Timer(UUID orderId, long deadline) {
+            this.orderId = orderId;
+            this.deadline = deadline;
+        }
+    }
+
+    /** An expired order waiting for its status check, silent since the given time. */
+    private record Candidate(UUID orderId, long silentSince) {
+    }
+
+    private final OrderRepository orderRepository;
+    private final TelemetryRepository telemetryRepository;
+    private final boolean enabled;
+    private final long afterMillis;
+    private final long tickMillis;
+    private final int mask;
+
+    private final Map<UUID, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> stale = new ConcurrentHashMap<>();
+    private final Queue<Timer> added = new ConcurrentLinkedQueue<>();
+    private final Counter flagged;
+
+    /** Wheel state, only touched by the detector thread. */
+    private final Timer[] slots;
+    private final List<Candidate> candidates = new ArrayList<>();
+    private long lastTick = -1;
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public StaleTelemetryDetector(OrderRepository orderRepository,
+                                  TelemetryRepository telemetryRepository,
+                                  @Value("${order.telemetry.stale.enabled:true}") boolean enabled,
+                                  @Value("${order.telemetry.stale.after:5m}") Duration after,
+                                  @Value("${order.telemetry.stale.tick:1s}") Duration tick,
+                                  @Value("${order.telemetry.stale.wheel-size:512}") int wheelSize,
+                                  MeterRegistry meterRegistry) {
+        if (after.toMillis() < 1 || tick.toMillis() < 1 || wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Invalid stale telemetry settings: after=" + after + ", tick=" + tick
+                    + ", wheel-size=" + wheelSize + " (must be a power of two)");
+        }
+        this.orderRepository = orderRepository;
+        this.telemetryRepository = telemetryRepository;
+        this.enabled = enabled;
+        this.afterMillis = after.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.mask = wheelSize - 1;
+        this.slots = new Timer[wheelSize];
+        this.flagged = Counter.builder("ecostream.telemetry.stale.flagged")
+                .description("IN_TRANSIT orders flagged for sending no telemetry")
+                .register(meterRegistry);
+        Gauge.builder("ecostream.telemetry.stale.orders", stale, Map::size)
+                .description("IN_TRANSIT orders currently flagged for sending no telemetry")
+                .register(meterRegistry);
+        Gauge.builder("ecostream.telemetry.timers", timers, Map::size)
+                .description("Orders with an armed stale-telemetry timer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stale-telemetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        executor.execute(this::armInTransitOrders);
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Stale telemetry detection started (after {} s without telemetry)",
+                TimeUnit.MILLISECONDS.toSeconds(afterMillis));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Restarts an order's silence clock; called for every telemetry point.
+     *
+     * @param orderId     the order UUID
+     * @param epochMillis time the point was received
+     */
+    public void rearm(UUID orderId, long epochMillis) {
+        armAt(orderId, epochMillis + afterMillis, true);
+    }
+
+    /**
+     * Arms timers for orders that were created, updated or deleted, unless they have one (an
+     * update does not restart the silence clock), and rechecks flagged ones on the next tick.
+     * Deleted and non-IN_TRANSIT orders are dropped when their timer expires.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        long now = System.currentTimeMillis();
+        for (UUID orderId : event.orderIds()) {
+            Long silentSince = stale.remove(orderId);
+            if (silentSince != null) {
+                armAt(orderId, silentSince + afterMillis, false);
+            } else if (!timers.containsKey(orderId)) {
+                armAt(orderId, now + afterMillis, false);
+            }
+        }
+    }
+
+    /**
+     * The flagged orders, longest silent first.
+     *
+     * @param limit maximum number of orders to return
+     * @param nowMillis current time, for the silence duration
+     * @return the flagged orders
+     */
+    public List<StaleTelemetryDTO> getStaleOrders(int limit, long nowMillis) {
+        return stale.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .limit(limit)
+                .map(entry -> StaleTelemetryDTO.builder()
+                        .orderId(entry.getKey())
+                        .silentSinceEpochMillis(entry.getValue())
+                        .silentSeconds(Math.max(0, nowMillis - entry.getValue()) / 1000)
+                        .build())
+                .toList();
+    }
+
+    /** Number of orders currently flagged. */
+    public int staleCount() {
+        return stale.size();
+    }
+
+    /** Number of armed timers. */
+    public int timerCount() {
+        return timers.size();
+    }
+
+    private void armAt(UUID orderId, long deadline, boolean clearFlag) {
+        while (true) {
+            Timer timer = timers.get(orderId);
+            if (timer == null) {
+                Timer created = new Timer(orderId, deadline);
+                if (timers.putIfAbsent(orderId, created) == null) {
+                    added.add(created);
+                    if (clearFlag) {
+                        stale.remove(orderId);
+                    }
+                    return;
+                }
+                continue;
+            }
+            long current = timer.deadline;
+            if (current == EXPIRED) {
+                // Expired by the detector thread, which is about to remove it from the map
+                timers.remove(orderId, timer);
+                continue;
+            }
+            if (current >= deadline || DEADLINE.compareAndSet(timer, current, deadline)) {
+                return;
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            advance(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Stale telemetry tick failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Moves the wheel up to the given time: places new timers, visits the slots of the ticks
+     * since the last call (at most one revolution) and checks the orders that expired.
+     * Only called from the detector thread (or a test).
+     */
+    void advance(long nowMillis) {
+        long tick = nowMillis / tickMillis;
+        if (lastTick < 0) {
+            lastTick = tick - 1;
+        }
+        for (Timer timer; (timer = added.poll()) != null; ) {
+            place(timer, timer.deadline);
+        }
+        long end = Math.min(tick, lastTick + slots.length);
+        while (lastTick < end) {
+            int slot = (int) (++lastTick & mask);
+            Timer timer = slots[slot];
+            slots[slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.next = null;
+                expireOrMove(timer, nowMillis);
+                timer = next;
+            }
+        }
+        lastTick = Math.max(lastTick, tick);
+        if (!candidates.isEmpty()) {
+            checkCandidates(nowMillis);
+        }
+    }
+
+    private void expireOrMove(Timer timer, long nowMillis) {
+        while (true) {
+            long deadline = timer.deadline;
+            if (deadline == EXPIRED) {
+                return;
+            }
+            if (deadline > nowMillis) {
+                place(timer, deadline);
+                return;
+            }
+            if (DEADLINE.compareAndSet(timer, deadline, EXPIRED)) {
+                timers.remove(timer.orderId, timer);
+                candidates.add(new Candidate(timer.orderId, deadline - afterMillis));
+                return;
+            }
+        }
+    }
+
+    /** Links a timer into the slot of its deadline, or of the next unvisited tick if that has passed. */
+    private void place(Timer timer, long deadline) {
+        if (deadline == EXPIRED) {
+            return;
+        }
+        int slot = (int) (Math.max(deadline / tickMillis, lastTick + 1) & mask);
+        timer.next = slots[slot];
+        slots[slot] = timer;
+    }
+
+    /**
+     * Flags the expired orders that are still IN_TRANSIT and have no newer point in the telemetry
+     * store; on a database error they are retried next tick. If the store cannot be read, the
+     * order is judged by this instance's points alone.
+     */
+    private void checkCandidates(long nowMillis) {
+        for (int from = 0; from < candidates.size(); from += MAX_IDS_PER_QUERY) {
+            List<Candidate> chunk = candidates.subList(from, Math.min(candidates.size(), from + MAX_IDS_PER_QUERY));
+            Set<UUID> inTransit = new HashSet<>(orderRepository.findIdsByStatusAndIdIn(OrderStatus.IN_TRANSIT,
+                    chunk.stream().map(Candidate::orderId).toList()));
+            for (Candidate candidate : chunk) {
+                if (!inTransit.contains(candidate.orderId())) {
+                    continue;
+                }
+                long silentSince = lastSeen(candidate);
+                if (silentSince + afterMillis > nowMillis) {
+                    // Reported through another instance
+                    armAt(candidate.orderId(), silentSince + afterMillis, false);
+                    continue;
+                }
+                stale.put(candidate.orderId(), silentSince);
+                // Telemetry that arrived since the timer expired has armed a new one
+                if (timers.containsKey(candidate.orderId())) {
+                    stale.remove(candidate.orderId(), silentSince);
+                } else {
+                    flagged.increment();
+                    log.info("Order {} is IN_TRANSIT with no telemetry since {}", candidate.orderId(),
+                            Instant.ofEpochMilli(silentSince));
+                }
+            }
+        }
+        candidates.clear();
+    }
+
+    /** @return the later of the candidate's last local point and the store's newest point (epoch millis) */
+    private long lastSeen(Candidate candidate) {
+        try {
+            return telemetryRepository.findLatestTimestamp(candidate.orderId().toString())
+                    .map(seconds -> Math.max(candidate.silentSince(), TimeUnit.SECONDS.toMillis(seconds)))
+                    .orElse(candidate.silentSince());
+        } catch (RuntimeException e) {
+            log.warn("Could not read the latest telemetry of order {}: {}", candidate.orderId(), e.toString());
+            return candidate.silentSince();
+        }
+    }
+
+    /** Arms a timer for every IN_TRANSIT order, walking them in keyset batches by ID. */
+    private void armInTransitOrders() {
+        long now = System.currentTimeMillis();
+        int armed = 0;
+        try {
+            UUID cursor = null;
+            while (running) {
+                List<Order> batch = cursor == null
+                        ? orderRepository.findByStatusOrderByIdAsc(OrderStatus.IN_TRANSIT, Limit.of(ARM_BATCH_SIZE))
+                        : orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.IN_TRANSIT, cursor,
+                                Limit.of(ARM_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Order order : batch) {
+                    armAt(order.getId(), now + afterMillis, false);
+                }
+                armed += batch.size();
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+            log.info("Armed stale telemetry timers for {} IN_TRANSIT orders", armed);
+        } catch (RuntimeException e) {
+            log.warn("Could not arm stale telemetry timers for IN_TRANSIT orders after {}: {}", armed, e.toString());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Executed on startup (spring.sql.init.mode=always) before Hibernate updates the entity tables.
+-- Shared version space for orders.change_version and order_tombstones.change_version.
+CREATE SEQUENCE IF NOT EXISTS order_change_seq;
+-- Every change version is drawn through this function: it assigns the transaction ID before taking
+-- the version, so a transaction holding a version is always visible as in progress in a snapshot
+-- (see OrderChangeSequence.settledVersion). CASE evaluates the condition before the branch.
+CREATE OR REPLACE FUNCTION next_order_change_version() RETURNS bigint LANGUAGE sql VOLATILE
+AS 'SELECT CASE WHEN pg_current_xact_id() IS NOT NULL THEN nextval(''order_change_seq'') END';
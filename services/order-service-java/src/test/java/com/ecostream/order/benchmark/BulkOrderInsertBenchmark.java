@@ -0,0 +1,115 @@
+package com.ecostream.order.benchmark;
+
+import com.ecostream.order.dto.BulkItemResultDTO;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.service.BulkOrderService;
+import com.ecostream.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput benchmark for bulk order import against a real PostgreSQL
+ * (the docker-compose postgres unless DB_URL/DB_USER/DB_PASSWORD say otherwise).
+ * Not part of the regular test run (surefire only picks up *Test classes); run explicitly:
+ * <pre>
+ *   docker-compose up -d postgres
+ *   mvn test -Dtest=BulkOrderInsertBenchmark -Dbenchmark.orders=200000
+ * </pre>
+ * Rows created by the benchmark are deleted afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BulkOrderInsertBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200_000);
+    private static final int REQUEST_SIZE = Integer.getInteger("benchmark.request-size", 10_000);
+    private static final int SINGLE_ROW_ORDERS = Integer.getInteger("benchmark.single-row-orders", 2_000);
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<UUID> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (int from = 0; from < createdIds.size(); from += 10_000) {
+            orderRepository.deleteAllByIdInBatch(createdIds.subList(from, Math.min(from + 10_000, createdIds.size())));
+        }
+    }
+
+    @Test
+    void bulkCreateAndUpdateThroughput() {
+        // Warm-up so JIT and connection pool are not part of the measurement
+        createdIds.addAll(bulkCreate(requests(REQUEST_SIZE)));
+
+        long start = System.nanoTime();
+        List<UUID> ids = new ArrayList<>(ORDERS);
+        for (int created = 0; created < ORDERS; created += REQUEST_SIZE) {
+            ids.addAll(bulkCreate(requests(Math.min(REQUEST_SIZE, ORDERS - created))));
+        }
+        double createSeconds = (System.nanoTime() - start) / 1e9;
+        createdIds.addAll(ids);
+        assertEquals(ORDERS, ids.size());
+
+        start = System.nanoTime();
+        for (int from = 0; from < ids.size(); from += REQUEST_SIZE) {
+            List<BulkUpdateOrderRequestDTO> updates = ids.subList(from, Math.min(from + REQUEST_SIZE, ids.size())).stream()
+                    .map(id -> BulkUpdateOrderRequestDTO.builder().id(id).status(OrderStatus.CONFIRMED).priority(5).build())
+                    .toList();
+            assertEquals(updates.size(), bulkOrderService.updateOrders(updates).getSucceeded());
+        }
+        double updateSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        for (OrderRequestDTO request : requests(SINGLE_ROW_ORDERS)) {
+            createdIds.add(orderService.createOrder(request).getId());
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%nBulk create : %,d orders in %.2fs = %,.0f orders/s%n", ORDERS, createSeconds, ORDERS / createSeconds);
+        System.out.printf("Bulk update : %,d orders in %.2fs = %,.0f orders/s%n", ORDERS, updateSeconds, ORDERS / updateSeconds);
+        System.out.printf("Single POST : %,d orders in %.2fs = %,.0f orders/s (createOrder one by one)%n",
+                SINGLE_ROW_ORDERS, singleSeconds, SINGLE_ROW_ORDERS / singleSeconds);
+    }
+
+    private List<UUID> bulkCreate(List<OrderRequestDTO> requests) {
+        BulkOperationResponseDTO response = bulkOrderService.createOrders(requests);
+        assertEquals(requests.size(), response.getSucceeded());
+        return response.getResults().stream().map(BulkItemResultDTO::getId).toList();
+    }
+
+    private static List<OrderRequestDTO> requests(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(OrderRequestDTO.builder()
+                    .status(OrderStatus.PENDING)
+                    .destination(LocationDTO.builder()
+                            .latitude(49.0 + random.nextDouble())
+                            .longitude(-123.5 + random.nextDouble())
+                            .build())
+                    .priority(random.nextInt(1, 10))
+                    .build());
+        }
+        return requests;
+    }
+}
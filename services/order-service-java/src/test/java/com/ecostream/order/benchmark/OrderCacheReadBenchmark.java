@@ -0,0 +1,116 @@
+package com.ecostream.order.benchmark;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.service.OrderCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read-heavy benchmark for the order cache against a real PostgreSQL: a few hundred hot
+ * in-transit orders read by many threads, first straight from OrderRepository.findById,
+ * then through OrderCache. Reports reads/s, JDBC statements (Hibernate statistics) and hit ratio.
+ * Run explicitly:
+ * <pre>
+ *   docker-compose up -d postgres
+ *   mvn test -Dtest=OrderCacheReadBenchmark -Dbenchmark.reads=200000
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderCacheReadBenchmark {
+
+    private static final int HOT_ORDERS = Integer.getInteger("benchmark.hot-orders", 300);
+    private static final int READS = Integer.getInteger("benchmark.reads", 200_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UUID> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAllByIdInBatch(createdIds);
+    }
+
+    @Test
+    void hotOrderReads() throws Exception {
+        for (int i = 0; i < HOT_ORDERS; i++) {
+            createdIds.add(orderRepository.save(Order.builder()
+                    .status(OrderStatus.IN_TRANSIT)
+                    .destinationLatitude(49.0 + i * 1e-4)
+                    .destinationLongitude(-123.0)
+                    .priority(3)
+                    .build()).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up for the JIT and connection pool
+        run(orderRepository::findById, READS / 10);
+
+        statistics.clear();
+        double uncachedSeconds = run(orderRepository::findById, READS);
+        long uncachedStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        double cachedSeconds = run(id -> orderCache.get(id, orderRepository::findById), READS);
+        long cachedStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("%nfindById    : %,d reads in %.2fs = %,.0f reads/s, %,d statements%n",
+                READS, uncachedSeconds, READS / uncachedSeconds, uncachedStatements);
+        System.out.printf("OrderCache  : %,d reads in %.2fs = %,.0f reads/s, %,d statements, hit ratio %.4f%n",
+                READS, cachedSeconds, READS / cachedSeconds, cachedStatements, orderCache.hitRate());
+        System.out.printf("DB load     : %.1f%% fewer statements%n",
+                100.0 * (uncachedStatements - cachedStatements) / Math.max(1, uncachedStatements));
+        assertTrue(cachedStatements < uncachedStatements);
+    }
+
+    /** Issues reads for random hot orders from THREADS threads; returns elapsed seconds. */
+    private double run(Function<UUID, Optional<Order>> reader, int reads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            int perThread = reads / THREADS;
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < perThread; i++) {
+                        reader.apply(createdIds.get(random.nextInt(createdIds.size()))).orElseThrow();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (System.nanoTime() - start) / 1e9;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
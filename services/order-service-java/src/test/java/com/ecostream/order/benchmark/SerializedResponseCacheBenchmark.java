@@ -0,0 +1,146 @@
+package com.ecostream.order.benchmark;
+
+import com.ecostream.order.controller.SerializedResponseCache;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.UuidV7Generator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares serving a hot list (all IN_TRANSIT orders) by serializing and gzipping the DTOs on
+ * every request, as Jackson plus server compression would, against SerializedResponseCache
+ * writing pre-rendered bytes. The DTO list is built in memory so only the response path is
+ * measured. Reports requests/s and bytes allocated per request.
+ * Run explicitly:
+ * <pre>
+ *   mvn test -Dtest=SerializedResponseCacheBenchmark -Dbenchmark.orders=2000
+ * </pre>
+ */
+class SerializedResponseCacheBenchmark {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5_000);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void hotListResponses() throws Exception {
+        List<OrderResponseDTO> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(OrderResponseDTO.builder()
+                    .id(UuidV7Generator.next())
+                    .status(OrderStatus.IN_TRANSIT)
+                    .destination(LocationDTO.builder().latitude(49.0 + i * 1e-4).longitude(-123.0).build())
+                    .priority(i % 10)
+                    .distanceKm(12.5 + i % 50)
+                    .estimatedArrivalMinutes(30.0 + i % 90)
+                    .changeVersion((long) i)
+                    .build());
+        }
+        SerializedResponseCache cache = new SerializedResponseCache(objectMapper, Duration.ofMinutes(5),
+                256L << 20, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        // Warm-up for the JIT
+        int warmUp = Math.max(1, REQUESTS / 10);
+        serializePerRequest(orders, warmUp);
+        served(cache, orders, warmUp);
+
+        long[] uncached = serializePerRequest(orders, REQUESTS);
+        long[] cached = served(cache, orders, REQUESTS);
+
+        report("per-request ", uncached);
+        report("cached bytes", cached);
+        System.out.printf("speed-up    : %.1fx, cache hit ratio %.4f%n", (double) uncached[0] / cached[0], cache.hitRate());
+        assertTrue(cached[0] < uncached[0]);
+    }
+
+    /** Serializes and compresses on every request; returns {nanos, allocated bytes}. */
+    private long[] serializePerRequest(List<OrderResponseDTO> orders, int requests) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+                objectMapper.writeValue(gzip, orders);
+            }
+        }
+        return new long[]{System.nanoTime() - start, allocatedBytes() - allocatedBefore};
+    }
+
+    /** Writes the cached gzip variant on every request; returns {nanos, allocated bytes}. */
+    private long[] served(SerializedResponseCache cache, List<OrderResponseDTO> orders, int requests) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            cache.write("status:IN_TRANSIT", () -> orders, request, new DiscardingResponse());
+        }
+        return new long[]{System.nanoTime() - start, allocatedBytes() - allocatedBefore};
+    }
+
+    /**
+     * Response whose body goes nowhere. MockHttpServletResponse copies a byte at a time,
+     * which would dominate the cached path and hide what the cache saves.
+     */
+    private static final class DiscardingResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+
+    private static void report(String label, long[] result) {
+        double seconds = result[0] / 1e9;
+        System.out.printf("%s: %,d requests of %,d orders in %.2fs = %,.0f req/s, %,d bytes allocated/request%n",
+                label, REQUESTS, ORDERS, seconds, REQUESTS / seconds, result[1] / REQUESTS);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecostream.order.benchmark;
+
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.UuidV7Generator;
+import com.ecostream.order.entity.ZOrder;
+import com.ecostream.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Latency and plans of the box and radius queries on a large orders table against a real
+ * PostgreSQL. Inserts benchmark.rows orders (half spread over North America, half around ten
+ * metro areas), then runs each query shape from random metro points through {@link OrderService}
+ * and prints p50/p99 latency with the average row count, the EXPLAIN (ANALYZE, BUFFERS) of one
+ * query per shape, and the same box filtered by coordinates alone (no cell ranges) for comparison.
+ * Not part of the regular test run; run explicitly:
+ * <pre>
+ *   docker-compose up -d postgres
+ *   mvn test -Dtest=SpatialQueryBenchmark -Dbenchmark.rows=10000000
+ * </pre>
+ * The inserted orders are deleted afterwards by ID range, so run it against a database that is
+ * not taking other writes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "order.eta-refresh.enabled=false",
+        "logging.level.com.ecostream.order=WARN"
+})
+class SpatialQueryBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final int BATCH = Integer.getInteger("benchmark.batch", 10_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 200);
+
+    private static final double[][] METROS = {
+            {40.71, -74.01}, {34.05, -118.24}, {41.88, -87.63}, {29.76, -95.37}, {33.45, -112.07},
+            {39.95, -75.17}, {47.61, -122.33}, {49.28, -123.12}, {43.65, -79.38}, {45.50, -73.57}
+    };
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID firstId;
+    private UUID lastId;
+
+    @AfterEach
+    void deleteOrders() {
+        if (firstId != null) {
+            jdbcTemplate.update("DELETE FROM orders WHERE id BETWEEN ? AND ?", firstId, lastId);
+        }
+    }
+
+    @Test
+    void boxAndRadiusQueries() {
+        insertOrders();
+        Random random = new Random(42);
+
+        for (double size : new double[]{0.02, 0.2}) {
+            for (Set<OrderStatus> statuses : List.of(Set.<OrderStatus>of(), Set.of(OrderStatus.IN_TRANSIT))) {
+                String label = String.format("box %.2f deg %s", size, describe(statuses));
+                measure(label, () -> {
+                    double[] centre = randomPoint(random);
+                    return orderService.getOrdersWithin(centre[0] - size / 2, centre[1] - size / 2,
+                            centre[0] + size / 2, centre[1] + size / 2, statuses, 1000).size();
+                });
+            }
+        }
+        for (double radiusKm : new double[]{2, 10}) {
+            for (Set<OrderStatus> statuses : List.of(Set.<OrderStatus>of(), Set.of(OrderStatus.IN_TRANSIT))) {
+                String label = String.format("radius %.0f km %s", radiusKm, describe(statuses));
+                measure(label, () -> {
+                    double[] centre = randomPoint(random);
+                    return orderService.getOrdersNearby(centre[0], centre[1], radiusKm, statuses, 1000).size();
+                });
+            }
+        }
+
+        double[] centre = METROS[7];
+        explain("box 0.2 deg IN_TRANSIT, cell ranges", boxSql(centre, 0.2, true));
+        explain("box 0.2 deg IN_TRANSIT, coordinates only", boxSql(centre, 0.2, false));
+    }
+
+    private void insertOrders() {
+        String sql = "INSERT INTO orders (id, status, destination_latitude, destination_longitude, destination_cell, "
+                + "priority, change_version, version) VALUES (?, ?, ?, ?, ?, ?, nextval('order_change_seq'), 0)";
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (long done = 0; done < ROWS; done += BATCH) {
+            int size = (int) Math.min(BATCH, ROWS - done);
+            List<Object[]> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                UUID id = UuidV7Generator.next();
+                if (firstId == null) {
+                    firstId = id;
+                }
+                lastId = id;
+                double latitude;
+                double longitude;
+                if (random.nextBoolean()) {
+                    latitude = 25 + random.nextDouble() * 25;
+                    longitude = -125 + random.nextDouble() * 55;
+                } else {
+                    double[] metro = METROS[random.nextInt(METROS.length)];
+                    latitude = metro[0] + random.nextGaussian() * 0.2;
+                    longitude = metro[1] + random.nextGaussian() * 0.2;
+                }
+                batch.add(new Object[]{id, STATUSES[random.nextInt(STATUSES.length)].name(), latitude, longitude,
+                        ZOrder.encode(latitude, longitude), random.nextInt(1, 11)});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE orders");
+        System.out.printf("%nInserted %,d orders in %.0f s; table %s, (status, destination_cell) index %s%n", ROWS,
+                (System.nanoTime() - start) / 1e9,
+                jdbcTemplate.queryForObject("SELECT pg_size_pretty(pg_relation_size('orders'))", String.class),
+                jdbcTemplate.queryForObject(
+                        "SELECT pg_size_pretty(pg_relation_size('idx_orders_status_destination_cell'))", String.class));
+    }
+
+    /** A point near one of the metros, where most queries land in practice. */
+    private static double[] randomPoint(Random random) {
+        double[] metro = METROS[random.nextInt(METROS.length)];
+        return new double[]{metro[0] + random.nextGaussian() * 0.2, metro[1] + random.nextGaussian() * 0.2};
+    }
+
+    private void measure(String label, IntSupplier query) {
+        for (int i = 0; i < QUERIES / 10; i++) {
+            query.getAsInt(); // warm-up
+        }
+        long[] nanos = new long[QUERIES];
+        long rows = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            rows += query.getAsInt();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-32s p50 %6.2f ms  p99 %7.2f ms  avg rows %6.0f%n", label,
+                nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6, rows / (double) QUERIES);
+    }
+
+    /** The box query as the repository issues it, or filtered by coordinates alone. */
+    private static String boxSql(double[] centre, double size, boolean useCells) {
+        String box = "o.status IN ('IN_TRANSIT') "
+                + "AND o.destination_latitude BETWEEN " + (centre[0] - size / 2) + " AND " + (centre[0] + size / 2) + " "
+                + "AND o.destination_longitude BETWEEN " + (centre[1] - size / 2) + " AND " + (centre[1] + size / 2);
+        if (!useCells) {
+            return "SELECT o.* FROM orders o WHERE " + box + " ORDER BY o.id DESC LIMIT 1000";
+        }
+        String candidates = ZOrder.ranges(centre[0] - size / 2, centre[1] - size / 2, centre[0] + size / 2,
+                        centre[1] + size / 2, 16).stream()
+                .map(r -> "SELECT o.id FROM orders o WHERE o.destination_cell BETWEEN " + r.low() + " AND " + r.high()
+                        + " AND " + box)
+                .collect(Collectors.joining(" UNION ALL "));
+        return "SELECT o.* FROM orders o WHERE o.id IN (SELECT id FROM (" + candidates + ") candidates "
+                + "ORDER BY id DESC LIMIT 1000) ORDER BY o.id DESC";
+    }
+
+    private void explain(String label, String sql) {
+        System.out.printf("%nEXPLAIN %s:%n", label);
+        jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class)
+                .forEach(line -> System.out.println("  " + line));
+    }
+
+    private static String describe(Set<OrderStatus> statuses) {
+        return statuses.isEmpty() ? "all" : statuses.iterator().next().name();
+    }
+}
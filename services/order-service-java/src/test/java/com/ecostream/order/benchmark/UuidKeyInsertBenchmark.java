@@ -0,0 +1,85 @@
+package com.ecostream.order.benchmark;
+
+import com.ecostream.order.entity.UuidV7Generator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and primary-key index size for random v4 vs time-ordered v7 UUID keys
+ * against a real PostgreSQL. Each variant fills its own scratch table (uuid primary key plus
+ * the order columns) with JDBC batches, reporting rows/s per slice so the slowdown as the
+ * index outgrows shared_buffers is visible, then the primary-key index and heap sizes.
+ * Run explicitly (tens of millions of rows take a while and several GB of disk):
+ * <pre>
+ *   docker-compose up -d postgres
+ *   mvn test -Dtest=UuidKeyInsertBenchmark -Dbenchmark.rows=20000000
+ * </pre>
+ * The scratch tables are dropped afterwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UuidKeyInsertBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 20_000_000L);
+    private static final int BATCH = Integer.getInteger("benchmark.batch", 10_000);
+    private static final int SLICES = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_bench_v4");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_bench_v7");
+    }
+
+    @Test
+    void v4VersusV7() {
+        System.out.printf("%nInserting %,d rows per variant in batches of %,d%n", ROWS, BATCH);
+        insert("uuid_bench_v4", UUID::randomUUID);
+        insert("uuid_bench_v7", UuidV7Generator::next);
+    }
+
+    private void insert(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, status varchar(20) NOT NULL, "
+                + "destination_latitude double precision NOT NULL, destination_longitude double precision NOT NULL, "
+                + "priority integer NOT NULL)");
+        String sql = "INSERT INTO " + table
+                + " (id, status, destination_latitude, destination_longitude, priority) VALUES (?, ?, ?, ?, ?)";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long sliceRows = ROWS / SLICES;
+        long totalStart = System.nanoTime();
+        for (int slice = 0; slice < SLICES; slice++) {
+            long sliceStart = System.nanoTime();
+            for (long done = 0; done < sliceRows; done += BATCH) {
+                int size = (int) Math.min(BATCH, sliceRows - done);
+                List<Object[]> batch = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    batch.add(new Object[]{ids.get(), "PENDING", 49.0 + random.nextDouble(), -123.5 + random.nextDouble(),
+                            random.nextInt(1, 10)});
+                }
+                jdbcTemplate.batchUpdate(sql, batch);
+            }
+            double seconds = (System.nanoTime() - sliceStart) / 1e9;
+            System.out.printf("%s slice %2d: %,12.0f rows/s%n", table, slice + 1, sliceRows / seconds);
+        }
+        double totalSeconds = (System.nanoTime() - totalStart) / 1e9;
+
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+        String index = table + "_pkey";
+        String size = jdbcTemplate.queryForObject("SELECT pg_size_pretty(pg_relation_size(?::regclass))", String.class, index);
+        String tableSize = jdbcTemplate.queryForObject("SELECT pg_size_pretty(pg_relation_size(?::regclass))", String.class, table);
+        System.out.printf("%s total   : %,d rows in %.1fs = %,.0f rows/s, pkey %s, heap %s%n",
+                table, sliceRows * SLICES, totalSeconds, sliceRows * SLICES / totalSeconds, size, tableSize);
+    }
+}
@@ -0,0 +1,180 @@
+package com.ecostream.order.client;
+
+import com.ecostream.order.client.ForecastScheduler.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForecastSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> calls = new ArrayList<>();
+
+    @Test
+    void shouldQueueCallsOverTheCap_AndStartThemAsOthersComplete() {
+        ForecastScheduler scheduler = ForecastScheduler.withCap(2);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(scheduler.submit(Lane.STANDARD, call("s" + i)));
+        }
+
+        assertEquals(2, started.size());
+        assertEquals(1, scheduler.waiting(Lane.STANDARD));
+
+        calls.get(0).complete("s0");
+        assertEquals(3, started.size(), "A completed call should start the queued one");
+        assertEquals(0, scheduler.waiting(Lane.STANDARD));
+        calls.get(2).complete("s2");
+        calls.get(1).complete("s1");
+
+        assertEquals(List.of("s0", "s1", "s2"), results.stream().map(CompletableFuture::join).toList());
+    }
+
+    @Test
+    void shouldReleaseSlot_WhenCallFailsOrThrows() {
+        ForecastScheduler scheduler = ForecastScheduler.withCap(1);
+
+        CompletableFuture<Object> thrown = scheduler.submit(Lane.STANDARD, () -> {
+            throw new IllegalStateException("no connection");
+        });
+        CompletableFuture<Object> failed = scheduler.submit(Lane.STANDARD,
+                () -> CompletableFuture.failedFuture(new RuntimeException("503")));
+        CompletableFuture<Object> next = scheduler.submit(Lane.STANDARD, () -> CompletableFuture.completedFuture("ok"));
+
+        assertTrue(thrown.isCompletedExceptionally());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("ok", next.join());
+    }
+
+    @Test
+    void freeSlot_ShouldGoToExpressFirst_AndStandardShouldNotUseReservedSlots() {
+        ForecastScheduler scheduler = scheduler(3, 2, 10);
+        scheduler.submit(Lane.STANDARD, call("s0"));
+        scheduler.submit(Lane.STANDARD, call("s1"));
+        scheduler.submit(Lane.STANDARD, call("s2"));
+
+        assertEquals(List.of("s0", "s1"), started, "The third slot is kept for Express");
+
+        scheduler.submit(Lane.EXPRESS, call("e0"));
+        scheduler.submit(Lane.EXPRESS, call("e1"));
+        assertEquals(List.of("s0", "s1", "e0"), started);
+
+        calls.get(0).complete("s0");
+        assertEquals(List.of("s0", "s1", "e0", "e1"), started, "Queued Express goes before older Standard");
+        assertEquals(1, scheduler.waiting(Lane.STANDARD));
+    }
+
+    @Test
+    void standardCall_ShouldBeShed_WhenQueueIsFullOrItsDeadlinePasses() {
+        ForecastScheduler scheduler = scheduler(1, 1, 1);
+        scheduler.submit(Lane.STANDARD, call("s0"));
+        CompletableFuture<String> waiting = scheduler.submit(Lane.STANDARD, call("s1"));
+        CompletableFuture<String> overflow = scheduler.submit(Lane.STANDARD, call("s2"));
+
+        assertShed(overflow);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(201));
+        CompletableFuture<String> express = scheduler.submit(Lane.EXPRESS, call("e0"));
+        assertShed(waiting);
+
+        calls.get(0).complete("s0");
+        assertEquals("e0", started.get(1), "Express waits past the Standard deadline");
+        calls.get(1).complete("e0");
+        assertEquals("e0", express.join());
+        assertEquals(2, scheduler.shed(Lane.STANDARD));
+        assertEquals(0, scheduler.shed(Lane.EXPRESS));
+    }
+
+    @Test
+    void fanOut_ShouldQueueAListLongerThanSlotsPlusQueue_OnAnIdleForecaster() {
+        ForecastScheduler scheduler = scheduler(64, 48, 64);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        try (ForecastFanOut ignored = ForecastFanOut.open()) {
+            for (int i = 0; i < 200; i++) {
+                results.add(scheduler.submit(Lane.STANDARD, call("s" + i)));
+            }
+        }
+
+        assertEquals(48, started.size());
+        assertEquals(152, scheduler.waiting(Lane.STANDARD));
+        assertShed(scheduler.submit(Lane.STANDARD, call("other")));
+
+        for (int i = 0; i < calls.size(); i++) {
+            calls.get(i).complete(started.get(i));
+        }
+        assertEquals(200, started.size());
+        assertTrue(results.stream().noneMatch(CompletableFuture::isCompletedExceptionally));
+        assertEquals(1, scheduler.shed(Lane.STANDARD), "Only the other caller's call is shed");
+    }
+
+    @Test
+    void fanOut_ShouldBeShedAsAWhole_WhenOtherCallersFillTheQueue() {
+        ForecastScheduler scheduler = scheduler(1, 1, 1);
+        scheduler.submit(Lane.STANDARD, call("s0"));
+        scheduler.submit(Lane.STANDARD, call("s1"));
+
+        try (ForecastFanOut ignored = ForecastFanOut.open()) {
+            assertShed(scheduler.submit(Lane.STANDARD, call("f0")));
+            assertShed(scheduler.submit(Lane.STANDARD, call("f1")));
+            assertEquals(1, scheduler.waiting(Lane.STANDARD));
+        }
+    }
+
+    @Test
+    void blockingCall_ShouldHoldASlotWhileItRuns() {
+        ForecastScheduler scheduler = ForecastScheduler.withCap(1);
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+
+        String result = scheduler.call(Lane.STANDARD, () -> {
+            queued.add(scheduler.submit(Lane.STANDARD, call("s0")));
+            assertEquals(List.of(), started, "The blocking call holds the only slot");
+            return "sync";
+        });
+
+        assertEquals("sync", result);
+        assertEquals(List.of("s0"), started, "Returning releases the slot");
+    }
+
+    @Test
+    void blockingStandardCall_ShouldBeShed_WhenTheStandardLaneIsFull() {
+        ForecastScheduler scheduler = scheduler(2, 1, 1);
+        scheduler.submit(Lane.STANDARD, call("s0"));
+        scheduler.submit(Lane.STANDARD, call("s1"));
+
+        assertThrows(ForecastShedException.class, () -> scheduler.call(Lane.STANDARD, () -> "sync"));
+        assertEquals("express", scheduler.call(Lane.EXPRESS, () -> "express"), "Express still gets the reserved slot");
+        assertEquals(1, scheduler.shed(Lane.STANDARD));
+    }
+
+    private ForecastScheduler scheduler(int maxInFlight, int standardMaxInFlight, int standardMaxQueued) {
+        return new ForecastScheduler(maxInFlight, standardMaxInFlight, Duration.ofSeconds(2), Duration.ofMillis(200),
+                10, standardMaxQueued, clock::get);
+    }
+
+    private Supplier<CompletableFuture<String>> call(String name) {
+        return () -> {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            started.add(name);
+            calls.add(call);
+            return call;
+        };
+    }
+
+    private static void assertShed(CompletableFuture<?> result) {
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(ForecastShedException.class, error.getCause());
+    }
+}
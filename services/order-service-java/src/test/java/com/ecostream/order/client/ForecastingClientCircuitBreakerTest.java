@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
@@ -32,6 +33,7 @@ class ForecastingClientCircuitBreakerTest {
     private ForecastingClientImpl client;
     private MockRestServiceServer mockServer;
     private CircuitBreakerRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
 
     private static final String BASE_URL = "http://localhost:5050";
 
@@ -39,7 +41,8 @@ class ForecastingClientCircuitBreakerTest {
     void setUp() {
         RestTemplate restTemplate = new RestTemplate();
         mockServer = MockRestServiceServer.bindTo(restTemplate).build();
-        client = new ForecastingClientImpl(BASE_URL, restTemplate, new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        client = new ForecastingClientImpl(BASE_URL, restTemplate, new ObjectMapper(), meterRegistry, ForecastScheduler.withCap(64));
 
         CircuitBreakerConfig config = CircuitBreakerConfig.custom()
                 .slidingWindowSize(5)
@@ -75,6 +78,7 @@ class ForecastingClientCircuitBreakerTest {
 
         assertNull(result, "Should return null when the AI service errors");
         mockServer.verify();
+        assertEquals(1, meterRegistry.get("ecostream.forecast.requests").tag("outcome", "error").timer().count());
     }
 
     @Test
@@ -120,5 +124,6 @@ class ForecastingClientCircuitBreakerTest {
         assertEquals(CircuitBreaker.State.CLOSED, cb.getState(),
                 "Circuit should stay CLOSED after a successful call");
         mockServer.verify();
+        assertEquals(1, meterRegistry.get("ecostream.forecast.requests").tag("outcome", "success").timer().count());
     }
 }
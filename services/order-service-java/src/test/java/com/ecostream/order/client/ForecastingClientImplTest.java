@@ -1,6 +1,8 @@
 package com.ecostream.order.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
@@ -10,9 +12,13 @@ import org.springframework.test.web.client.match.MockRestRequestMatchers;
 import org.springframework.test.web.client.response.MockRestResponseCreators;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -52,7 +58,7 @@ class ForecastingClientImplTest {
                         "{\"distance_km\": 12.5, \"estimated_arrival_minutes\": 18.0}",
                         MediaType.APPLICATION_JSON));
 
-        ForecastingClientImpl client = new ForecastingClientImpl(baseUrl, restTemplate, new ObjectMapper());
+        ForecastingClientImpl client = new ForecastingClientImpl(baseUrl, restTemplate, new ObjectMapper(), new SimpleMeterRegistry(), ForecastScheduler.withCap(64));
         client.getForecast(orderId, 37.7749, -122.4194, "Standard");
 
         mockServer.verify();
@@ -65,4 +71,36 @@ class ForecastingClientImplTest {
         assertTrue(bodyStr.contains("destination_longitude"), "Body must contain destination_longitude");
         assertTrue(bodyStr.contains("priority"), "Body must contain priority");
     }
+
+    @Test
+    void getForecastAsync_postsJsonBodyAndParsesForecast() throws Exception {
+        UUID orderId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+        AtomicReference<String> path = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/forecast/", exchange -> {
+            path.set(exchange.getRequestURI().getPath());
+            capturedBody.set(exchange.getRequestBody().readAllBytes());
+            byte[] response = "{\"distance_km\": 12.5, \"estimated_arrival_minutes\": 18.0}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String baseUrl = "http://localhost:" + server.getAddress().getPort();
+            ForecastingClientImpl client = new ForecastingClientImpl(baseUrl, restTemplate, new ObjectMapper(), new SimpleMeterRegistry(), ForecastScheduler.withCap(64));
+
+            ForecastResponseDTO forecast = client.getForecastAsync(orderId, 37.7749, -122.4194, "Express")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(new ForecastResponseDTO(12.5, 18.0), forecast);
+            assertEquals("/api/forecast/" + orderId, path.get());
+            String bodyStr = new String(capturedBody.get(), StandardCharsets.UTF_8);
+            assertTrue(bodyStr.contains("destination_latitude"), "Body must contain destination_latitude (snake_case for Python)");
+            assertTrue(bodyStr.contains("Express"), "Body must contain the priority");
+        } finally {
+            server.stop(0);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package com.ecostream.order.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AIMD admission limiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void tryAcquire_ShouldRejectOnceLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, THRESHOLD);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire(), "Third request should be shed at limit 2");
+
+        assertEquals(2, limiter.getAdmitted());
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void release_ShouldShrinkLimit_WhenLatencyExceedsThreshold() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 40, THRESHOLD);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, false);
+        }
+
+        assertTrue(limiter.getLimit() < 20, "Slow completions should back the limit off");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_ShouldShrinkLimitOncePerInterval_WhenABurstCompletesSlowly() {
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 40, 2, 40, THRESHOLD, now::get);
+
+        // One latency spike: 30 requests in flight all complete slowly at about the same time
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 30; i++) {
+            limiter.release(SLOW, false);
+        }
+        assertEquals(36, limiter.getLimit(), "A burst within one interval should back off once");
+
+        now.addAndGet(THRESHOLD);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW, false);
+        assertEquals(32, limiter.getLimit(), "The next interval may back off again");
+    }
+
+    @Test
+    void release_ShouldNeverGoBelowMinLimit_OnFailures() {
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 3, 40, THRESHOLD, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+            now.addAndGet(THRESHOLD);
+        }
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void release_ShouldGrowLimit_WhenSaturatedAndFast() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 1, 8, THRESHOLD);
+
+        // Keep the pool full so the limit is actually being used
+        for (int round = 0; round < 50; round++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the current limit
+            }
+            while (limiter.getInFlight() > 0) {
+                limiter.release(FAST, false);
+            }
+        }
+
+        assertEquals(8, limiter.getLimit(), "Limit should grow additively up to max");
+    }
+}
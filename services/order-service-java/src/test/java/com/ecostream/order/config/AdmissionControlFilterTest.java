@@ -0,0 +1,61 @@
+package com.ecostream.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdmissionControlFilter pool selection and shedding.
+ */
+class AdmissionControlFilterTest {
+
+    private final AdaptiveConcurrencyLimiter telemetry =
+            new AdaptiveConcurrencyLimiter("telemetry", 1, 1, 1, TimeUnit.SECONDS.toNanos(1));
+    private final AdaptiveConcurrencyLimiter crud =
+            new AdaptiveConcurrencyLimiter("crud", 1, 1, 1, TimeUnit.SECONDS.toNanos(1));
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(telemetry, crud, 2);
+
+    @Test
+    void telemetryIngest_ShouldReturn429WithRetryAfter_WhenTelemetryPoolIsFull() throws Exception {
+        assertTrue(telemetry.tryAcquire()); // occupy the only telemetry slot
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders/123/telemetry"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "Shed request must not reach the controller");
+    }
+
+    @Test
+    void crudRequest_ShouldBeAdmitted_WhenOnlyTelemetryPoolIsFull() throws Exception {
+        assertTrue(telemetry.tryAcquire());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(1, crud.getAdmitted());
+        assertEquals(0, crud.getInFlight(), "Slot is released after the request completes");
+    }
+
+    @Test
+    void healthCheck_ShouldBypassAdmissionControl() throws Exception {
+        assertTrue(crud.tryAcquire());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/health"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecostream.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter quota selection, costs and headers.
+ */
+class RateLimitFilterTest {
+
+    private final TokenBucketRateLimiter telemetry = new TokenBucketRateLimiter("telemetry", 1, 2, 100, () -> 0L);
+    private final TokenBucketRateLimiter crud = new TokenBucketRateLimiter("crud", 1, 5, 100, () -> 0L);
+    private final RateLimitFilter filter = new RateLimitFilter(telemetry, crud, 5, Set.of("integration-a", "integration-b"));
+
+    @Test
+    void fullListing_ShouldSpendListCost_AndThenReturn429WithRetryAfter() throws Exception {
+        MockHttpServletResponse first = perform(request("GET", "/api/orders", "integration-a"));
+        assertEquals(200, first.getStatus());
+        assertEquals("5", first.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("0", first.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("5", first.getHeader(RateLimitFilter.RESET_HEADER));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/orders/by-priority", "integration-a"), second, chain);
+        assertEquals(429, second.getStatus());
+        assertEquals("5", second.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "Limited request must not reach the controller");
+    }
+
+    @Test
+    void quota_ShouldBePerApiKey_AndSeparateForTelemetry() throws Exception {
+        perform(request("GET", "/api/orders", "integration-a"));
+
+        assertEquals(200, perform(request("GET", "/api/orders/42", "integration-b")).getStatus());
+        MockHttpServletResponse ingest = perform(request("POST", "/api/orders/42/telemetry", "integration-a"));
+        assertEquals(200, ingest.getStatus());
+        assertEquals("2", ingest.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals(1, telemetry.getAllowed());
+    }
+
+    @Test
+    void requestsWithoutApiKey_ShouldShareTheSourceAddressQuota() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/orders/42", null);
+        request.setRemoteAddr("10.0.0.7");
+
+        assertEquals("4", perform(request).getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("3", perform(request).getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals(1, crud.getClients());
+    }
+
+    @Test
+    void unknownApiKeys_ShouldBeChargedToTheSourceAddress() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = request("GET", "/api/orders/42", "random-" + i);
+            request.setRemoteAddr("10.0.0.9");
+            assertEquals(200, perform(request).getStatus());
+        }
+        MockHttpServletRequest sixth = request("GET", "/api/orders/42", "random-5");
+        sixth.setRemoteAddr("10.0.0.9");
+
+        assertEquals(429, perform(sixth).getStatus());
+        assertEquals(1, crud.getClients());
+    }
+
+    @Test
+    void statusListing_ShouldCostOneToken() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/orders", "integration-a");
+        request.setParameter("status", "IN_TRANSIT");
+
+        assertEquals("4", perform(request).getHeader(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    void healthCheck_ShouldBypassRateLimits() throws Exception {
+        MockHttpServletResponse response = perform(request("GET", "/health", null));
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+}
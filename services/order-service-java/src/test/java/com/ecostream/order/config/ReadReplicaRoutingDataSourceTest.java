@@ -0,0 +1,72 @@
+package com.ecostream.order.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ReadReplicaRoutingDataSource routing decisions and metrics.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(mock(DataSource.class), Duration.ofSeconds(5), Duration.ofSeconds(1));
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class), lagMonitor, meterRegistry);
+        lagMonitor.recordLag(0.2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private double count(String target, String reason) {
+        return meterRegistry.get("ecostream.datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicaAndEverythingElseToPrimary() {
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+
+        assertEquals(1.0, count("primary", "read-write"));
+        assertEquals(1.0, count("replica", "read-only"));
+    }
+
+    @Test
+    void shouldFallBackToPrimary_WhenReplicaLagsOrLagIsUnknown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        lagMonitor.recordLag(12.0);
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        lagMonitor.recordLag(Double.NaN);
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        assertEquals(2.0, count("primary", "replica-lag"));
+    }
+
+    @Test
+    void shouldRouteReadsToPrimary_WhilePinned() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Object target = DataSourceRouting.onPrimary(routing::determineCurrentLookupKey);
+
+        assertEquals(ReadReplicaRoutingDataSource.Target.PRIMARY, target);
+        assertEquals(1.0, count("primary", "forced"));
+        assertEquals(ReadReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+}
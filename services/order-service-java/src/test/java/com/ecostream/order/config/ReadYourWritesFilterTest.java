@@ -0,0 +1,61 @@
+package com.ecostream.order.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for ReadYourWritesFilter session pinning.
+ */
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+
+    /** Sends a request and returns the primary pin reason seen downstream. */
+    private String send(String method, String session) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/orders/" + UUID.randomUUID());
+        if (session != null) {
+            request.addHeader(ReadYourWritesFilter.SESSION_HEADER, session);
+        }
+        AtomicReference<String> seen = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                seen.set(DataSourceRouting.primaryReason());
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seen.get();
+    }
+
+    @Test
+    void shouldPinReadsToPrimaryOnlyForSessionsThatRecentlyWrote() throws Exception {
+        assertNull(send("GET", "dashboard-a"));
+
+        send("PUT", "dashboard-a");
+
+        assertEquals(DataSourceRouting.REASON_READ_YOUR_WRITES, send("GET", "dashboard-a"));
+        assertNull(send("GET", "dashboard-b"));
+        assertNull(DataSourceRouting.primaryReason());
+    }
+
+    @Test
+    void shouldNotPinByRemoteAddress_WhenRequestNamesNoSession() throws Exception {
+        // Every MockHttpServletRequest comes from 127.0.0.1, like clients behind one load balancer
+        send("PUT", null);
+
+        assertNull(send("GET", null));
+        assertNull(send("GET", "dashboard-c"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecostream.order.config;
+
+import com.ecostream.order.client.ForecastResponseDTO;
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.config.RequestTimings.Phase;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for the Server-Timing filter and the phase timing aspect.
+ */
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @Test
+    void shouldReportPhasesInServerTimingHeaderAfterTheBodyIsWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(ServerTimingFilter.OPT_IN_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                RequestTimings.record(Phase.DB, 2_000_000);
+                RequestTimings.record(Phase.FORECAST, 10_000_000);
+                RequestTimings.record(Phase.FORECAST, 20_000_000);
+                RequestTimings.markSerializationStart();
+                res.getOutputStream().write("[]".getBytes());
+                res.flushBuffer();
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertTrue(header.startsWith("db;dur=2.00;desc=\"Postgres\", forecast;dur=30.00;desc=\"AI forecast x2\", "
+                + "serialization;dur="), header);
+        assertTrue(header.contains(", total;dur="), header);
+        assertEquals("[]", response.getContentAsString());
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void shouldTimeAsyncRequestAcrossBothDispatches_AndKeepTheBody() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AsyncController())
+                .addFilters(filter)
+                .build();
+
+        MvcResult started = mockMvc.perform(get("/api/orders/async").header(ServerTimingFilter.OPT_IN_HEADER, "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+
+        String header = result.getResponse().getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertTrue(header.startsWith("db;dur=1.00;desc=\"Postgres\", forecast;dur=5.00;desc=\"AI forecast\", "), header);
+        assertEquals("done", result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void shouldPassResponseThroughUnbuffered_WhenRequestDoesNotOptIn() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertSame(response, chain.getResponse());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+        assertNull(RequestTimings.current());
+    }
+
+    @RestController
+    static class AsyncController {
+
+        @GetMapping("/api/orders/async")
+        CompletableFuture<String> get() {
+            RequestTimings.record(Phase.DB, 1_000_000);
+            RequestTimings.Recorder recorder = RequestTimings.recorder();
+            return CompletableFuture.supplyAsync(() -> {
+                recorder.record(Phase.FORECAST, 5_000_000);
+                return "done";
+            });
+        }
+    }
+
+    @Test
+    void shouldChargeShortCircuitedForecastCallsAndExportOneSpanPerCall() throws Throwable {
+        List<String> exported = new ArrayList<>();
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new SpanExporter() {
+                    @Override
+                    public CompletableResultCode export(Collection<SpanData> spans) {
+                        spans.forEach(span -> exported.add(span.getName()));
+                        return CompletableResultCode.ofSuccess();
+                    }
+
+                    @Override
+                    public CompletableResultCode flush() {
+                        return CompletableResultCode.ofSuccess();
+                    }
+
+                    @Override
+                    public CompletableResultCode shutdown() {
+                        return CompletableResultCode.ofSuccess();
+                    }
+                }))
+                .build();
+        Tracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+        ForecastingClient fallbackOnly = new ForecastingClient() {
+            @Override
+            public ForecastResponseDTO getForecast(UUID orderId, Double lat, Double lon, String priority) {
+                return null;
+            }
+        };
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(fallbackOnly);
+        proxyFactory.addAspect(new RequestTimingAspect(tracer));
+        ForecastingClient client = proxyFactory.getProxy();
+
+        RequestTimings timings = RequestTimings.start();
+        try {
+            client.getForecast(UUID.randomUUID(), 49.0, -123.0, "Standard");
+            client.getForecast(UUID.randomUUID(), 49.0, -123.0, "Standard");
+        } finally {
+            RequestTimings.clear();
+        }
+
+        assertEquals(2, timings.count(Phase.FORECAST));
+        assertEquals(List.of("forecast getForecast", "forecast getForecast"), exported);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecostream.order.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GCRA token bucket, driven by a manual clock.
+ */
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("crud", 10, 3, 1000, clock::get);
+
+    @Test
+    void shouldAllowBurstThenLimit_AndRefillAtTheConfiguredRate() {
+        for (int i = 2; i >= 0; i--) {
+            TokenBucketRateLimiter.Decision decision = limiter.tryAcquire("client", 1);
+            assertTrue(decision.allowed());
+            assertEquals(i, decision.remaining());
+        }
+
+        TokenBucketRateLimiter.Decision limited = limiter.tryAcquire("client", 1);
+        assertFalse(limited.allowed());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limited.retryAfterNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), limited.resetNanos());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100)); // one token back at 10/s
+        assertTrue(limiter.tryAcquire("client", 1).allowed());
+        assertFalse(limiter.tryAcquire("client", 1).allowed());
+        assertEquals(2, limiter.getLimited(), "Both rejections are counted");
+    }
+
+    @Test
+    void shouldChargeCost_AndKeepClientsIndependent() {
+        assertTrue(limiter.tryAcquire("lister", 2).allowed());
+        TokenBucketRateLimiter.Decision second = limiter.tryAcquire("lister", 2);
+        assertFalse(second.allowed(), "Only one token left for a request costing two");
+        assertEquals(1, second.remaining());
+
+        TokenBucketRateLimiter.Decision other = limiter.tryAcquire("other", 1);
+        assertTrue(other.allowed());
+        assertEquals(2, other.remaining());
+    }
+
+    @Test
+    void shouldNotBankTokensBeyondBurst_WhenIdle() {
+        limiter.tryAcquire("client", 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertEquals(2, limiter.tryAcquire("client", 1).remaining());
+    }
+}
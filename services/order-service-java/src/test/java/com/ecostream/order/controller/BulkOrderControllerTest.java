@@ -0,0 +1,170 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.dto.BulkChangeResponseDTO;
+import com.ecostream.order.dto.BulkDeleteRequestDTO;
+import com.ecostream.order.dto.BulkItemResultDTO;
+import com.ecostream.order.dto.BulkItemStatus;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkStatusTransitionRequestDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.service.BulkOrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for BulkOrderController.
+ */
+@WebMvcTest(BulkOrderController.class)
+@TestPropertySource(properties = "order.bulk.max-items=2")
+class BulkOrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private OrderRequestDTO orderRequest() {
+        return OrderRequestDTO.builder()
+                .status(OrderStatus.PENDING)
+                .destination(LocationDTO.builder().latitude(49.28).longitude(-123.12).build())
+                .priority(3)
+                .build();
+    }
+
+    @Test
+    void createOrders_ShouldReturn200WithPerItemResults() throws Exception {
+        // Arrange: one created item and one invalid item
+        UUID createdId = UUID.randomUUID();
+        BulkOperationResponseDTO response = BulkOperationResponseDTO.builder()
+                .requested(2)
+                .succeeded(1)
+                .failed(1)
+                .results(List.of(
+                        BulkItemResultDTO.builder().index(0).id(createdId).status(BulkItemStatus.CREATED).build(),
+                        BulkItemResultDTO.builder().index(1).status(BulkItemStatus.INVALID).error("priority: Priority is required").build()))
+                .build();
+        when(bulkOrderService.createOrders(anyList())).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(orderRequest(), new OrderRequestDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(createdId.toString()))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+    }
+
+    @Test
+    void createOrders_ShouldReturn413_WhenAboveItemLimit() throws Exception {
+        mockMvc.perform(post("/api/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(3, orderRequest()))))
+                .andExpect(status().isPayloadTooLarge());
+
+        verifyNoInteractions(bulkOrderService);
+    }
+
+    @Test
+    void updateOrders_ShouldReturn200WithPerItemResults() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        BulkOperationResponseDTO response = BulkOperationResponseDTO.builder()
+                .requested(1)
+                .succeeded(0)
+                .failed(1)
+                .results(List.of(BulkItemResultDTO.builder().index(0).id(id).status(BulkItemStatus.NOT_FOUND).build()))
+                .build();
+        when(bulkOrderService.updateOrders(anyList())).thenReturn(response);
+
+        // Act & Assert
+        BulkUpdateOrderRequestDTO item = BulkUpdateOrderRequestDTO.builder().id(id).status(OrderStatus.CONFIRMED).build();
+        mockMvc.perform(put("/api/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(item))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    void transitionStatus_ShouldReturn200WithChangedAndSkippedIds() throws Exception {
+        // Arrange
+        UUID moved = UUID.randomUUID();
+        UUID skipped = UUID.randomUUID();
+        when(bulkOrderService.transitionStatus(anyList(), eq(OrderStatus.IN_TRANSIT))).thenReturn(
+                BulkChangeResponseDTO.builder()
+                        .requested(2)
+                        .affected(1)
+                        .affectedIds(List.of(moved))
+                        .skippedIds(List.of(skipped))
+                        .build());
+
+        // Act & Assert
+        BulkStatusTransitionRequestDTO request = BulkStatusTransitionRequestDTO.builder()
+                .ids(List.of(moved, skipped))
+                .targetStatus(OrderStatus.IN_TRANSIT)
+                .build();
+        mockMvc.perform(post("/api/orders/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1))
+                .andExpect(jsonPath("$.affectedIds[0]").value(moved.toString()))
+                .andExpect(jsonPath("$.skippedIds[0]").value(skipped.toString()));
+    }
+
+    @Test
+    void transitionStatus_ShouldReturn400_WhenTargetStatusMissing() throws Exception {
+        BulkStatusTransitionRequestDTO request = BulkStatusTransitionRequestDTO.builder()
+                .ids(List.of(UUID.randomUUID()))
+                .build();
+
+        mockMvc.perform(post("/api/orders/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkOrderService);
+    }
+
+    @Test
+    void deleteOrders_ShouldReturn413_WhenAboveItemLimit() throws Exception {
+        BulkDeleteRequestDTO request = BulkDeleteRequestDTO.builder()
+                .ids(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()))
+                .build();
+
+        mockMvc.perform(post("/api/orders/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPayloadTooLarge());
+
+        verifyNoInteractions(bulkOrderService);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.dto.DispatchBatchDTO;
+import com.ecostream.order.dto.DispatchPlanDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.service.DispatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for DispatchController.
+ */
+@WebMvcTest(DispatchController.class)
+@TestPropertySource(properties = "order.dispatch.max-batch-size=100")
+class DispatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DispatchService dispatchService;
+
+    @Test
+    void planBatches_ShouldReturn200WithPlan() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        DispatchPlanDTO plan = DispatchPlanDTO.builder()
+                .orders(1)
+                .totalBatches(1)
+                .clusteringMillis(3)
+                .batches(List.of(DispatchBatchDTO.builder()
+                        .express(true)
+                        .maxPriority(8)
+                        .centroid(new LocationDTO(49.28, -123.12))
+                        .radiusKm(0)
+                        .orderIds(List.of(orderId))
+                        .build()))
+                .build();
+        when(dispatchService.planBatches(5, 20, 10)).thenReturn(plan);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/dispatch-batches")
+                        .param("radiusKm", "5")
+                        .param("batchSize", "20")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBatches").value(1))
+                .andExpect(jsonPath("$.batches[0].express").value(true))
+                .andExpect(jsonPath("$.batches[0].centroid.latitude").value(49.28))
+                .andExpect(jsonPath("$.batches[0].orderIds[0]").value(orderId.toString()));
+    }
+
+    @Test
+    void planBatches_ShouldReturn400ForInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/orders/dispatch-batches").param("radiusKm", "0.01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/dispatch-batches").param("radiusKm", "51"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/dispatch-batches").param("batchSize", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/dispatch-batches").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(dispatchService);
+    }
+}
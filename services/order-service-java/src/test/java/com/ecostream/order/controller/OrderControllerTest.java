@@ -1,32 +1,55 @@
 package com.ecostream.order.controller;
 
 import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
+import com.ecostream.order.dto.OrderTombstoneDTO;
 import com.ecostream.order.dto.OrderRequestDTO;
 import com.ecostream.order.dto.TelemetryRequestDTO;
 import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.StaleTelemetryDTO;
+import com.ecostream.order.entity.Order;
 import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.service.OrderChangedEvent;
+import com.ecostream.order.service.OrderList;
 import com.ecostream.order.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.UUID;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.List;
 
 import com.ecostream.order.dto.UpdateOrderRequestDTO;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -38,6 +61,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests follow TDD Red-Green-Refactor workflow.
  */
 @WebMvcTest(OrderController.class)
+@Import(SerializedResponseCache.class)
 class OrderControllerTest {
 
     @Autowired
@@ -49,6 +73,14 @@ class OrderControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @AfterEach
+    void clearResponseCache() {
+        responseCache.onOrderChanged(new OrderChangedEvent(List.of()));
+    }
+
     @Test
     void createOrder_ShouldReturn201Created() throws Exception {
         // Arrange: Create request DTO
@@ -105,10 +137,10 @@ class OrderControllerTest {
                 .build();
 
         // Arrange: Mock service to return Optional with response DTO
-        when(orderService.getOrderById(orderId)).thenReturn(Optional.of(responseDTO));
+        when(orderService.getOrderByIdAsync(orderId)).thenReturn(CompletableFuture.completedFuture(Optional.of(responseDTO)));
 
         // Act & Assert: GET request and verify 200 OK response
-        mockMvc.perform(get("/api/orders/{id}", orderId))
+        performAsync(get("/api/orders/{id}", orderId))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(orderId.toString()))
@@ -124,10 +156,10 @@ class OrderControllerTest {
         UUID orderId = UUID.randomUUID();
 
         // Arrange: Mock service to return empty Optional
-        when(orderService.getOrderById(orderId)).thenReturn(Optional.empty());
+        when(orderService.getOrderByIdAsync(orderId)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // Act & Assert: GET request and verify 404 Not Found response
-        mockMvc.perform(get("/api/orders/{id}", orderId))
+        performAsync(get("/api/orders/{id}", orderId))
                 .andExpect(status().isNotFound());
     }
 
@@ -164,10 +196,10 @@ class OrderControllerTest {
         List<OrderResponseDTO> allOrders = Arrays.asList(responseDTO1, responseDTO2);
 
         // Arrange: Mock service to return list of orders
-        when(orderService.getAllOrders()).thenReturn(allOrders);
+        when(orderService.getAllOrdersAsync()).thenReturn(CompletableFuture.completedFuture(new OrderList(allOrders, "2-7-0")));
 
         // Act & Assert: GET request and verify 200 OK response with multiple orders
-        mockMvc.perform(get("/api/orders"))
+        performAsync(get("/api/orders"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(2))
@@ -176,6 +208,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$[0].priority").value(5))
                 .andExpect(jsonPath("$[1].id").value(orderId2.toString()))
                 .andExpect(jsonPath("$[1].status").value("CONFIRMED"))
+                .andExpect(header().string("ETag", "\"2-7-0\""))
                 .andExpect(jsonPath("$[1].priority").value(3));
     }
 
@@ -282,4 +315,267 @@ class OrderControllerTest {
                         .content(objectMapper.writeValueAsString(telemetryRequest)))
                 .andExpect(status().isAccepted());
     }
+
+    @Test
+    void getMotionStats_ShouldReturn200Ok_WhenTelemetryReceived() throws Exception {
+        // Arrange: Mock service to return running motion statistics
+        UUID orderId = UUID.randomUUID();
+        MotionStatsDTO stats = MotionStatsDTO.builder()
+                .speedKmh(42.0)
+                .headingDegrees(90.0)
+                .distanceTravelledKm(3.5)
+                .idleSeconds(30L)
+                .telemetryPoints(12)
+                .build();
+        when(orderService.getMotionStats(orderId)).thenReturn(Optional.of(stats));
+
+        // Act & Assert: GET request and verify 200 OK response
+        mockMvc.perform(get("/api/orders/{id}/stats", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.speedKmh").value(42.0))
+                .andExpect(jsonPath("$.headingDegrees").value(90.0))
+                .andExpect(jsonPath("$.distanceTravelledKm").value(3.5))
+                .andExpect(jsonPath("$.idleSeconds").value(30))
+                .andExpect(jsonPath("$.telemetryPoints").value(12));
+    }
+
+    @Test
+    void getMotionStats_ShouldReturn404NotFound_WhenNoTelemetryReceived() throws Exception {
+        // Arrange: Mock service to return empty Optional
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getMotionStats(orderId)).thenReturn(Optional.empty());
+
+        // Act & Assert: GET request and verify 404 Not Found response
+        mockMvc.perform(get("/api/orders/{id}/stats", orderId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStaleTelemetryOrders_ShouldReturn200WithFlaggedOrders() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getStaleTelemetryOrders(50)).thenReturn(List.of(StaleTelemetryDTO.builder()
+                .orderId(orderId)
+                .silentSinceEpochMillis(1_700_000_000_000L)
+                .silentSeconds(600)
+                .build()));
+
+        mockMvc.perform(get("/api/orders/stale-telemetry").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].orderId").value(orderId.toString()))
+                .andExpect(jsonPath("$[0].silentSeconds").value(600));
+        mockMvc.perform(get("/api/orders/stale-telemetry").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getChanges_ShouldReturn200WithUpsertsAndTombstones() throws Exception {
+        // Arrange
+        UUID updatedId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        OrderChangesResponseDTO changes = OrderChangesResponseDTO.builder()
+                .upserts(List.of(OrderResponseDTO.builder().id(updatedId).status(OrderStatus.IN_TRANSIT).changeVersion(41L).build()))
+                .deleted(List.of(OrderTombstoneDTO.builder().id(deletedId).changeVersion(42L).build()))
+                .nextSince(42L)
+                .hasMore(false)
+                .build();
+        when(orderService.getChangesSince(40L, 500)).thenReturn(changes);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/changes").param("since", "40").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserts[0].id").value(updatedId.toString()))
+                .andExpect(jsonPath("$.upserts[0].changeVersion").value(41))
+                .andExpect(jsonPath("$.deleted[0].id").value(deletedId.toString()))
+                .andExpect(jsonPath("$.nextSince").value(42))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void getChanges_ShouldReturn400_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/orders/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void getOrdersWithin_ShouldPassBoxAndStatusesToService() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrdersWithin(49.0, -123.2, 49.3, -122.9, Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), 50))
+                .thenReturn(List.of(OrderResponseDTO.builder().id(orderId).status(OrderStatus.PENDING).build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/within")
+                        .param("minLatitude", "49.0").param("minLongitude", "-123.2")
+                        .param("maxLatitude", "49.3").param("maxLongitude", "-122.9")
+                        .param("status", "PENDING,CONFIRMED")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(orderId.toString()));
+    }
+
+    @Test
+    void getOrdersWithin_ShouldReturn400_WhenBoxInvalid() throws Exception {
+        // minLatitude above maxLatitude
+        mockMvc.perform(get("/api/orders/within")
+                        .param("minLatitude", "49.3").param("minLongitude", "-123.2")
+                        .param("maxLatitude", "49.0").param("maxLongitude", "-122.9"))
+                .andExpect(status().isBadRequest());
+        // longitude out of range
+        mockMvc.perform(get("/api/orders/within")
+                        .param("minLatitude", "49.0").param("minLongitude", "-190")
+                        .param("maxLatitude", "49.3").param("maxLongitude", "-122.9"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void getOrdersNearby_ShouldQueryAllStatuses_WhenNoneGiven() throws Exception {
+        when(orderService.getOrdersNearby(49.28, -123.12, 5.0, Set.of(), 100)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/orders/nearby")
+                        .param("latitude", "49.28").param("longitude", "-123.12").param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(orderService).getOrdersNearby(49.28, -123.12, 5.0, Set.of(), 100);
+    }
+
+    @Test
+    void getOrdersNearby_ShouldReturn400_WhenRadiusOrLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/orders/nearby")
+                        .param("latitude", "49.28").param("longitude", "-123.12").param("radiusKm", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/nearby")
+                        .param("latitude", "49.28").param("longitude", "-123.12").param("radiusKm", "5")
+                        .param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void getOrderById_ShouldReturnETag_AndThen304WithoutLoadingOrder() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrderETag(orderId)).thenReturn(Optional.of("3-0"));
+        when(orderService.getOrderByIdAsync(orderId)).thenReturn(CompletableFuture.completedFuture(Optional.of(
+                OrderResponseDTO.builder().id(orderId).status(OrderStatus.PENDING).build())));
+
+        // Act & Assert: first request gets the ETag
+        performAsync(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-0\""));
+
+        // Act & Assert: revalidation with the same ETag is a bodyless 304
+        mockMvc.perform(get("/api/orders/{id}", orderId).header("If-None-Match", "\"3-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(orderService, times(1)).getOrderByIdAsync(orderId);
+    }
+
+    @Test
+    void getAllOrders_ShouldReturn304_WhenWatermarkUnchanged() throws Exception {
+        when(orderService.getOrdersETag()).thenReturn("120-5310-77");
+
+        mockMvc.perform(get("/api/orders").header("If-None-Match", "\"120-5310-77\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"120-5310-77\""));
+
+        verify(orderService, never()).getAllOrdersAsync();
+    }
+
+    @Test
+    void getAllOrders_ShouldSkipWatermarkQuery_WithoutIfNoneMatch() throws Exception {
+        when(orderService.getAllOrdersAsync()).thenReturn(CompletableFuture.completedFuture(new OrderList(List.of(), "0-0-0")));
+
+        performAsync(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-0-0\""));
+
+        verify(orderService, never()).getOrdersETag();
+    }
+
+    @Test
+    void updateOrder_ShouldReturn409Conflict_OnConcurrentModification() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.updateOrder(eq(orderId), any(UpdateOrderRequestDTO.class)))
+                .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(Order.class, orderId));
+
+        mockMvc.perform(put("/api/orders/{id}", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateOrderRequestDTO.builder().priority(2).build())))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getAllOrders_ShouldFilterByStatus_WhenStatusGiven() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrdersByStatus(OrderStatus.IN_TRANSIT)).thenReturn(List.of(
+                OrderResponseDTO.builder().id(orderId).status(OrderStatus.IN_TRANSIT).build()));
+
+        mockMvc.perform(get("/api/orders").param("status", "IN_TRANSIT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(orderId.toString()));
+
+        verify(orderService, never()).getAllOrdersAsync();
+    }
+
+    @Test
+    void getOrdersByStatus_ShouldServeRepeatedRequestsFromResponseCache() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrdersByStatus(OrderStatus.IN_TRANSIT)).thenReturn(List.of(
+                OrderResponseDTO.builder().id(orderId).status(OrderStatus.IN_TRANSIT).build()));
+
+        String eTag = mockMvc.perform(get("/api/orders").param("status", "IN_TRANSIT"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/orders").param("status", "IN_TRANSIT")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag.replaceFirst("\"$", "-gz\"")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        mockMvc.perform(get("/api/orders").param("status", "IN_TRANSIT")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, times(1)).getOrdersByStatus(OrderStatus.IN_TRANSIT);
+    }
+
+    @Test
+    void getTopOrdersByPriority_ShouldReturn400_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/orders/by-priority").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).getTopOrdersByPriority(anyInt());
+    }
+
+    @Test
+    void getOrderById_ShouldReturn503_WhenForecastOutlivesRequestTimeout() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        when(orderService.getOrderByIdAsync(orderId)).thenReturn(new CompletableFuture<>());
+
+        MvcResult pending = mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /** Performs a request answered through async MVC and dispatches its result. */
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
 }
@@ -0,0 +1,137 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.config.SqlStatementCounter;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.TelemetryRepository;
+import com.ecostream.order.service.OrderService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets: boots the service against embedded Postgres and asserts how many JDBC
+ * statements an endpoint may issue, so an N+1 (e.g. a lazy relation on Order touched per row)
+ * fails the build instead of showing up in production. Forecasts and telemetry are mocked; the
+ * order cache is off so reads reach the database.
+ */
+@SpringBootTest(properties = {
+        "order.sql-metrics.response-header=true",
+        "order.server-timing.enabled=true",
+        "order.cache.enabled=false",
+        "logging.level.com.ecostream.order=WARN"
+})
+@AutoConfigureMockMvc
+class OrderQueryBudgetTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockBean
+    private ForecastingClient forecastingClient;
+
+    @MockBean
+    private TelemetryRepository telemetryRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void forecastsUnavailable() {
+        when(forecastingClient.getForecastAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void getAllOrders_ShouldIssueOneStatement_RegardlessOfRowCount() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createOrder();
+        }
+
+        // Opting into Server-Timing buffers the body, so the count headers are still settable at the end
+        MvcResult started = mockMvc.perform(get("/api/orders").header("X-Server-Timing", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(statements(result) <= 1, "GET /api/orders issued " + statements(result) + " statements");
+        assertTrue(Long.parseLong(result.getResponse().getHeader("X-Sql-Rows")) >= 5);
+    }
+
+    @Test
+    void deleteOrder_ShouldIssueAtMostTwoStatements() throws Exception {
+        UUID orderId = createOrder();
+
+        MvcResult result = mockMvc.perform(delete("/api/orders/{id}", orderId))
+                .andExpect(status().isNoContent())
+                .andReturn();
+
+        assertTrue(statements(result) <= 2, "DELETE /api/orders/{id} issued " + statements(result) + " statements");
+    }
+
+    @Test
+    void count_ShouldReportStatementsIssuedByServiceCall() {
+        UUID orderId = createOrder();
+
+        SqlStatementCounter.Counts counts = SqlStatementCounter.count(() -> orderService.getOrderById(orderId));
+
+        assertEquals(1, counts.getStatements());
+        assertEquals(1, counts.getRows());
+    }
+
+    private UUID createOrder() {
+        OrderResponseDTO created = orderService.createOrder(OrderRequestDTO.builder()
+                .status(OrderStatus.PENDING)
+                .destination(new LocationDTO(37.7749, -122.4194))
+                .priority(5)
+                .build());
+        return created.getId();
+    }
+
+    private static int statements(MvcResult result) {
+        return Integer.parseInt(result.getResponse().getHeader("X-Sql-Statements"));
+    }
+}
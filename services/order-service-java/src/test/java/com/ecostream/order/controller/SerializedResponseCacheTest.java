@@ -0,0 +1,168 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.service.OrderChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SerializedResponseCache serialization, content negotiation and invalidation.
+ */
+class SerializedResponseCacheTest {
+
+    private final SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(),
+            Duration.ofMinutes(1), 1 << 20, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void write_ShouldServeIdenticalJsonAsIdentityAndGzip() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<Map<String, Integer>> body = List.of(Map.of("priority", 5));
+
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        cache.write("k", () -> { loads.incrementAndGet(); return body; }, new MockHttpServletRequest(), plain);
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest();
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+        cache.write("k", () -> { loads.incrementAndGet(); return body; }, gzipRequest, gzipped);
+
+        assertEquals(1, loads.get());
+        assertEquals("[{\"priority\":5}]", plain.getContentAsString());
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzipped.getContentAsByteArray().length, gzipped.getContentLength());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+        // Each encoding is its own representation with its own strong validator
+        String eTag = plain.getHeader(HttpHeaders.ETAG);
+        assertEquals(eTag.substring(0, eTag.length() - 1) + "-gz\"", gzipped.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQValues() {
+        assertTrue(SerializedResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(SerializedResponseCache.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(SerializedResponseCache.acceptsGzip("*"));
+        assertFalse(SerializedResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(SerializedResponseCache.acceptsGzip("gzip;q=0.000, *;q=1"));
+        assertFalse(SerializedResponseCache.acceptsGzip("identity"));
+        assertFalse(SerializedResponseCache.acceptsGzip(null));
+    }
+
+    @Test
+    void write_ShouldMatchIfNoneMatchListsOfTheSelectedEncodingOnly() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        cache.write("k", () -> List.of(1), new MockHttpServletRequest("GET", "/api/orders"), first);
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        assertEquals(304, conditionalGet("\"other\", W/" + eTag, null).getStatus());
+        assertEquals(304, conditionalGet("*", null).getStatus());
+        // The identity ETag does not validate the gzip body
+        MockHttpServletResponse gzipped = conditionalGet(eTag, "gzip");
+        assertEquals(200, gzipped.getStatus());
+        assertEquals(304, conditionalGet(gzipped.getHeader(HttpHeaders.ETAG), "gzip").getStatus());
+        // A substring of the ETag is not a match
+        assertEquals(200, conditionalGet("\"x" + eTag.substring(1), null).getStatus());
+    }
+
+    private MockHttpServletResponse conditionalGet(String ifNoneMatch, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write("k", () -> List.of(1), request, response);
+        return response;
+    }
+
+    @Test
+    void onOrderChanged_ShouldDropEntriesSoTheNextRequestReloads() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("k", () -> List.of(loads.incrementAndGet()));
+        cache.onOrderChanged(new OrderChangedEvent(List.of()));
+        SerializedResponseCache.CachedResponse reloaded = cache.get("k", () -> List.of(loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+        assertEquals("[2]", new String(reloaded.json()));
+    }
+
+    @Test
+    void get_ShouldNotKeepFill_WhenInvalidatedWhileLoading() {
+        AtomicInteger loads = new AtomicInteger();
+
+        // A change lands while the list is being read; that read may predate the change
+        cache.get("k", () -> {
+            cache.onOrderChanged(new OrderChangedEvent(List.of()));
+            return List.of(loads.incrementAndGet());
+        });
+        cache.get("k", () -> List.of(loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldLoadOutsideTheCache_AndShareTheFillWithConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SerializedResponseCache.CachedResponse> slow = executor.submit(() -> cache.get("slow", () -> {
+                loading.countDown();
+                await(release);
+                return List.of(loads.incrementAndGet());
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            AtomicReference<Thread> waiterThread = new AtomicReference<>();
+            Future<SerializedResponseCache.CachedResponse> waiter = executor.submit(() -> {
+                waiterThread.set(Thread.currentThread());
+                return cache.get("slow", () -> List.of(loads.incrementAndGet()));
+            });
+            while (waiterThread.get() == null || waiterThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+
+            // Neither another key nor an invalidation waits for the slow load
+            assertEquals("[0]", new String(cache.get("other", () -> List.of(0)).json()));
+            cache.onOrderChanged(new OrderChangedEvent(List.of()));
+            release.countDown();
+
+            assertEquals("[1]", new String(slow.get(5, TimeUnit.SECONDS).json()));
+            assertEquals("[1]", new String(waiter.get(5, TimeUnit.SECONDS).json()));
+            assertEquals(1, loads.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.controller.TelemetryFrameCodec.MalformedFrameException;
+import com.ecostream.order.controller.TelemetryFrameCodec.TelemetryFrame;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the compact device telemetry frame codec.
+ */
+class TelemetryFrameCodecTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedFrame() {
+        UUID orderId = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE);
+        TelemetryFrameCodec.encode(orderId, 49.2827, -123.1207, buffer);
+        buffer.flip();
+
+        TelemetryFrame frame = TelemetryFrameCodec.decode(buffer);
+
+        assertEquals(new TelemetryFrame(orderId, 49.2827, -123.1207), frame);
+        assertEquals(0, buffer.remaining(), "Decode must consume exactly one frame");
+    }
+
+    @Test
+    void decode_ShouldRejectBadHeaderAsNonRecoverable() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE);
+        TelemetryFrameCodec.encode(UUID.randomUUID(), 10.0, 10.0, buffer);
+        buffer.put(0, (byte) 0x00);
+        buffer.flip();
+
+        MalformedFrameException e = assertThrows(MalformedFrameException.class, () -> TelemetryFrameCodec.decode(buffer));
+        assertFalse(e.isRecoverable());
+        assertEquals(0, buffer.remaining(), "Bad frame is still consumed");
+    }
+
+    @Test
+    void decode_ShouldRejectOutOfRangeAndNaNCoordinatesAsRecoverable() {
+        for (double[] coordinates : new double[][]{{91.0, 0.0}, {0.0, -181.0}, {Double.NaN, 0.0}}) {
+            ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE);
+            TelemetryFrameCodec.encode(UUID.randomUUID(), coordinates[0], coordinates[1], buffer);
+            buffer.flip();
+
+            MalformedFrameException e = assertThrows(MalformedFrameException.class, () -> TelemetryFrameCodec.decode(buffer));
+            assertTrue(e.isRecoverable());
+        }
+    }
+}
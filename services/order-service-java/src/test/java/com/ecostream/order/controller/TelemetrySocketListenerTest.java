@@ -0,0 +1,78 @@
+package com.ecostream.order.controller;
+
+import com.ecostream.order.dto.TelemetryRequestDTO;
+import com.ecostream.order.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the NIO device listener end-to-end over loopback with a mocked OrderService.
+ */
+class TelemetrySocketListenerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TelemetrySocketListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TelemetrySocketListener(orderService, 0, 0, 2, 100, 16, meterRegistry);
+        listener.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void tcpFrames_ShouldBeIngestedThroughOrderService() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        int frames = 200;
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE * frames);
+        for (int i = 0; i < frames; i++) {
+            TelemetryFrameCodec.encode(orderId, 49.0 + i * 0.0001, -123.0, buffer);
+        }
+        buffer.flip();
+
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", listener.getTcpPort()))) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            verify(orderService, timeout(5000).times(frames)).ingestTelemetry(eq(orderId), any(TelemetryRequestDTO.class));
+        }
+    }
+
+    @Test
+    void udpDatagram_ShouldIngestValidFramesAndCountInvalidOnes() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryFrameCodec.FRAME_SIZE * 2);
+        TelemetryFrameCodec.encode(orderId, 37.7749, -122.4194, buffer);
+        TelemetryFrameCodec.encode(orderId, 95.0, -122.4194, buffer); // out of range
+        buffer.flip();
+
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.send(buffer, new InetSocketAddress("localhost", listener.getUdpPort()));
+        }
+
+        ArgumentCaptor<TelemetryRequestDTO> request = ArgumentCaptor.forClass(TelemetryRequestDTO.class);
+        verify(orderService, timeout(5000)).ingestTelemetry(eq(orderId), request.capture());
+        assertEquals(37.7749, request.getValue().getCurrentLatitude());
+        assertEquals(-122.4194, request.getValue().getCurrentLongitude());
+        assertEquals(1.0, meterRegistry.get("ecostream.telemetry.listener.frames").tag("result", "invalid").counter().count());
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecostream.order.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UuidV7Generator layout and ordering.
+ */
+class UuidV7GeneratorTest {
+
+    /** Byte-wise (unsigned) comparison, which is how PostgreSQL orders uuid values. */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Test
+    void next_ShouldProduceVersion7Variant2WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = UuidV7Generator.timestampMillis(uuid);
+        // A burst may have carried the counter into the next millisecond
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingInDatabaseOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0, "not increasing at " + i);
+        }
+    }
+
+    @Test
+    void next_ShouldBeUniqueAcrossThreads() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 8).parallel().forEach(t -> {
+            for (int i = 0; i < 20_000; i++) {
+                ids.add(UuidV7Generator.next());
+            }
+        });
+
+        assertEquals(160_000, ids.size());
+    }
+
+    @Test
+    void timestampMillis_ShouldRejectRandomUuids() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generator.timestampMillis(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecostream.order.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZOrderTest {
+
+    @Test
+    void encode_ShouldMapCornersToFirstAndLastCell() {
+        assertEquals(0L, ZOrder.encode(-90, -180));
+        assertEquals((1L << (2 * ZOrder.BITS)) - 1, ZOrder.encode(90, 180));
+        assertEquals(ZOrder.encode(90, 180), ZOrder.encode(95, 200)); // clamped
+    }
+
+    @Test
+    void encode_ShouldShareLongPrefixes_ForNearbyPoints() {
+        long a = ZOrder.encode(49.2827, -123.1207);
+        long b = ZOrder.encode(49.2828, -123.1208);
+        long far = ZOrder.encode(-33.8688, 151.2093);
+
+        assertTrue(Long.numberOfLeadingZeros(a ^ b) > Long.numberOfLeadingZeros(a ^ far) + 20);
+    }
+
+    @Test
+    void ranges_ShouldCoverEveryPointInTheBox() {
+        Random random = new Random(7);
+        for (int box = 0; box < 200; box++) {
+            double minLat = random.nextDouble() * 170 - 85;
+            double minLon = random.nextDouble() * 350 - 175;
+            double height = Math.min(90 - minLat, Math.pow(10, random.nextDouble() * 4 - 3));
+            double width = Math.min(180 - minLon, Math.pow(10, random.nextDouble() * 4 - 3));
+            List<ZOrder.Range> ranges = ZOrder.ranges(minLat, minLon, minLat + height, minLon + width, 16);
+
+            assertTrue(ranges.size() <= 16);
+            for (int i = 1; i < ranges.size(); i++) {
+                assertTrue(ranges.get(i - 1).high() < ranges.get(i).low(), "ranges must be ascending and disjoint");
+            }
+            for (int point = 0; point < 200; point++) {
+                long cell = ZOrder.encode(minLat + random.nextDouble() * height, minLon + random.nextDouble() * width);
+                assertTrue(ranges.stream().anyMatch(r -> r.low() <= cell && cell <= r.high()),
+                        "cell of a point inside box " + box + " is not covered");
+            }
+        }
+    }
+
+    @Test
+    void ranges_ShouldStayCloseToTheBox() {
+        // A 0.1 x 0.1 degree box: the cover may overhang by cells, but not by orders of magnitude
+        List<ZOrder.Range> ranges = ZOrder.ranges(49.2, -123.2, 49.3, -123.1, 16);
+        long covered = ranges.stream().mapToLong(r -> r.high() - r.low() + 1).sum();
+        double cellsPerSquareDegree = Math.pow(2, 2 * ZOrder.BITS) / (180.0 * 360.0);
+
+        assertTrue(covered < 8 * 0.01 * cellsPerSquareDegree, "cover spans " + covered + " cells");
+    }
+
+    @Test
+    void ranges_ShouldRejectInvertedBox() {
+        assertThrows(IllegalArgumentException.class, () -> ZOrder.ranges(49.3, -123.2, 49.2, -123.1, 16));
+    }
+}
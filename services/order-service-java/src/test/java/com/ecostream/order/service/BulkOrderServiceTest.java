@@ -0,0 +1,214 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.BulkChangeResponseDTO;
+import com.ecostream.order.dto.BulkItemStatus;
+import com.ecostream.order.dto.BulkOperationResponseDTO;
+import com.ecostream.order.dto.BulkUpdateOrderRequestDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderChangeSequence;
+import com.ecostream.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkOrderServiceImpl chunking, validation and per-item results.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkOrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private MotionTracker motionTracker;
+
+    @Mock
+    private OrderChangeSequence orderChangeSequence;
+
+    @Mock
+    private OrderCache orderCache;
+
+    @Mock
+    private DestinationTable destinationTable;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private BulkOrderServiceImpl bulkOrderService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(orderChangeSequence.next(anyInt())).thenAnswer(invocation -> new long[invocation.<Integer>getArgument(0)]);
+        bulkOrderService = new BulkOrderServiceImpl(orderRepository, motionTracker, orderChangeSequence, orderCache, destinationTable, eventPublisher, entityManager, transactionManager, validator, 2);
+    }
+
+    private OrderRequestDTO orderRequest(double latitude) {
+        return OrderRequestDTO.builder()
+                .status(OrderStatus.CONFIRMED)
+                .destination(LocationDTO.builder().latitude(latitude).longitude(-123.0).build())
+                .priority(1)
+                .build();
+    }
+
+    @Test
+    void createOrders_ShouldPersistValidItemsInChunksAndReportInvalidOnes() {
+        // Arrange: persist assigns an ID like Hibernate's UUID generator would
+        doAnswer(invocation -> {
+            invocation.<Order>getArgument(0).setId(UUID.randomUUID());
+            return null;
+        }).when(entityManager).persist(any(Order.class));
+        List<OrderRequestDTO> requests = List.of(orderRequest(10), orderRequest(200), orderRequest(20), orderRequest(30));
+
+        // Act
+        BulkOperationResponseDTO response = bulkOrderService.createOrders(requests);
+
+        // Assert: 3 valid items in chunks of 2 -> 2 transactions, 2 flushes
+        assertEquals(4, response.getRequested());
+        assertEquals(3, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(BulkItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(BulkItemStatus.INVALID, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getError().contains("Latitude must be between -90 and 90"));
+        assertNotNull(response.getResults().get(3).getId());
+        verify(entityManager, times(3)).persist(argThat((Order o) -> o.getStatus() == OrderStatus.PENDING));
+        verify(entityManager, times(2)).flush();
+        verify(transactionManager, times(2)).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    void createOrders_ShouldMarkWholeChunkFailed_WhenFlushFails() {
+        doThrow(new RuntimeException("constraint violation")).when(entityManager).flush();
+
+        BulkOperationResponseDTO response = bulkOrderService.createOrders(List.of(orderRequest(10), orderRequest(20)));
+
+        assertEquals(0, response.getSucceeded());
+        assertTrue(response.getResults().stream().allMatch(r -> r.getStatus() == BulkItemStatus.FAILED));
+        verify(transactionManager).rollback(any(TransactionStatus.class));
+    }
+
+    @Test
+    void updateOrders_ShouldLoadEachChunkWithOneQueryAndReportMissingOrders() {
+        // Arrange
+        Order existing = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.CONFIRMED)
+                .destinationLatitude(10.0)
+                .destinationLongitude(10.0)
+                .priority(1)
+                .build();
+        UUID missingId = UUID.randomUUID();
+        when(orderRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Order> found = new ArrayList<>();
+            invocation.<Iterable<UUID>>getArgument(0).forEach(id -> {
+                if (id.equals(existing.getId())) {
+                    found.add(existing);
+                }
+            });
+            return found;
+        });
+
+        // Act
+        BulkOperationResponseDTO response = bulkOrderService.updateOrders(List.of(
+                BulkUpdateOrderRequestDTO.builder().id(existing.getId()).status(OrderStatus.IN_TRANSIT).priority(7).build(),
+                BulkUpdateOrderRequestDTO.builder().id(missingId).status(OrderStatus.IN_TRANSIT).build(),
+                BulkUpdateOrderRequestDTO.builder().status(OrderStatus.IN_TRANSIT).build()));
+
+        // Assert
+        assertEquals(BulkItemStatus.UPDATED, response.getResults().get(0).getStatus());
+        assertEquals(BulkItemStatus.NOT_FOUND, response.getResults().get(1).getStatus());
+        assertEquals(BulkItemStatus.INVALID, response.getResults().get(2).getStatus());
+        assertEquals(OrderStatus.IN_TRANSIT, existing.getStatus());
+        assertEquals(7, existing.getPriority());
+        verify(orderRepository, times(1)).findAllById(any());
+        verify(motionTracker, never()).remove(any()); // still in transit, so its motion state is kept
+    }
+
+    @Test
+    void transitionStatus_ShouldRunOneStatementWithAllowedPredecessorsAndReportSkippedIds() {
+        // Arrange: only the first order is in a status allowed to move to IN_TRANSIT
+        UUID moved = UUID.randomUUID();
+        UUID skipped = UUID.randomUUID();
+        when(orderRepository.transitionStatusReturningDestinations(anyList(), eq("IN_TRANSIT"), eq(List.of("CONFIRMED"))))
+                .thenReturn(List.<Object[]>of(new Object[]{moved, 49.28, -123.12}));
+
+        // Act: duplicate IDs are collapsed before the statement runs
+        BulkChangeResponseDTO response = bulkOrderService.transitionStatus(
+                List.of(moved, skipped, moved), OrderStatus.IN_TRANSIT);
+
+        // Assert
+        assertEquals(2, response.getRequested());
+        assertEquals(1, response.getAffected());
+        assertEquals(List.of(moved), response.getAffectedIds());
+        assertEquals(List.of(skipped), response.getSkippedIds());
+        verify(orderRepository, times(1)).transitionStatusReturningDestinations(eq(List.of(moved, skipped)), any(), any());
+        // Destinations for arrival detection come from the UPDATE, not a read that could hit a replica
+        verify(destinationTable).put(moved, 49.28, -123.12);
+        verify(orderRepository, never()).findAllById(any());
+        verify(eventPublisher).publishEvent(new OrderChangedEvent(List.of(moved)));
+    }
+
+    @Test
+    void transitionStatus_ShouldSkipEverything_WhenTargetHasNoPredecessors() {
+        UUID id = UUID.randomUUID();
+
+        BulkChangeResponseDTO response = bulkOrderService.transitionStatus(List.of(id), OrderStatus.PENDING);
+
+        assertEquals(0, response.getAffected());
+        assertEquals(List.of(id), response.getSkippedIds());
+        verifyNoInteractions(orderRepository, eventPublisher);
+    }
+
+    @Test
+    void deleteOrders_ShouldSplitLargeRequestsIntoStatementsAndForgetMotionState() {
+        // Arrange: one more ID than fits in a single statement
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= BulkOrderServiceImpl.MAX_IDS_PER_STATEMENT; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        when(orderRepository.deleteAllByIdReturning(anyList()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<List<UUID>>getArgument(0)));
+
+        // Act
+        BulkChangeResponseDTO response = bulkOrderService.deleteOrders(ids);
+
+        // Assert: two statements in one transaction
+        assertEquals(ids.size(), response.getAffected());
+        assertTrue(response.getSkippedIds().isEmpty());
+        verify(orderRepository, times(2)).deleteAllByIdReturning(anyList());
+        verify(transactionManager, times(1)).commit(any(TransactionStatus.class));
+        verify(motionTracker).remove(ids.get(0));
+    }
+}
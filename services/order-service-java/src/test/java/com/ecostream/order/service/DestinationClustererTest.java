@@ -0,0 +1,163 @@
+package com.ecostream.order.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for DestinationClusterer, including a comparison with brute-force clustering.
+ */
+class DestinationClustererTest {
+
+    private static final double KM_PER_DEGREE = 6371.0088 * Math.PI / 180;
+
+    private static DestinationClusterer clusterer;
+
+    @BeforeAll
+    static void createClusterer() {
+        clusterer = new DestinationClusterer(4);
+    }
+
+    @AfterAll
+    static void shutDown() {
+        clusterer.destroy();
+    }
+
+    @Test
+    void cluster_ShouldChainNeighboursWithinRadius() {
+        // Three destinations ~1.5 km apart in a line, a fourth ~10 km away
+        double[] latitudes = {49.280, 49.2935, 49.307, 49.40};
+        double[] longitudes = {-123.12, -123.12, -123.12, -123.12};
+
+        DestinationClusterer.Batches batches = clusterer.cluster(latitudes, longitudes, new boolean[4], 2, 100);
+
+        assertEquals(Set.of(Set.of(0, 1, 2), Set.of(3)), batchSets(batches));
+    }
+
+    @Test
+    void cluster_ShouldNeverMixExpressAndStandard() {
+        double[] latitudes = {49.280, 49.281, 49.282};
+        double[] longitudes = {-123.12, -123.12, -123.12};
+        boolean[] express = {true, false, true};
+
+        DestinationClusterer.Batches batches = clusterer.cluster(latitudes, longitudes, express, 2, 100);
+
+        assertEquals(Set.of(Set.of(0, 2), Set.of(1)), batchSets(batches));
+    }
+
+    @Test
+    void cluster_ShouldSplitLargeClustersIntoEvenPieces() {
+        int n = 1000;
+        Random random = new Random(3);
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = 49.28 + random.nextDouble() * 0.01;
+            longitudes[i] = -123.12 + random.nextDouble() * 0.01;
+        }
+
+        DestinationClusterer.Batches batches = clusterer.cluster(latitudes, longitudes, new boolean[n], 5, 60);
+
+        assertEquals(17, batches.count());
+        for (int b = 0; b < batches.count(); b++) {
+            int size = batches.starts()[b + 1] - batches.starts()[b];
+            assertTrue(size == 58 || size == 59, "batch size " + size);
+        }
+        int[] members = batches.members().clone();
+        Arrays.sort(members);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, members[i]);
+        }
+    }
+
+    @Test
+    void cluster_ShouldMatchBruteForceClustering() {
+        Random random = new Random(7);
+        int n = 2000;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        boolean[] express = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            // Mostly near the two test cities, some at high latitude where cells are widest
+            double[] centre = i % 10 == 0 ? new double[]{69.65, 18.96} : i % 2 == 0 ? new double[]{49.28, -123.12}
+                    : new double[]{-33.87, 151.21};
+            latitudes[i] = centre[0] + random.nextGaussian() * 0.2;
+            longitudes[i] = centre[1] + random.nextGaussian() * 0.2;
+            express[i] = random.nextInt(4) == 0;
+        }
+
+        for (double radiusKm : new double[]{0.5, 2, 10}) {
+            DestinationClusterer.Batches batches = clusterer.cluster(latitudes, longitudes, express, radiusKm, n);
+
+            assertEquals(bruteForce(latitudes, longitudes, express, radiusKm), batchSets(batches), "radius " + radiusKm);
+        }
+    }
+
+    @Test
+    void cluster_ShouldRejectInvalidInput() {
+        double[] one = {49.28};
+
+        assertThrows(IllegalArgumentException.class, () -> clusterer.cluster(one, one, new boolean[1], 0.05, 10));
+        assertThrows(IllegalArgumentException.class, () -> clusterer.cluster(one, one, new boolean[1], 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> clusterer.cluster(one, new double[2], new boolean[1], 2, 10));
+    }
+
+    private static Set<Set<Integer>> batchSets(DestinationClusterer.Batches batches) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (int b = 0; b < batches.count(); b++) {
+            Set<Integer> batch = new HashSet<>();
+            for (int k = batches.starts()[b]; k < batches.starts()[b + 1]; k++) {
+                batch.add(batches.members()[k]);
+            }
+            sets.add(batch);
+        }
+        return sets;
+    }
+
+    /** Connected components of the "within radius, same class" graph, checking every pair. */
+    private static Set<Set<Integer>> bruteForce(double[] latitudes, double[] longitudes, boolean[] express,
+                                                double radiusKm) {
+        int n = latitudes.length;
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (int seed = 0; seed < n; seed++) {
+            if (component[seed] >= 0) {
+                continue;
+            }
+            Set<Integer> members = new HashSet<>();
+            List<Integer> pending = new ArrayList<>(List.of(seed));
+            component[seed] = seed;
+            while (!pending.isEmpty()) {
+                int i = pending.remove(pending.size() - 1);
+                members.add(i);
+                for (int j = 0; j < n; j++) {
+                    if (component[j] < 0 && express[i] == express[j]
+                            && distanceKm(latitudes[i], longitudes[i], latitudes[j], longitudes[j]) <= radiusKm) {
+                        component[j] = seed;
+                        pending.add(j);
+                    }
+                }
+            }
+            sets.add(members);
+        }
+        return sets;
+    }
+
+    private static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dx = (longitude1 - longitude2) * Math.cos(Math.toRadians((latitude1 + latitude2) / 2)) * KM_PER_DEGREE;
+        double dy = (latitude1 - latitude2) * KM_PER_DEGREE;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderSpatialQueries.Destinations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DestinationTable lookups, growth and coherence with order writes.
+ */
+class DestinationTableTest {
+
+    private final DestinationTable table = new DestinationTable(null, 100, new SimpleMeterRegistry());
+
+    @Test
+    void hasArrived_ShouldBeTrueOnlyWithinRadiusOfHeldDestination() {
+        UUID orderId = UUID.randomUUID();
+        table.put(orderId, 49.2800, -123.1200);
+
+        assertTrue(table.hasArrived(orderId, 49.2800, -123.1210));  // ~73 m west
+        assertFalse(table.hasArrived(orderId, 49.2800, -123.1220)); // ~145 m west
+        assertFalse(table.hasArrived(UUID.randomUUID(), 49.2800, -123.1200));
+    }
+
+    @Test
+    void hasArrived_ShouldMeasureAcrossTheAntimeridian() {
+        UUID orderId = UUID.randomUUID();
+        table.put(orderId, -16.5, 179.9997);
+
+        assertTrue(table.hasArrived(orderId, -16.5, -179.9998)); // ~53 m east across 180
+        assertFalse(table.hasArrived(orderId, -16.5, -179.9));
+    }
+
+    @Test
+    void sync_ShouldHoldOnlyInTransitOrders() {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(45.5)
+                .destinationLongitude(-73.6)
+                .priority(3)
+                .build();
+        table.sync(order);
+        assertTrue(table.hasArrived(order.getId(), 45.5, -73.6));
+
+        order.setDestinationLatitude(43.65);
+        order.setDestinationLongitude(-79.38);
+        table.sync(order);
+        assertFalse(table.hasArrived(order.getId(), 45.5, -73.6));
+        assertTrue(table.hasArrived(order.getId(), 43.65, -79.38));
+
+        order.setStatus(OrderStatus.CANCELLED);
+        table.sync(order);
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void table_ShouldGrowAndReuseRemovedSlots() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            table.put(id, i * 0.001, i * 0.001);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            table.remove(ids.get(i));
+        }
+        // Churn on a steady size exercises rehashing that drops removed slots
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            table.put(id, 10, 10);
+            table.remove(id);
+        }
+
+        assertEquals(5_000, table.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 1, table.hasArrived(ids.get(i), i * 0.001, i * 0.001), "order " + i);
+        }
+    }
+
+    @Test
+    void load_ShouldReadInTransitDestinations_AndZeroRadiusShouldDisableDetection() {
+        UUID orderId = UUID.randomUUID();
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findDestinations(List.of(OrderStatus.IN_TRANSIT), Integer.MAX_VALUE))
+                .thenReturn(new Destinations(new UUID[]{orderId}, new double[]{49.28}, new double[]{-123.12},
+                        new int[]{3}));
+        DestinationTable loaded = new DestinationTable(orderRepository, 100, new SimpleMeterRegistry());
+        DestinationTable disabled = new DestinationTable(orderRepository, 0, new SimpleMeterRegistry());
+
+        loaded.load();
+        disabled.load();
+
+        assertTrue(loaded.hasArrived(orderId, 49.28, -123.12));
+        assertFalse(disabled.hasArrived(orderId, 49.28, -123.12));
+    }
+
+    @Test
+    void load_ShouldNotOverwriteWritesMadeWhileItRuns() {
+        UUID delivered = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        DestinationTable loading = new DestinationTable(orderRepository, 100, new SimpleMeterRegistry());
+        // The snapshot is read before these writes commit and sync, so it still has the old state
+        when(orderRepository.findDestinations(List.of(OrderStatus.IN_TRANSIT), Integer.MAX_VALUE)).thenAnswer(call -> {
+            loading.remove(delivered);
+            loading.put(moved, 43.65, -79.38);
+            return new Destinations(new UUID[]{delivered, moved, untouched},
+                    new double[]{49.28, 45.5, 51.05}, new double[]{-123.12, -73.6, -114.07}, new int[]{3, 3, 3});
+        });
+
+        loading.load();
+
+        assertFalse(loading.hasArrived(delivered, 49.28, -123.12));
+        assertTrue(loading.hasArrived(moved, 43.65, -79.38));
+        assertFalse(loading.hasArrived(moved, 45.5, -73.6));
+        assertTrue(loading.hasArrived(untouched, 51.05, -114.07));
+        assertEquals(2, loading.size());
+    }
+}
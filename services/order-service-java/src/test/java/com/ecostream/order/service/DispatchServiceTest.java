@@ -0,0 +1,87 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.DispatchBatchDTO;
+import com.ecostream.order.dto.DispatchPlanDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderSpatialQueries.Destinations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DispatchServiceImpl ranking and truncation, with a real clusterer.
+ */
+@ExtendWith(MockitoExtension.class)
+class DispatchServiceTest {
+
+    private static final List<OrderStatus> WAITING = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private DestinationClusterer clusterer;
+
+    private final UUID[] ids = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            UUID.randomUUID()};
+
+    @BeforeEach
+    void setUp() {
+        clusterer = new DestinationClusterer(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterer.destroy();
+    }
+
+    /** Two Standard orders together in Vancouver, one Standard in Toronto, two Express orders apart in Montreal. */
+    private Destinations destinations() {
+        return new Destinations(ids,
+                new double[]{49.280, 49.281, 43.65, 45.50, 45.60},
+                new double[]{-123.12, -123.12, -79.38, -73.57, -73.57},
+                new int[]{2, 4, 3, 6, 9});
+    }
+
+    @Test
+    void planBatches_ShouldRankByMaxPriorityThenSize() {
+        when(orderRepository.findDestinations(WAITING, 101)).thenReturn(destinations());
+        DispatchServiceImpl service = new DispatchServiceImpl(orderRepository, clusterer, 100);
+
+        DispatchPlanDTO plan = service.planBatches(2, 10, 3);
+
+        assertEquals(5, plan.getOrders());
+        assertFalse(plan.isTruncated());
+        assertEquals(4, plan.getTotalBatches());
+        List<DispatchBatchDTO> batches = plan.getBatches();
+        assertEquals(List.of(List.of(ids[4]), List.of(ids[3]), List.of(ids[1], ids[0])),
+                batches.stream().map(DispatchBatchDTO::getOrderIds).toList());
+        assertTrue(batches.get(0).isExpress());
+        assertEquals(4, batches.get(2).getMaxPriority());
+        assertFalse(batches.get(2).isExpress());
+        assertEquals(49.2805, batches.get(2).getCentroid().getLatitude(), 1e-9);
+        assertEquals(0.0556, batches.get(2).getRadiusKm(), 1e-3);
+    }
+
+    @Test
+    void planBatches_ShouldPlanOldestOrdersWhenMoreAreWaiting() {
+        when(orderRepository.findDestinations(WAITING, 4)).thenReturn(destinations());
+        DispatchServiceImpl service = new DispatchServiceImpl(orderRepository, clusterer, 3);
+
+        DispatchPlanDTO plan = service.planBatches(2, 10, 10);
+
+        assertEquals(3, plan.getOrders());
+        assertTrue(plan.isTruncated());
+        assertEquals(2, plan.getTotalBatches());
+        assertEquals(List.of(ids[1], ids[0]), plan.getBatches().get(0).getOrderIds());
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.client.ForecastResponseDTO;
+import com.ecostream.order.client.ForecastShedException;
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EtaRefresherTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ForecastingClient forecastingClient;
+
+    private final EtaStore etaStore = new EtaStore(100, Duration.ofMinutes(15), Duration.ofMinutes(2), new SimpleMeterRegistry());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CircuitBreakerRegistry circuitBreakers;
+    private EtaRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        refresher = new EtaRefresher(orderRepository, forecastingClient, etaStore, circuitBreakers,
+                Duration.ofSeconds(60), 10, 2, 0, 0.1, meterRegistry);
+    }
+
+    @Test
+    void step_ShouldWalkInTransitOrdersInKeysetBatches_AndStoreFreshEtas() {
+        Order first = order(2);
+        Order second = order(5);
+        Order third = order(1);
+        when(orderRepository.findByStatusOrderByIdAsc(OrderStatus.IN_TRANSIT, Limit.of(2))).thenReturn(List.of(first, second));
+        when(orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.IN_TRANSIT, second.getId(), Limit.of(2)))
+                .thenReturn(List.of(third));
+        when(orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.IN_TRANSIT, third.getId(), Limit.of(2)))
+                .thenReturn(List.of());
+        when(forecastingClient.getForecast(any(), any(), any(), any())).thenReturn(new ForecastResponseDTO(4.2, 12.0));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), refresher.step(), "10 calls/s without jitter");
+        }
+        long untilNextWalk = refresher.step();
+
+        assertTrue(untilNextWalk > TimeUnit.SECONDS.toNanos(59), "The next walk starts an interval after this one began");
+        verify(forecastingClient).getForecast(eq(second.getId()), any(), any(), eq("Express"));
+        assertEquals(12.0, etaStore.fresh(first, "Standard").orElseThrow().estimatedArrivalMinutes());
+        assertTrue(etaStore.fresh(third, "Standard").isPresent());
+        assertTrue(etaStore.fresh(second, "Standard").isEmpty(), "Stored for the class it was computed for");
+    }
+
+    @Test
+    void rate_ShouldFollowCircuitBreakerHealth() {
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker("forecastService");
+        assertEquals(10, refresher.rateFor(breaker.getState()), 1e-9);
+
+        breaker.onError(0, TimeUnit.MILLISECONDS, new RuntimeException("500"));
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(0, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(7.5, refresher.rateFor(breaker.getState()), 1e-9, "25% failures -> 75% of the rate");
+
+        breaker.transitionToOpenState();
+        breaker.transitionToHalfOpenState();
+        assertEquals(1, refresher.rateFor(breaker.getState()), 1e-9);
+        breaker.transitionToOpenState();
+        assertEquals(1, refresher.rateFor(breaker.getState()), 1e-9, "One attempt per second while open");
+    }
+
+    @Test
+    void step_ShouldRetrySameOrder_WhenOpenBreakerRejectedTheCall() {
+        Order order = order(2);
+        when(orderRepository.findByStatusOrderByIdAsc(OrderStatus.IN_TRANSIT, Limit.of(2))).thenReturn(List.of(order));
+        circuitBreakers.circuitBreaker("forecastService").transitionToOpenState();
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), refresher.step());
+        refresher.step();
+
+        verify(forecastingClient, times(2)).getForecast(eq(order.getId()), any(), any(), any());
+        assertEquals(1.0, refresher.getCurrentRate(), 1e-9);
+    }
+
+    @Test
+    void step_ShouldCountAShedCallSeparately_AndMoveOn() {
+        Order order = order(2);
+        when(orderRepository.findByStatusOrderByIdAsc(OrderStatus.IN_TRANSIT, Limit.of(2))).thenReturn(List.of(order));
+        when(forecastingClient.getForecast(any(), any(), any(), any()))
+                .thenThrow(new ForecastShedException("standard forecast call shed: queue full"));
+
+        refresher.step();
+
+        assertTrue(etaStore.fresh(order, "Standard").isEmpty());
+        assertEquals(1, meterRegistry.get("ecostream.eta.refresh.calls").tag("outcome", "shed").counter().count());
+        assertEquals(0, meterRegistry.get("ecostream.eta.refresh.calls").tag("outcome", "failed").counter().count());
+    }
+
+    private static Order order(int priority) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(49.2827)
+                .destinationLongitude(-123.1207)
+                .priority(priority)
+                .build();
+    }
+}
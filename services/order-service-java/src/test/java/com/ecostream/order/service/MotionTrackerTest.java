@@ -0,0 +1,96 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.MotionStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MotionTracker incremental statistics.
+ */
+class MotionTrackerTest {
+
+    // 0.009 degrees of latitude is roughly 1 km
+    private static final double ONE_KM_LAT = 0.008993;
+
+    private final MotionTracker tracker = new MotionTracker(1.0, 200_000, Duration.ofHours(1));
+
+    @Test
+    void getStats_ShouldBeEmpty_WhenNoTelemetryRecorded() {
+        assertTrue(tracker.getStats(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void record_ShouldComputeSpeedHeadingAndDistance_ForNorthboundMovement() {
+        UUID orderId = UUID.randomUUID();
+
+        // 1 km north in 60 seconds = 60 km/h
+        tracker.record(orderId, 49.0, -123.0, 0L);
+        tracker.record(orderId, 49.0 + ONE_KM_LAT, -123.0, 60_000L);
+
+        MotionStatsDTO stats = tracker.getStats(orderId).orElseThrow();
+        assertEquals(1.0, stats.getDistanceTravelledKm(), 0.01);
+        assertEquals(60.0, stats.getSpeedKmh(), 0.5);
+        assertEquals(60.0, stats.getAverageSpeedKmh(), 0.5);
+        assertEquals(0.0, stats.getHeadingDegrees(), 0.5);
+        assertEquals(0L, stats.getIdleSeconds());
+        assertEquals(2, stats.getTelemetryPoints());
+        assertEquals(60_000L, stats.getLastUpdatedEpochMillis());
+    }
+
+    @Test
+    void record_ShouldAccumulateIdleTime_WhenVehicleIsStationary() {
+        UUID orderId = UUID.randomUUID();
+
+        tracker.record(orderId, 49.0, -123.0, 0L);
+        tracker.record(orderId, 49.0, -123.0, 30_000L);
+        tracker.record(orderId, 49.0, -123.0, 90_000L);
+
+        MotionStatsDTO stats = tracker.getStats(orderId).orElseThrow();
+        assertEquals(90L, stats.getIdleSeconds());
+        assertEquals(0.0, stats.getSpeedKmh(), 0.001);
+        assertNull(stats.getHeadingDegrees(), "Heading is unknown until the vehicle moves");
+    }
+
+    @Test
+    void remove_ShouldDropStatistics() {
+        UUID orderId = UUID.randomUUID();
+        tracker.record(orderId, 49.0, -123.0, 0L);
+
+        tracker.remove(orderId);
+
+        assertTrue(tracker.getStats(orderId).isEmpty());
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void record_ShouldStayWithinMaxOrders_WhenTelemetryArrivesForManyOrders() {
+        MotionTracker bounded = new MotionTracker(1.0, 100, Duration.ofHours(1));
+
+        for (int i = 0; i < 10_000; i++) {
+            bounded.record(UUID.randomUUID(), 49.0, -123.0, i);
+        }
+
+        assertTrue(bounded.size() <= 100, "Tracked orders: " + bounded.size());
+    }
+
+    @Test
+    void record_ShouldCountEveryPoint_UnderConcurrentUpdates() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4_000; i++) {
+            long millis = i;
+            pool.submit(() -> tracker.record(orderId, 49.0, -123.0, millis));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4_000, tracker.getStats(orderId).orElseThrow().getTelemetryPoints());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.entity.Order;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OrderCache read-through, invalidation and warm-up.
+ */
+class OrderCacheTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+    private static Order order(UUID id, OrderStatus status) {
+        return Order.builder()
+                .id(id)
+                .status(status)
+                .destinationLatitude(49.0)
+                .destinationLongitude(-123.0)
+                .priority(1)
+                .version(0L)
+                .build();
+    }
+
+    /** Loader that counts database round trips. */
+    private static Function<UUID, Optional<Order>> countingLoader(Order order, AtomicInteger loads) {
+        return id -> {
+            loads.incrementAndGet();
+            return id.equals(order.getId()) ? Optional.of(order) : Optional.empty();
+        };
+    }
+
+    @Test
+    void get_ShouldLoadOnceUntilInvalidated() {
+        OrderCache cache = new OrderCache(orderRepository, true, 100, Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+        Order order = order(UUID.randomUUID(), OrderStatus.IN_TRANSIT);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertSame(order, cache.get(order.getId(), countingLoader(order, loads)).orElseThrow());
+        assertSame(order, cache.get(order.getId(), countingLoader(order, loads)).orElseThrow());
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.hitRate(), 1e-9);
+
+        cache.invalidate(order.getId());
+        cache.get(order.getId(), countingLoader(order, loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingOrders() {
+        OrderCache cache = new OrderCache(orderRepository, true, 100, Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        UUID missing = UUID.randomUUID();
+        Function<UUID, Optional<Order>> loader = countingLoader(order(UUID.randomUUID(), OrderStatus.PENDING), loads);
+
+        assertTrue(cache.get(missing, loader).isEmpty());
+        assertTrue(cache.get(missing, loader).isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldAlwaysLoad_WhenDisabled() {
+        OrderCache cache = new OrderCache(orderRepository, false, 100, Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+        Order order = order(UUID.randomUUID(), OrderStatus.IN_TRANSIT);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(order.getId(), countingLoader(order, loads));
+        cache.get(order.getId(), countingLoader(order, loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void warmUp_ShouldPreloadActiveOrders() {
+        OrderCache cache = new OrderCache(orderRepository, true, 100, Duration.ofMinutes(1), true, new SimpleMeterRegistry());
+        Order active = order(UUID.randomUUID(), OrderStatus.IN_TRANSIT);
+        when(orderRepository.findByStatusNotIn(any(), any())).thenReturn(List.of(active));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.warmUp();
+
+        assertSame(active, cache.get(active.getId(), countingLoader(active, loads)).orElseThrow());
+        assertEquals(0, loads.get());
+    }
+}
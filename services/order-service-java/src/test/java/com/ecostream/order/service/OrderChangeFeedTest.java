@@ -0,0 +1,200 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Change feed against embedded Postgres: versions are drawn before commit, so writers that
+ * commit out of version order must not let nextSince skip the lower version.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "order.eta-refresh.enabled=false",
+        "order.change-feed.follow.interval=1h",
+        "logging.level.com.ecostream.order=WARN"
+})
+class OrderChangeFeedTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OrderChangeFollower orderChangeFollower;
+
+    @Autowired
+    private DestinationTable destinationTable;
+
+    @MockBean
+    private ForecastingClient forecastingClient;
+
+    @MockBean
+    private TelemetryRepository telemetryRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void getChangesSince_ShouldNotSkipAVersion_WhenWritersCommitOutOfOrder() throws SQLException {
+        UUID first = createOrder();
+        UUID second = createOrder();
+        long since = drain(0);
+
+        try (Connection writerA = dataSource.getConnection(); Connection writerB = dataSource.getConnection()) {
+            writerA.setAutoCommit(false);
+            writerB.setAutoCommit(false);
+            long versionA = touch(writerA, first);
+            long versionB = touch(writerB, second);
+            assertTrue(versionA < versionB);
+
+            // B commits first while A still holds the lower version
+            writerB.commit();
+            OrderChangesResponseDTO whileAOpen = orderService.getChangesSince(since, 100);
+            assertTrue(whileAOpen.getNextSince() < versionA, "nextSince must not pass the in-flight version");
+            assertTrue(whileAOpen.getUpserts().stream().noneMatch(o -> o.getId().equals(second)));
+
+            writerA.commit();
+            OrderChangesResponseDTO afterA = orderService.getChangesSince(whileAOpen.getNextSince(), 100);
+            assertEquals(List.of(first, second), afterA.getUpserts().stream().map(OrderResponseDTO::getId).toList());
+            assertEquals(versionB, afterA.getNextSince());
+            assertFalse(afterA.isHasMore());
+        }
+    }
+
+    @Test
+    void getOrdersETag_ShouldChange_WhenWritersCommitOutOfOrder() throws SQLException {
+        UUID first = createOrder();
+        UUID second = createOrder();
+        String before = orderService.getOrdersETag();
+
+        try (Connection writerA = dataSource.getConnection(); Connection writerB = dataSource.getConnection()) {
+            writerA.setAutoCommit(false);
+            writerB.setAutoCommit(false);
+            touch(writerA, first);
+            touch(writerB, second);
+
+            // B commits the highest version first; A's lower version lands under an unchanged maximum
+            writerB.commit();
+            String afterB = orderService.getOrdersETag();
+            assertNotEquals(before, afterB);
+
+            writerA.commit();
+            String afterA = orderService.getOrdersETag();
+            assertNotEquals(afterB, afterA);
+            assertEquals(afterA, orderService.getAllOrdersWithETag().eTag(), "rows and watermark must agree");
+        }
+    }
+
+    @Test
+    void follower_ShouldApplyStatusChangesWrittenByAnotherInstance() throws SQLException {
+        UUID orderId = createOrder();
+        orderChangeFollower.poll();
+        assertFalse(destinationTable.hasArrived(orderId, 49.28, -123.12));
+
+        // Written through another instance: this one's write path never syncs the table
+        try (Connection connection = dataSource.getConnection()) {
+            setStatus(connection, orderId, "IN_TRANSIT");
+            orderChangeFollower.poll();
+            assertTrue(destinationTable.hasArrived(orderId, 49.28, -123.12));
+
+            setStatus(connection, orderId, "DELIVERED");
+            orderChangeFollower.poll();
+            assertFalse(destinationTable.hasArrived(orderId, 49.28, -123.12));
+        }
+    }
+
+    @Test
+    void follower_ShouldDropOrdersWrittenByAnotherInstanceFromTheOrderCache() throws SQLException {
+        UUID orderId = createOrder();
+        assertEquals(1, orderService.getOrderById(orderId).orElseThrow().getPriority());
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE orders SET priority = 4, change_version = next_order_change_version() WHERE id = ?")) {
+            statement.setObject(1, orderId);
+            assertEquals(1, statement.executeUpdate());
+        }
+        assertEquals(1, orderService.getOrderById(orderId).orElseThrow().getPriority(), "served from the cache");
+
+        orderChangeFollower.poll();
+        assertEquals(4, orderService.getOrderById(orderId).orElseThrow().getPriority());
+    }
+
+    private static void setStatus(Connection connection, UUID orderId, String status) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE orders SET status = ?, change_version = next_order_change_version() WHERE id = ?")) {
+            statement.setString(1, status);
+            statement.setObject(2, orderId);
+            assertEquals(1, statement.executeUpdate());
+        }
+    }
+
+    /** Updates an order with a new change version in the connection's open transaction. */
+    private static long touch(Connection connection, UUID orderId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE orders SET priority = priority + 1, change_version = next_order_change_version() "
+                        + "WHERE id = ? RETURNING change_version")) {
+            statement.setObject(1, orderId);
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /** Polls until no page is left and returns the last nextSince. */
+    private long drain(long since) {
+        OrderChangesResponseDTO page;
+        do {
+            page = orderService.getChangesSince(since, 100);
+            since = page.getNextSince();
+        } while (page.isHasMore());
+        return since;
+    }
+
+    private UUID createOrder() {
+        return orderService.createOrder(OrderRequestDTO.builder()
+                .destination(new LocationDTO(49.28, -123.12))
+                .priority(1)
+                .build()).getId();
+    }
+}
@@ -5,20 +5,27 @@ import com.ecostream.order.entity.Order;
 import com.ecostream.order.entity.OrderStatus;
 import com.ecostream.order.repository.OrderRepository;
 import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +45,27 @@ class OrderServiceForecastingIntegrationTest {
     @Mock
     private com.ecostream.order.client.ForecastingClient forecastingClient;
 
+    @Mock
+    private MotionTracker motionTracker;
+
+    @Mock
+    private com.ecostream.order.repository.OrderTombstoneRepository orderTombstoneRepository;
+
+    @Mock
+    private com.ecostream.order.repository.OrderChangeSequence orderChangeSequence;
+
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(null, true, 100, Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+
+    @Spy
+    private EtaStore etaStore = new EtaStore(100, Duration.ofMinutes(1), Duration.ZERO, meterRegistry);
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -95,4 +123,97 @@ class OrderServiceForecastingIntegrationTest {
         assertEquals(orderId, result.get().getId(), "Core order data should be unchanged");
         verify(forecastingClient).getForecast(eq(orderId), eq(37.7749), eq(-122.4194), any(String.class));
     }
+
+    @Test
+    void getOrdersByStatus_ShouldRecordRowCountAndEnrichmentTime() {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(37.7749)
+                .destinationLongitude(-122.4194)
+                .priority(5)
+                .build();
+        when(orderRepository.findByStatus(OrderStatus.IN_TRANSIT)).thenReturn(java.util.List.of(order, order));
+
+        orderService.getOrdersByStatus(OrderStatus.IN_TRANSIT);
+
+        assertEquals(2.0, meterRegistry.get("ecostream.orders.list.rows").tag("query", "status").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("ecostream.orders.list.enrichment").tag("query", "status").timer().count());
+    }
+
+    @Test
+    void getAllOrdersAsync_ShouldRequestAllForecastsConcurrently_AndToleratePartialFailure() {
+        Order first = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                .destinationLatitude(37.7749).destinationLongitude(-122.4194).priority(5).changeVersion(7L).build();
+        Order second = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                .destinationLatitude(49.2827).destinationLongitude(-123.1207).priority(1).changeVersion(9L).build();
+        when(orderRepository.findAll()).thenReturn(java.util.List.of(first, second));
+        CompletableFuture<com.ecostream.order.client.ForecastResponseDTO> firstForecast = new CompletableFuture<>();
+        CompletableFuture<com.ecostream.order.client.ForecastResponseDTO> secondForecast = new CompletableFuture<>();
+        when(forecastingClient.getForecastAsync(eq(first.getId()), any(), any(), eq("Express"))).thenReturn(firstForecast);
+        when(forecastingClient.getForecastAsync(eq(second.getId()), any(), any(), eq("Standard"))).thenReturn(secondForecast);
+
+        CompletableFuture<OrderList> result = orderService.getAllOrdersAsync();
+
+        // Both requests are in flight before either has answered
+        assertFalse(result.isDone());
+        verify(forecastingClient).getForecastAsync(eq(second.getId()), any(), any(), any());
+
+        secondForecast.completeExceptionally(new RuntimeException("Connection refused"));
+        firstForecast.complete(new com.ecostream.order.client.ForecastResponseDTO(13.72, 25.5));
+
+        OrderList orders = result.join();
+        assertTrue(orders.eTag().startsWith("2-9-"), orders.eTag());
+        assertEquals(25.5, orders.orders().get(0).getEstimatedArrivalMinutes());
+        assertNull(orders.orders().get(1).getEstimatedArrivalMinutes(), "ETA should be null when AI fails");
+        assertEquals(second.getId(), orders.orders().get(1).getId());
+        assertEquals(1, meterRegistry.get("ecostream.orders.list.enrichment").tag("query", "all").timer().count());
+    }
+
+    @Test
+    void getOrderByIdAsync_ShouldCompleteWithoutForecast_WhenOrderMissing() {
+        UUID orderId = UUID.randomUUID();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+
+        Optional<OrderResponseDTO> result = orderService.getOrderByIdAsync(orderId).join();
+
+        assertTrue(result.isEmpty());
+        verify(forecastingClient, never()).getForecastAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    void getOrderByIdAsync_ShouldServeLastKnownForecast_WhenForecastIsShed() {
+        UUID orderId = UUID.randomUUID();
+        Order order = Order.builder().id(orderId).status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(37.7749).destinationLongitude(-122.4194).priority(2).build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(forecastingClient.getForecastAsync(eq(orderId), any(), any(), eq("Standard")))
+                .thenReturn(CompletableFuture.completedFuture(new com.ecostream.order.client.ForecastResponseDTO(13.72, 25.5)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new com.ecostream.order.client.ForecastShedException("standard forecast call shed: queue timeout")));
+
+        orderService.getOrderByIdAsync(orderId).join();
+        OrderResponseDTO stale = orderService.getOrderByIdAsync(orderId).join().orElseThrow();
+
+        assertEquals(25.5, stale.getEstimatedArrivalMinutes(), "Shed lookup should get the last known ETA");
+        assertEquals(13.72, stale.getDistanceKm());
+        assertEquals(1.0, meterRegistry.get("ecostream.forecast.last-known").tag("outcome", "served").counter().count());
+    }
+
+    @Test
+    void getOrderById_ShouldNotServeLastKnownForecast_ForAnotherDestination() {
+        UUID orderId = UUID.randomUUID();
+        Order order = Order.builder().id(orderId).status(OrderStatus.IN_TRANSIT)
+                .destinationLatitude(37.7749).destinationLongitude(-122.4194).priority(2).build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(forecastingClient.getForecast(eq(orderId), any(), any(), eq("Standard")))
+                .thenReturn(new com.ecostream.order.client.ForecastResponseDTO(13.72, 25.5))
+                .thenReturn(null);
+
+        orderService.getOrderById(orderId);
+        order.setDestinationLatitude(49.2827);
+        OrderResponseDTO result = orderService.getOrderById(orderId).orElseThrow();
+
+        assertNull(result.getEstimatedArrivalMinutes(), "An ETA for the old destination must not be served");
+    }
 }
@@ -1,22 +1,41 @@
 package com.ecostream.order.service;
 
 import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.MotionStatsDTO;
+import com.ecostream.order.dto.OrderChangesResponseDTO;
 import com.ecostream.order.dto.OrderRequestDTO;
 import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.TelemetryRequestDTO;
+import com.ecostream.order.dto.UpdateOrderRequestDTO;
 import com.ecostream.order.entity.Order;
 import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.OrderTombstone;
+import com.ecostream.order.repository.OrderChangeSequence;
 import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.OrderTombstoneRepository;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,6 +48,39 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private MotionTracker motionTracker;
+
+    @Mock
+    private OrderTombstoneRepository orderTombstoneRepository;
+
+    @Mock
+    private OrderChangeSequence orderChangeSequence;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TelemetryRepository telemetryRepository;
+
+    @Mock
+    private StaleTelemetryDetector staleTelemetryDetector;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(null, true, 100, Duration.ofMinutes(1), false, new SimpleMeterRegistry());
+
+    @Spy
+    private DestinationTable destinationTable = new DestinationTable(null, 100, new SimpleMeterRegistry());
+
+    @Spy
+    private EtaStore etaStore = new EtaStore(100, Duration.ofMinutes(1), Duration.ZERO, new SimpleMeterRegistry());
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -64,6 +116,7 @@ class OrderServiceTest {
     void createOrder_ShouldMapDTOToEntityAndSetStatusToPending() {
         // Arrange: Mock repository to return saved order
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        when(orderChangeSequence.next()).thenReturn(42L);
 
         // Act: Create order from DTO
         OrderResponseDTO result = orderService.createOrder(orderRequestDTO);
@@ -83,6 +136,8 @@ class OrderServiceTest {
             // Verify priority is mapped correctly
             assertEquals(orderRequestDTO.getPriority(), order.getPriority(), 
                     "Priority should be mapped from DTO");
+            // Verify the write was given a change version
+            assertEquals(42L, order.getChangeVersion(), "Change version should come from the sequence");
             // Verify ID is null (will be generated by JPA)
             assertNull(order.getId(), "Order ID should be null before save");
             return true;
@@ -105,4 +160,87 @@ class OrderServiceTest {
         assertEquals(savedOrder.getPriority(), result.getPriority(), 
                 "Response priority should match saved order");
     }
+
+    @Test
+    void ingestTelemetry_ShouldMarkOrderDelivered_WhenVehicleEntersArrivalRadius() {
+        UUID orderId = UUID.randomUUID();
+        destinationTable.put(orderId, 49.2800, -123.1200);
+        when(orderRepository.transitionStatus(List.of(orderId), "DELIVERED", List.of("IN_TRANSIT")))
+                .thenReturn(List.of(orderId));
+
+        // ~220 m away, then ~55 m away
+        orderService.ingestTelemetry(orderId, new TelemetryRequestDTO(49.2820, -123.1200));
+        verify(orderRepository, never()).transitionStatus(any(), any(), any());
+
+        orderService.ingestTelemetry(orderId, new TelemetryRequestDTO(49.2805, -123.1200));
+        verify(eventPublisher).publishEvent(new OrderChangedEvent(List.of(orderId)));
+        assertEquals(0, destinationTable.size());
+        verify(motionTracker).remove(orderId);
+        assertEquals(1.0, meterRegistry.counter("ecostream.telemetry.arrivals").count());
+    }
+
+    @Test
+    void updateOrder_ShouldKeepDestinationTableInStep() {
+        savedOrder.setStatus(OrderStatus.CONFIRMED);
+        when(orderRepository.findById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.updateOrder(savedOrder.getId(), UpdateOrderRequestDTO.builder()
+                .status(OrderStatus.IN_TRANSIT)
+                .build());
+        assertTrue(destinationTable.hasArrived(savedOrder.getId(), savedOrder.getDestinationLatitude(),
+                savedOrder.getDestinationLongitude()));
+
+        when(orderRepository.deleteAllByIdReturning(List.of(savedOrder.getId()))).thenReturn(List.of(savedOrder.getId()));
+        orderService.deleteOrder(savedOrder.getId());
+        assertEquals(0, destinationTable.size());
+    }
+
+    @Test
+    void getOrderETag_ShouldNameTheMotionEpoch_OnlyWhenMotionIsPartOfTheBody() {
+        savedOrder.setVersion(3L);
+        when(orderRepository.findById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+        when(motionTracker.getStats(savedOrder.getId())).thenReturn(Optional.empty());
+
+        // No in-memory state: every instance (and every restart) derives the same ETag
+        assertEquals("3", orderService.getOrderETag(savedOrder.getId()).orElseThrow());
+
+        when(motionTracker.getStats(savedOrder.getId()))
+                .thenReturn(Optional.of(MotionStatsDTO.builder().lastUpdatedEpochMillis(1_000L).build()));
+        when(motionTracker.getEpoch()).thenReturn("boot1");
+        String first = orderService.getOrderETag(savedOrder.getId()).orElseThrow();
+        when(motionTracker.getEpoch()).thenReturn("boot2");
+        String afterRestart = orderService.getOrderETag(savedOrder.getId()).orElseThrow();
+
+        assertEquals("3-boot1-1000", first);
+        assertNotEquals(first, afterRestart);
+    }
+
+    @Test
+    void getChangesSince_ShouldMergeUpsertsAndTombstonesInVersionOrderUpToLimit() {
+        // Arrange: versions 11 (update), 12 (delete), 13 (update) after since=10
+        Order first = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                .destinationLatitude(1.0).destinationLongitude(2.0).priority(1).changeVersion(11L).build();
+        Order third = Order.builder().id(UUID.randomUUID()).status(OrderStatus.CONFIRMED)
+                .destinationLatitude(1.0).destinationLongitude(2.0).priority(1).changeVersion(13L).build();
+        OrderTombstone second = OrderTombstone.builder()
+                .orderId(UUID.randomUUID()).changeVersion(12L).deletedAt(Instant.now()).build();
+        when(orderChangeSequence.settledVersion()).thenReturn(13L);
+        when(orderRepository.findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                eq(10L), eq(13L), any())).thenReturn(List.of(first, third));
+        when(orderTombstoneRepository.findByChangeVersionGreaterThanAndChangeVersionLessThanEqualOrderByChangeVersionAsc(
+                eq(10L), eq(13L), any())).thenReturn(List.of(second));
+
+        // Act: page of two changes
+        OrderChangesResponseDTO changes = orderService.getChangesSince(10L, 2);
+
+        // Assert: version 13 is left for the next page
+        assertEquals(1, changes.getUpserts().size());
+        assertEquals(first.getId(), changes.getUpserts().get(0).getId());
+        assertEquals(11L, changes.getUpserts().get(0).getChangeVersion());
+        assertEquals(1, changes.getDeleted().size());
+        assertEquals(second.getOrderId(), changes.getDeleted().get(0).getId());
+        assertEquals(12L, changes.getNextSince());
+        assertTrue(changes.isHasMore());
+    }
 }
@@ -0,0 +1,213 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.client.ForecastingClient;
+import com.ecostream.order.dto.DispatchBatchDTO;
+import com.ecostream.order.dto.DispatchPlanDTO;
+import com.ecostream.order.dto.LocationDTO;
+import com.ecostream.order.dto.OrderRequestDTO;
+import com.ecostream.order.dto.OrderResponseDTO;
+import com.ecostream.order.dto.UpdateOrderRequestDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.entity.ZOrder;
+import com.ecostream.order.repository.DestinationCellBackfill;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Box and radius queries against embedded Postgres: the destination cell is kept in sync by the
+ * entity callbacks, the status filter applies, and the plan uses the (status, destination_cell)
+ * index. Also dispatch planning over the destinations loaded from the table, and the arrival
+ * table fed by a bulk move to IN_TRANSIT. Each test works in its own region so rows from other
+ * tests do not interfere.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "order.cache.enabled=false",
+        "order.eta-refresh.enabled=false",
+        "logging.level.com.ecostream.order=WARN"
+})
+class OrderSpatialQueryTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private DestinationCellBackfill backfill;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private DestinationTable destinationTable;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ForecastingClient forecastingClient;
+
+    @MockBean
+    private TelemetryRepository telemetryRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clearOrders() {
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @Test
+    void getOrdersWithin_ShouldReturnOnlyOrdersInBoxAndStatus() {
+        UUID inside = createOrder(OrderStatus.PENDING, 49.25, -123.15);
+        createOrder(OrderStatus.PENDING, 49.35, -123.15); // north of the box
+        createOrder(OrderStatus.PENDING, 49.25, -123.25); // west of the box
+        UUID confirmed = createOrder(OrderStatus.CONFIRMED, 49.21, -123.11);
+        jdbcTemplate.update("UPDATE orders SET status = 'CONFIRMED' WHERE id = ?", confirmed);
+
+        List<OrderResponseDTO> all = orderService.getOrdersWithin(49.2, -123.2, 49.3, -123.1, Set.of(), 100);
+        List<OrderResponseDTO> pending = orderService.getOrdersWithin(49.2, -123.2, 49.3, -123.1,
+                Set.of(OrderStatus.PENDING), 100);
+
+        assertEquals(Set.of(inside, confirmed), Set.copyOf(all.stream().map(OrderResponseDTO::getId).toList()));
+        assertEquals(List.of(inside), pending.stream().map(OrderResponseDTO::getId).toList());
+    }
+
+    @Test
+    void getOrdersNearby_ShouldReturnOrdersWithinRadius_NearestFirst() {
+        UUID far = createOrder(OrderStatus.PENDING, 49.30, -123.12);    // ~2.5 km north
+        UUID near = createOrder(OrderStatus.PENDING, 49.281, -123.121); // ~150 m
+        createOrder(OrderStatus.PENDING, 49.40, -123.12);               // ~13 km north
+
+        List<OrderResponseDTO> nearby = orderService.getOrdersNearby(49.28, -123.12, 5, Set.of(), 100);
+
+        assertEquals(List.of(near, far), nearby.stream().map(OrderResponseDTO::getId).toList());
+    }
+
+    @Test
+    void updateOrder_ShouldMoveOrderToItsNewCell() {
+        UUID orderId = createOrder(OrderStatus.PENDING, 45.5, -73.6);
+
+        orderService.updateOrder(orderId, UpdateOrderRequestDTO.builder()
+                .destination(new LocationDTO(43.65, -79.38))
+                .build());
+
+        assertTrue(orderService.getOrdersWithin(45.4, -73.7, 45.6, -73.5, Set.of(), 100).isEmpty());
+        assertEquals(List.of(orderId), orderService.getOrdersWithin(43.6, -79.4, 43.7, -79.3, Set.of(), 100)
+                .stream().map(OrderResponseDTO::getId).toList());
+    }
+
+    @Test
+    void backfill_ShouldAssignCellsToOrdersWithoutOne() {
+        UUID orderId = createOrder(OrderStatus.PENDING, -33.87, 151.21);
+        jdbcTemplate.update("UPDATE orders SET destination_cell = NULL");
+
+        backfill.backfillMissingCells();
+
+        assertEquals(ZOrder.encode(-33.87, 151.21),
+                jdbcTemplate.queryForObject("SELECT destination_cell FROM orders WHERE id = ?", Long.class, orderId));
+    }
+
+    @Test
+    void cellRangeScans_ShouldUseStatusCellIndex() {
+        createOrder(OrderStatus.PENDING, 49.25, -123.15);
+        String candidates = ZOrder.ranges(49.2, -123.2, 49.3, -123.1, 16).stream()
+                .map(r -> "SELECT o.id FROM orders o WHERE o.status IN ('PENDING') AND o.destination_cell BETWEEN "
+                        + r.low() + " AND " + r.high())
+                .collect(Collectors.joining(" UNION ALL "));
+
+        // The table is tiny, so take sequential scans off the table to see whether the index applies
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + candidates)) {
+                    while (rs.next()) {
+                        lines.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+                return lines.toString();
+            }
+        });
+
+        assertTrue(plan.contains("idx_orders_status_destination_cell"), plan);
+    }
+
+    @Test
+    void planBatches_ShouldClusterOnlyWaitingOrders() {
+        UUID first = createOrder(OrderStatus.PENDING, 49.280, -123.12, 3);
+        UUID second = createOrder(OrderStatus.PENDING, 49.285, -123.12, 4);  // ~550 m north
+        UUID confirmed = createOrder(OrderStatus.PENDING, 49.40, -123.12, 2); // ~13 km north
+        jdbcTemplate.update("UPDATE orders SET status = 'CONFIRMED' WHERE id = ?", confirmed);
+        UUID inTransit = createOrder(OrderStatus.PENDING, 49.281, -123.12, 9);
+        jdbcTemplate.update("UPDATE orders SET status = 'IN_TRANSIT' WHERE id = ?", inTransit);
+
+        DispatchPlanDTO plan = dispatchService.planBatches(2, 50, 10);
+
+        assertEquals(3, plan.getOrders());
+        assertEquals(2, plan.getTotalBatches());
+        DispatchBatchDTO nearby = plan.getBatches().get(0);
+        assertEquals(List.of(second, first), nearby.getOrderIds());
+        assertEquals(4, nearby.getMaxPriority());
+        assertEquals(List.of(confirmed), plan.getBatches().get(1).getOrderIds());
+    }
+
+    @Test
+    void bulkTransitionToInTransit_ShouldTrackDestinationsReturnedByTheUpdate() {
+        UUID orderId = createOrder(OrderStatus.PENDING, 45.5, -73.6);
+        jdbcTemplate.update("UPDATE orders SET status = 'CONFIRMED' WHERE id = ?", orderId);
+
+        bulkOrderService.transitionStatus(List.of(orderId), OrderStatus.IN_TRANSIT);
+
+        assertTrue(destinationTable.hasArrived(orderId, 45.5, -73.6));
+    }
+
+    private UUID createOrder(OrderStatus status, double latitude, double longitude) {
+        return createOrder(status, latitude, longitude, 5);
+    }
+
+    private UUID createOrder(OrderStatus status, double latitude, double longitude, int priority) {
+        return orderService.createOrder(OrderRequestDTO.builder()
+                .status(status)
+                .destination(new LocationDTO(latitude, longitude))
+                .priority(priority)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecostream.order.service;
+
+import com.ecostream.order.dto.StaleTelemetryDTO;
+import com.ecostream.order.entity.OrderStatus;
+import com.ecostream.order.repository.OrderRepository;
+import com.ecostream.order.repository.TelemetryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StaleTelemetryDetector, driving the wheel by hand: 1 s ticks, 8 slots,
+ * flagged after 20 s (longer than one revolution of the wheel).
+ */
+@ExtendWith(MockitoExtension.class)
+class StaleTelemetryDetectorTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TelemetryRepository telemetryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StaleTelemetryDetector detector;
+    private Set<UUID> inTransit;
+
+    @BeforeEach
+    void setUp() {
+        detector = new StaleTelemetryDetector(orderRepository, telemetryRepository, false, Duration.ofSeconds(20), Duration.ofSeconds(1), 8,
+                meterRegistry);
+        inTransit = new HashSet<>();
+        lenient().when(orderRepository.findIdsByStatusAndIdIn(eq(OrderStatus.IN_TRANSIT), any()))
+                .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(1).stream()
+                        .filter(inTransit::contains)
+                        .toList());
+    }
+
+    /** Advances the wheel second by second from start to end (inclusive). */
+    private void runUntil(long fromMillis, long toMillis) {
+        for (long now = fromMillis; now <= toMillis; now += 1000) {
+            detector.advance(now);
+        }
+    }
+
+    @Test
+    void silentInTransitOrder_ShouldBeFlaggedAfterInterval() {
+        UUID orderId = UUID.randomUUID();
+        inTransit.add(orderId);
+        detector.rearm(orderId, T0);
+
+        runUntil(T0, T0 + 19_000);
+        assertEquals(0, detector.staleCount());
+
+        runUntil(T0 + 20_000, T0 + 21_000);
+        List<StaleTelemetryDTO> stale = detector.getStaleOrders(10, T0 + 30_000);
+        assertEquals(1, stale.size());
+        assertEquals(orderId, stale.get(0).getOrderId());
+        assertEquals(T0, stale.get(0).getSilentSinceEpochMillis());
+        assertEquals(30, stale.get(0).getSilentSeconds());
+        assertEquals(0, detector.timerCount());
+        assertEquals(1.0, meterRegistry.get("ecostream.telemetry.stale.orders").gauge().value());
+        assertEquals(1.0, meterRegistry.get("ecostream.telemetry.stale.flagged").counter().count());
+    }
+
+    @Test
+    void orderReportingThroughAnotherInstance_ShouldBeRearmedFromTheStore_NotFlagged() {
+        UUID orderId = UUID.randomUUID();
+        inTransit.add(orderId);
+        detector.rearm(orderId, T0);
+        // Another instance ingested a point 15 s in; this one never saw it
+        when(telemetryRepository.findLatestTimestamp(orderId.toString()))
+                .thenReturn(Optional.of((T0 + 15_000) / 1000));
+
+        runUntil(T0, T0 + 34_000);
+        assertEquals(0, detector.staleCount());
+        assertEquals(1, detector.timerCount());
+
+        runUntil(T0 + 35_000, T0 + 36_000);
+        List<StaleTelemetryDTO> stale = detector.getStaleOrders(10, T0 + 36_000);
+        assertEquals(1, stale.size());
+        assertEquals(T0 + 15_000, stale.get(0).getSilentSinceEpochMillis());
+    }
+
+    @Test
+    void rearm_ShouldKeepReportingOrderUnflagged() {
+        UUID orderId = UUID.randomUUID();
+        inTransit.add(orderId);
+        detector.rearm(orderId, T0);
+
+        for (long now = T0; now <= T0 + 120_000; now += 1000) {
+            if ((now - T0) % 15_000 == 0) {
+                detector.rearm(orderId, now);
+            }
+            detector.advance(now);
+        }
+
+        assertEquals(0, detector.staleCount());
+        assertEquals(1, detector.timerCount());
+    }
+
+    @Test
+    void telemetryAfterFlag_ShouldClearFlag() {
+        UUID orderId = UUID.randomUUID();
+        inTransit.add(orderId);
+        detector.rearm(orderId, T0);
+        runUntil(T0, T0 + 21_000);
+        assertEquals(1, detector.staleCount());
+
+        detector.rearm(orderId, T0 + 22_000);
+
+        assertEquals(0, detector.staleCount());
+        assertEquals(1, detector.timerCount());
+    }
+
+    @Test
+    void expiredOrderNotInTransit_ShouldBeDropped() {
+        UUID orderId = UUID.randomUUID();
+        detector.rearm(orderId, T0);
+
+        runUntil(T0, T0 + 21_000);
+
+        assertEquals(0, detector.staleCount());
+        assertEquals(0, detector.timerCount());
+    }
+
+    @Test
+    void orderChange_ShouldArmOrdersWithoutTimer_AndRecheckFlaggedOrders() {
+        UUID silentFromStart = UUID.randomUUID();
+        UUID delivered = UUID.randomUUID();
+        inTransit.add(silentFromStart);
+        inTransit.add(delivered);
+        detector.rearm(delivered, T0);
+        runUntil(T0, T0 + 21_000);
+        assertEquals(1, detector.staleCount());
+
+        // One order went IN_TRANSIT without reporting; the flagged one was delivered
+        inTransit.remove(delivered);
+        long changedAt = System.currentTimeMillis();
+        detector.onOrderChanged(new OrderChangedEvent(List.of(silentFromStart, delivered)));
+        runUntil(changedAt, changedAt + 2_000);
+        assertEquals(0, detector.staleCount());
+
+        runUntil(changedAt + 3_000, changedAt + 21_000);
+        assertEquals(List.of(silentFromStart),
+                detector.getStaleOrders(10, changedAt + 21_000).stream().map(StaleTelemetryDTO::getOrderId).toList());
+    }
+}